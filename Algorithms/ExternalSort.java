@@ -0,0 +1,574 @@
+/**
+ * ExternalSort.java - Sorting Data Larger Than Memory
+ *
+ * Learning Objectives:
+ * - Understand why in-memory sorts fail once data exceeds the heap
+ * - Learn the two phases of external merge sort: run generation and merging
+ * - Use NIO FileChannel with ByteBuffers for fast sequential I/O
+ * - Implement a k-way merge with a loser tree (tournament tree)
+ * - Tune chunk size and merge fan-in against memory and I/O
+ *
+ * File format: a flat sequence of 32-bit big-endian ints (the same layout
+ * DataOutputStream.writeInt produces).
+ *
+ * How to run:
+ *   javac *.java
+ *   java -Xmx256m ExternalSort              (sorts a 64 MB generated file)
+ *   java -Xmx256m ExternalSort 5120         (sorts a 5 GB generated file)
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Buffered sequential reader of ints from a file
+ */
+class RunReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    RunReader(Path path, int bufferBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(bufferBytes);
+        this.buffer.flip(); // Start empty
+    }
+
+    /**
+     * Returns false at end of file
+     */
+    boolean hasNext() throws IOException {
+        if (buffer.remaining() >= Integer.BYTES) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < Integer.BYTES) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Truncated record at end of file");
+                }
+                return false;
+            }
+        }
+        // Fill the rest of the buffer while we are at it
+        while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+        }
+        buffer.flip();
+        return true;
+    }
+
+    /**
+     * Call only after hasNext() returned true
+     */
+    int next() {
+        return buffer.getInt();
+    }
+
+    /**
+     * Bulk read of up to max ints into target; returns the count read (0 at end of file)
+     */
+    int read(int[] target, int max) throws IOException {
+        int count = 0;
+        while (count < max && hasNext()) {
+            IntBuffer ints = buffer.asIntBuffer();
+            int n = Math.min(ints.remaining(), max - count);
+            ints.get(target, count, n);
+            buffer.position(buffer.position() + n * Integer.BYTES);
+            count += n;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
+
+/**
+ * Buffered sequential writer of ints to a file
+ */
+class RunWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long written;
+
+    RunWriter(Path path, int bufferBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocate(bufferBytes);
+    }
+
+    void write(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush();
+        }
+        buffer.putInt(value);
+        written++;
+    }
+
+    /**
+     * Bulk write of source[0, count)
+     */
+    void write(int[] source, int count) throws IOException {
+        int offset = 0;
+        while (offset < count) {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            int n = Math.min(buffer.remaining() / Integer.BYTES, count - offset);
+            buffer.asIntBuffer().put(source, offset, n);
+            buffer.position(buffer.position() + n * Integer.BYTES);
+            offset += n;
+        }
+        written += count;
+    }
+
+    long written() {
+        return written;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
+
+/**
+ * Loser tree (tournament tree) for k-way merging.
+ * Each internal node remembers the loser of the match played there; the
+ * overall winner sits in tree[0]. Replacing the winner's key replays only
+ * the matches on its path to the root: log2(k) comparisons, and unlike a
+ * binary heap, only one comparison per level.
+ */
+class LoserTree {
+    private final RunReader[] sources;
+    private final int[] keys;
+    private final boolean[] exhausted;
+    private final int[] tree;
+    private final int k;
+
+    /**
+     * Time Complexity: O(k log k)
+     */
+    LoserTree(RunReader[] sources) throws IOException {
+        this.sources = sources;
+        this.k = sources.length;
+        this.keys = new int[k];
+        this.exhausted = new boolean[k];
+        this.tree = new int[k];
+
+        for (int i = 0; i < k; i++) {
+            advance(i);
+        }
+        // Index k is a virtual source smaller than everything; it loses
+        // its way out of the tree as the real sources are inserted
+        java.util.Arrays.fill(tree, k);
+        for (int i = k - 1; i >= 0; i--) {
+            replay(i);
+        }
+    }
+
+    boolean isEmpty() {
+        return exhausted[tree[0]];
+    }
+
+    /**
+     * Returns the smallest key and advances its source
+     * Time Complexity: O(log k)
+     */
+    int poll() throws IOException {
+        int winner = tree[0];
+        int key = keys[winner];
+        advance(winner);
+        replay(winner);
+        return key;
+    }
+
+    private void advance(int source) throws IOException {
+        if (sources[source].hasNext()) {
+            keys[source] = sources[source].next();
+        } else {
+            exhausted[source] = true;
+        }
+    }
+
+    /**
+     * Plays the matches from a leaf up to the root
+     */
+    private void replay(int source) {
+        int winner = source;
+        for (int node = (source + k) >> 1; node > 0; node >>= 1) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * True if source a's key orders before source b's key.
+     * Exhausted sources are +infinity, the virtual source k is -infinity,
+     * and ties go to the lower source index (keeps the merge stable).
+     */
+    private boolean beats(int a, int b) {
+        if (a == k || b == k) {
+            return a == k;
+        }
+        if (exhausted[a] || exhausted[b]) {
+            return !exhausted[a];
+        }
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+}
+
+/**
+ * External merge sort of int files.
+ *
+ * Phase 1 reads chunkSize ints at a time, sorts them in memory with one of
+ * the SortingAlgorithms sorts and spills each sorted run to a temp file.
+ * Phase 2 merges up to fanIn runs at a time with a loser tree, repeating
+ * until one run is left. Memory use is about 4 * chunkSize bytes in
+ * phase 1 and fanIn * bufferBytes in phase 2.
+ */
+class ExternalSorter {
+    private final int chunkSize;
+    private final int fanIn;
+    private final int bufferBytes;
+    private final Path tempDirectory;
+    private final SortingAlgorithms.IntArraySort chunkSort;
+
+    // Statistics of the last sort
+    int runsCreated;
+    int mergePasses;
+    long bytesRead;
+    long bytesWritten;
+
+    /**
+     * @param chunkSize     ints sorted in memory per run
+     * @param fanIn         runs merged at once (at least 2)
+     * @param bufferBytes   I/O buffer per open file
+     * @param tempDirectory where runs are spilled
+     * @param chunkSort     in-memory sort used for each run
+     */
+    ExternalSorter(int chunkSize, int fanIn, int bufferBytes, Path tempDirectory,
+                   SortingAlgorithms.IntArraySort chunkSort) {
+        if (chunkSize < 1 || fanIn < 2 || bufferBytes < Integer.BYTES) {
+            throw new IllegalArgumentException("chunkSize >= 1, fanIn >= 2, bufferBytes >= 4 required");
+        }
+        this.chunkSize = chunkSize;
+        this.fanIn = fanIn;
+        this.bufferBytes = bufferBytes & ~(Integer.BYTES - 1);
+        this.tempDirectory = tempDirectory;
+        this.chunkSort = chunkSort;
+    }
+
+    /**
+     * Default configuration: in-place parallel quick sort for runs
+     */
+    ExternalSorter(int chunkSize, int fanIn, Path tempDirectory) {
+        this(chunkSize, fanIn, 1 << 16, tempDirectory, SortingAlgorithms::parallelQuickSort);
+    }
+
+    /**
+     * Sorts input into output. The input file is left untouched.
+     * Time Complexity: O(n log n) comparisons,
+     * O(n * (1 + ceil(log_fanIn(runs)))) sequential I/O
+     */
+    void sort(Path input, Path output) throws IOException {
+        runsCreated = 0;
+        mergePasses = 0;
+        bytesRead = 0;
+        bytesWritten = 0;
+
+        List<Path> runs = createRuns(input);
+        try {
+            if (runs.isEmpty()) {
+                Files.write(output, new byte[0]);
+                return;
+            }
+            while (runs.size() > fanIn) {
+                mergePasses++;
+                List<Path> merged = new ArrayList<>();
+                try {
+                    for (int start = 0; start < runs.size(); start += fanIn) {
+                        List<Path> group = runs.subList(start, Math.min(start + fanIn, runs.size()));
+                        Path run = Files.createTempFile(tempDirectory, "merge-", ".run");
+                        merged.add(run); // Tracked before writing, so a failed merge still deletes it
+                        merge(group, run);
+                        deleteAll(group);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // The finally below only knows this pass's inputs, not its outputs
+                    deleteAll(merged);
+                    throw e;
+                }
+                runs = merged;
+            }
+            mergePasses++;
+            merge(runs, output);
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    /**
+     * Phase 1: read, sort and spill runs of chunkSize ints
+     */
+    private List<Path> createRuns(Path input) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        int[] chunk = new int[(int) Math.min(chunkSize, Math.max(1, Files.size(input) / Integer.BYTES))];
+
+        try (RunReader reader = new RunReader(input, bufferBytes)) {
+            int count;
+            while ((count = reader.read(chunk, chunk.length)) > 0) {
+                bytesRead += (long) count * Integer.BYTES;
+                int[] toSort = count == chunk.length ? chunk : java.util.Arrays.copyOf(chunk, count);
+                chunkSort.sort(toSort);
+
+                Path run = Files.createTempFile(tempDirectory, "run-", ".run");
+                runs.add(run);
+                try (RunWriter writer = new RunWriter(run, bufferBytes)) {
+                    writer.write(toSort, count);
+                }
+                bytesWritten += (long) count * Integer.BYTES;
+                runsCreated++;
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteAll(runs);
+            throw e;
+        }
+        return runs;
+    }
+
+    /**
+     * Phase 2: k-way merge of sorted runs with a loser tree
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        RunReader[] readers = new RunReader[runs.size()];
+        try (RunWriter writer = new RunWriter(output, bufferBytes)) {
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = new RunReader(runs.get(i), bufferBytes);
+            }
+            LoserTree tree = new LoserTree(readers);
+            while (!tree.isEmpty()) {
+                writer.write(tree.poll());
+            }
+            bytesRead += writer.written() * Integer.BYTES;
+            bytesWritten += writer.written() * Integer.BYTES;
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static void deleteAll(List<Path> paths) throws IOException {
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+}
+
+public class ExternalSort {
+
+    public static void main(String[] args) throws IOException {
+
+        System.out.println("=== External Merge Sort ===\n");
+
+        // ========== LOSER TREE ==========
+
+        System.out.println("=== Loser Tree Merge ===");
+        loserTreeDemo();
+
+        // ========== SMALL FILE ==========
+
+        System.out.println("\n=== Sorting a Small File ===");
+        smallFileDemo();
+
+        // ========== FILE LARGER THAN CHUNK SIZE ==========
+
+        long megabytes = args.length > 0 ? Long.parseLong(args[0]) : 64;
+        System.out.println("\n=== Sorting a " + megabytes + " MB File ===");
+        largeFileDemo(megabytes);
+
+        System.out.println("\n=== External Sort lesson completed! ===");
+    }
+
+    /**
+     * Merge three small runs and show the output
+     */
+    public static void loserTreeDemo() throws IOException {
+        Path directory = Files.createTempDirectory("loser-tree");
+        int[][] runs = {{1, 4, 9, 12}, {2, 3, 10}, {5, 6, 7, 8, 11}};
+        List<Path> paths = new ArrayList<>();
+        for (int[] run : runs) {
+            Path path = Files.createTempFile(directory, "run-", ".run");
+            try (RunWriter writer = new RunWriter(path, 64)) {
+                writer.write(run, run.length);
+            }
+            paths.add(path);
+            System.out.println("Run: " + java.util.Arrays.toString(run));
+        }
+
+        RunReader[] readers = new RunReader[paths.size()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new RunReader(paths.get(i), 64);
+        }
+        StringBuilder merged = new StringBuilder();
+        LoserTree tree = new LoserTree(readers);
+        while (!tree.isEmpty()) {
+            merged.append(merged.length() == 0 ? "" : ", ").append(tree.poll());
+        }
+        System.out.println("Merged: [" + merged + "]");
+
+        for (RunReader reader : readers) {
+            reader.close();
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * 10,000 ints with a chunk of 1,000 and fan-in 4: 10 runs, 2 merge passes
+     */
+    public static void smallFileDemo() throws IOException {
+        Path directory = Files.createTempDirectory("external-sort");
+        Path input = directory.resolve("input.bin");
+        Path output = directory.resolve("output.bin");
+        generate(input, 10_000, new Random(42));
+
+        ExternalSorter sorter = new ExternalSorter(1_000, 4, directory);
+        sorter.sort(input, output);
+        System.out.println("Runs: " + sorter.runsCreated + ", merge passes: " + sorter.mergePasses);
+        verify(input, output);
+
+        Files.delete(input);
+        Files.delete(output);
+        Files.delete(directory);
+    }
+
+    /**
+     * Generate and sort a file of the given size. Chunk size is a quarter
+     * of the maximum heap, so the data never has to fit in memory.
+     */
+    public static void largeFileDemo(long megabytes) throws IOException {
+        long count = megabytes * 1024 * 1024 / Integer.BYTES;
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        int chunkSize = (int) Math.min(Integer.MAX_VALUE - 8, maxHeap / 4 / Integer.BYTES);
+        int fanIn = 64;
+
+        Path directory = Files.createTempDirectory("external-sort");
+        Path input = directory.resolve("input.bin");
+        Path output = directory.resolve("output.bin");
+        try {
+            System.out.printf("Max heap: %d MB, chunk: %d ints (%d MB), fan-in: %d%n",
+                              maxHeap >> 20, chunkSize, (long) chunkSize * Integer.BYTES >> 20, fanIn);
+
+            long start = System.nanoTime();
+            generate(input, count, new Random(42));
+            System.out.printf("Generated %,d ints in %.1f s%n", count, (System.nanoTime() - start) / 1e9);
+
+            ExternalSorter sorter = new ExternalSorter(chunkSize, fanIn, 1 << 20, directory,
+                                                       SortingAlgorithms::parallelQuickSort);
+            start = System.nanoTime();
+            sorter.sort(input, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Sorted in %.1f s (%.1f MB/s)%n", seconds, megabytes / seconds);
+            System.out.printf("Runs: %d, merge passes: %d, read: %d MB, written: %d MB%n",
+                              sorter.runsCreated, sorter.mergePasses, sorter.bytesRead >> 20, sorter.bytesWritten >> 20);
+
+            verify(input, output);
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Write count random ints
+     */
+    static void generate(Path path, long count, Random random) throws IOException {
+        int[] block = new int[1 << 16];
+        try (RunWriter writer = new RunWriter(path, 1 << 20)) {
+            for (long written = 0; written < count; written += block.length) {
+                int n = (int) Math.min(block.length, count - written);
+                for (int i = 0; i < n; i++) {
+                    block[i] = random.nextInt();
+                }
+                writer.write(block, n);
+            }
+        }
+    }
+
+    /**
+     * Checks that output is sorted and holds the same ints as input,
+     * using count, sum and xor as an order-independent fingerprint
+     */
+    static void verify(Path input, Path output) throws IOException {
+        long[] expected = fingerprint(input, false);
+        long[] actual = fingerprint(output, true);
+        boolean ok = java.util.Arrays.equals(expected, actual);
+        System.out.println("Verified: " + (ok ? "sorted, " + actual[0] + " ints, same contents" : "FAILED"));
+        if (!ok) {
+            throw new IllegalStateException("External sort produced wrong output");
+        }
+    }
+
+    private static long[] fingerprint(Path path, boolean checkOrder) throws IOException {
+        long count = 0, sum = 0, xor = 0;
+        int previous = Integer.MIN_VALUE;
+        try (RunReader reader = new RunReader(path, 1 << 20)) {
+            while (reader.hasNext()) {
+                int value = reader.next();
+                if (checkOrder && value < previous) {
+                    return new long[] {-1, 0, 0};
+                }
+                previous = value;
+                count++;
+                sum += value;
+                xor ^= value * 0x9E3779B97F4A7C15L;
+            }
+        }
+        return new long[] {count, sum, xor};
+    }
+}
+
+/*
+ * Key Takeaways:
+ *
+ * 1. External sort = sort chunks that fit in memory, then merge the sorted runs
+ * 2. Larger chunks mean fewer runs; larger fan-in means fewer merge passes
+ * 3. Total I/O is about 2 * data size * (1 + merge passes) - keep passes at 1 if possible
+ * 4. A loser tree needs one comparison per level to replace the winner (a heap needs two)
+ * 5. Sequential, buffered I/O through FileChannel keeps the disk streaming
+ *
+ * Tuning:
+ * - Chunk size: a fraction of the heap (the in-memory sort may need extra space)
+ * - Fan-in: limited by buffer memory (fanIn * buffer size) and open file handles
+ * - Buffers: bigger buffers mean fewer system calls and disk seeks during the merge
+ */
@@ -42,6 +42,22 @@ public class SearchingAlgorithms {
         System.out.println("\n=== Search in Rotated Sorted Array ===");
         demonstrateRotatedArraySearch();
         
+        // ========== BRANCHLESS AND CACHE-FRIENDLY SEARCH ==========
+        
+        System.out.println("\n=== Branchless and Eytzinger Search ===");
+        demonstrateSearchKernels();
+        
+        System.out.println("\n=== Search Kernel Benchmark ===");
+        benchmarkSearchKernels();
+        
+        // ========== BATCH SEARCH ==========
+        
+        System.out.println("\n=== Batch Search ===");
+        demonstrateBatchSearch();
+        
+        System.out.println("\n=== Batch Search Throughput ===");
+        benchmarkBatchSearch();
+        
         // ========== PERFORMANCE COMPARISON ==========
         
         System.out.println("\n=== Performance Comparison ===");
@@ -217,13 +233,13 @@ public class SearchingAlgorithms {
         int left = 0, right = arr.length - 1;
         
         while (left <= right && target >= arr[left] && target <= arr[right]) {
-            // If array has only one element
-            if (left == right) {
+            // If array has only one element (or all remaining elements are equal)
+            if (left == right || arr[left] == arr[right]) {
                 return arr[left] == target ? left : -1;
             }
             
-            // Estimate position using interpolation formula
-            int pos = left + ((target - arr[left]) * (right - left)) / (arr[right] - arr[left]);
+            // Estimate position using interpolation formula (long math: the product overflows int)
+            int pos = left + (int) (((long) target - arr[left]) * (right - left) / ((long) arr[right] - arr[left]));
             
             if (arr[pos] == target) {
                 return pos;
@@ -273,11 +289,8 @@ public class SearchingAlgorithms {
             bound *= 2;
         }
         
-        // Apply binary search in the found range
-        return binarySearchIterative(
-            Arrays.copyOfRange(arr, bound / 2, Math.min(bound, arr.length)), 
-            target
-        ) + bound / 2;
+        // Apply binary search in the found range (in place, no copy)
+        return binarySearchRecursive(arr, target, bound / 2, Math.min(bound, arr.length - 1));
     }
     
     /**
@@ -342,6 +355,410 @@ public class SearchingAlgorithms {
         return -1;
     }
     
+    /**
+     * Demonstrate the branchless, Eytzinger and linear search kernels
+     */
+    public static void demonstrateSearchKernels() {
+        System.out.println("Branchy binary search mispredicts about half its comparisons on random keys.");
+        System.out.println("Branchless search turns the comparison into a conditional move;");
+        System.out.println("Eytzinger layout stores the search tree in BFS order so the first");
+        System.out.println("levels share cache lines and the next nodes are adjacent in memory.");
+        System.out.println();
+        
+        int[] sortedArray = {11, 12, 22, 25, 34, 50, 64, 76, 88, 90};
+        EytzingerIndex index = new EytzingerIndex(sortedArray);
+        System.out.println("Sorted Array:    " + Arrays.toString(sortedArray));
+        System.out.println("Eytzinger layout: " + Arrays.toString(Arrays.copyOfRange(index.layout(), 1, sortedArray.length + 1)));
+        
+        for (int target : new int[] {25, 90, 11, 13}) {
+            System.out.printf("Target %d: branchless=%d, eytzinger=%d, linear=%d%n", target,
+                              branchlessBinarySearch(sortedArray, target), index.search(target),
+                              linearSearchSorted(sortedArray, 0, sortedArray.length, target));
+        }
+    }
+    
+    /**
+     * Branchless Binary Search - the loop always runs ceil(log2 n) times and
+     * the only decision is a conditional move, so the branch predictor has
+     * nothing to mispredict. Returns the first index of target, or -1.
+     * Time: O(log n), Space: O(1)
+     */
+    public static int branchlessBinarySearch(int[] arr, int target) {
+        int index = lowerBound(arr, target);
+        return index < arr.length && arr[index] == target ? index : -1;
+    }
+    
+    /**
+     * Index of the first element >= target (arr.length if none), branchless
+     * Time: O(log n), Space: O(1)
+     */
+    public static int lowerBound(int[] arr, int target) {
+        int n = arr.length;
+        if (n == 0) {
+            return 0;
+        }
+        int base = 0;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = arr[base + half - 1] < target ? base + half : base; // Compiles to cmov
+            n -= half;
+        }
+        return base + (arr[base] < target ? 1 : 0);
+    }
+    
+    /**
+     * Linear search in sorted arr[from, to) without an early exit: counts
+     * the elements smaller than target. The loop has no data-dependent
+     * branch, so the JIT can unroll and vectorize it. Fastest for ranges
+     * of a few dozen elements, e.g. to finish a search.
+     * Returns the first index of target, or -1.
+     * Time: O(to - from), Space: O(1)
+     */
+    public static int linearSearchSorted(int[] arr, int from, int to, int target) {
+        int less = 0;
+        for (int i = from; i < to; i++) {
+            less += arr[i] < target ? 1 : 0;
+        }
+        int index = from + less;
+        return index < to && arr[index] == target ? index : -1;
+    }
+    
+    // Ranges at most this long are finished with a linear scan
+    private static final int LINEAR_SCAN_CUTOFF = 32;
+    
+    /**
+     * Hybrid search: branchless halving until the range is small, then a
+     * branch-free linear scan over the last cache lines
+     * Time: O(log n), Space: O(1)
+     */
+    public static int hybridSearch(int[] arr, int target) {
+        int base = 0;
+        int n = arr.length;
+        while (n > LINEAR_SCAN_CUTOFF) {
+            int half = n >>> 1;
+            base = arr[base + half - 1] < target ? base + half : base;
+            n -= half;
+        }
+        return linearSearchSorted(arr, base, base + n, target);
+    }
+    
+    /**
+     * Sorted array stored in Eytzinger (BFS / heap) order: the root at 1,
+     * the children of k at 2k and 2k + 1. A search touches nodes k, 2k(+1),
+     * 4k(+..), ... so the top levels stay hot in cache, and the 16 possible
+     * nodes four levels below k sit in one 64-byte cache line.
+     */
+    static final class EytzingerIndex {
+        private final int[] layout;      // layout[1..n], layout[0] unused
+        private final int[] sortedIndex; // position in the original sorted array
+        private final int n;
+        
+        /**
+         * Time: O(n), Space: O(n)
+         */
+        EytzingerIndex(int[] sortedArray) {
+            if (sortedArray.length >= 1 << 30) {
+                throw new IllegalArgumentException("At most 2^30 - 1 elements (node 2k + 1 must fit in an int)");
+            }
+            this.n = sortedArray.length;
+            this.layout = new int[n + 1];
+            this.sortedIndex = new int[n + 1];
+            
+            // In-order traversal of the implicit tree visits the sorted elements in order
+            int next = 0;
+            int k = 1;
+            int[] stack = new int[34];
+            int depth = 0;
+            while (depth > 0 || k <= n) {
+                if (k <= n) {
+                    stack[depth++] = k;
+                    k = 2 * k;
+                } else {
+                    k = stack[--depth];
+                    layout[k] = sortedArray[next];
+                    sortedIndex[k] = next++;
+                    k = 2 * k + 1;
+                }
+            }
+        }
+        
+        int[] layout() {
+            return layout;
+        }
+        
+        /**
+         * Returns the first index of target in the original sorted array, or -1
+         * Time: O(log n), Space: O(1)
+         */
+        int search(int target) {
+            int k = 1;
+            while (k <= n) {
+                // Java has no prefetch instruction. Instead, load the node four
+                // levels down (16k, the leftmost descendant there) alongside k:
+                // its address depends only on k, so the cache miss starts early.
+                // Using the value keeps the JIT from removing the load: if target
+                // is not above it, the next four turns are all left.
+                long far = 16L * k; // 16 * k overflows an int once k > 2^27
+                if (far <= n && target <= layout[(int) far]) {
+                    k = (int) far;
+                } else {
+                    k = 2 * k + (layout[k] < target ? 1 : 0);
+                }
+            }
+            // Undo the final right turns plus one left turn to reach the lower bound
+            k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            return k != 0 && layout[k] == target ? sortedIndex[k] : -1;
+        }
+    }
+    
+    /**
+     * Compare all sorted-array search kernels at cache-resident and
+     * DRAM-resident sizes (4 KB to 40 MB of ints)
+     */
+    public static void benchmarkSearchKernels() {
+        int[] sizes = {1_000, 100_000, 1_000_000, 10_000_000};
+        int queryCount = 1 << 20;
+        String[] names = {"binarySearchIterative", "interpolationSearch", "exponentialSearch",
+                          "Arrays.binarySearch", "branchlessBinarySearch", "hybridSearch", "EytzingerIndex"};
+        
+        System.out.printf("%-24s", "ns per lookup");
+        for (int size : sizes) {
+            System.out.printf("%12s", size >= 1_000_000 ? size / 1_000_000 + "M" : size / 1_000 + "K");
+        }
+        System.out.println();
+        
+        double[][] results = new double[names.length][sizes.length];
+        for (int s = 0; s < sizes.length; s++) {
+            Random random = new Random(42);
+            int size = sizes[s];
+            int[] arr = new int[size];
+            int value = 0;
+            for (int i = 0; i < size; i++) {
+                value += 1 + random.nextInt(4); // Distinct, roughly uniform
+                arr[i] = value;
+            }
+            int[] queries = new int[queryCount];
+            for (int i = 0; i < queryCount; i++) {
+                queries[i] = i % 2 == 0 ? arr[random.nextInt(size)] : random.nextInt(value + 1);
+            }
+            EytzingerIndex eytzinger = new EytzingerIndex(arr);
+            
+            long expected = runKernel(0, arr, eytzinger, queries);
+            for (int k = 0; k < names.length; k++) {
+                double best = Double.MAX_VALUE;
+                for (int run = 0; run < 5; run++) {
+                    long start = System.nanoTime();
+                    long sum = runKernel(k, arr, eytzinger, queries);
+                    best = Math.min(best, (double) (System.nanoTime() - start) / queryCount);
+                    if (sum != expected) {
+                        throw new IllegalStateException(names[k] + " returned different results");
+                    }
+                }
+                results[k][s] = best;
+            }
+        }
+        
+        for (int k = 0; k < names.length; k++) {
+            System.out.printf("%-24s", names[k]);
+            for (int s = 0; s < sizes.length; s++) {
+                System.out.printf("%12.1f", results[k][s]);
+            }
+            System.out.println();
+        }
+        System.out.println("(1K-100K ints fit in L1/L2 cache; 10M ints = 40 MB is DRAM-resident)");
+    }
+    
+    /**
+     * Runs one kernel over all queries and sums the results. One loop per
+     * kernel keeps every call site monomorphic, so each kernel is inlined
+     * (a shared loop calling through an interface would measure dispatch).
+     */
+    private static long runKernel(int kernel, int[] arr, EytzingerIndex eytzinger, int[] queries) {
+        long sum = 0;
+        switch (kernel) {
+            case 0: for (int q : queries) sum += binarySearchIterative(arr, q); break;
+            case 1: for (int q : queries) sum += interpolationSearch(arr, q); break;
+            case 2: for (int q : queries) sum += exponentialSearch(arr, q); break;
+            case 3: for (int q : queries) sum += Math.max(Arrays.binarySearch(arr, q), -1); break;
+            case 4: for (int q : queries) sum += branchlessBinarySearch(arr, q); break;
+            case 5: for (int q : queries) sum += hybridSearch(arr, q); break;
+            default: for (int q : queries) sum += eytzinger.search(q); break;
+        }
+        return sum;
+    }
+    
+    /**
+     * Demonstrate looking up many sorted keys in one call
+     */
+    public static void demonstrateBatchSearch() {
+        int[] sortedArray = {11, 12, 22, 25, 34, 50, 64, 76, 88, 90};
+        int[] queries = {5, 12, 25, 26, 88, 90, 100};
+        int[] results = new int[queries.length];
+        
+        batchSearch(sortedArray, queries, results);
+        System.out.println("Sorted Array: " + Arrays.toString(sortedArray));
+        System.out.println("Queries:      " + Arrays.toString(queries));
+        System.out.println("Results:      " + Arrays.toString(results));
+    }
+    
+    // Queries searched in lockstep by the interleaved search
+    private static final int INTERLEAVE = 8;
+    
+    /**
+     * Batch Search - looks up every key of a sorted query array and writes
+     * the first index of each key (or -1) to results[i]. Nothing is allocated.
+     * Dense query sets (m log n > n + m) use a merge-style co-scan of both
+     * arrays; sparse sets use interleaved binary searches.
+     * Time: O(min(n + m, m log n)), Space: O(1)
+     */
+    public static void batchSearch(int[] arr, int[] sortedQueries, int[] results) {
+        if (results.length < sortedQueries.length) {
+            throw new IllegalArgumentException("results must hold " + sortedQueries.length + " entries");
+        }
+        int n = arr.length;
+        int m = sortedQueries.length;
+        int log2n = 32 - Integer.numberOfLeadingZeros(n);
+        if ((long) m * log2n > (long) n + m) {
+            coScanSearch(arr, sortedQueries, results);
+        } else {
+            interleavedSearch(arr, sortedQueries, results);
+        }
+    }
+    
+    /**
+     * Merge-style co-scan: both arrays are walked once, front to back,
+     * which the hardware prefetcher streams perfectly
+     * Time: O(n + m), Space: O(1)
+     */
+    static void coScanSearch(int[] arr, int[] sortedQueries, int[] results) {
+        int i = 0;
+        for (int q = 0; q < sortedQueries.length; q++) {
+            int target = sortedQueries[q];
+            while (i < arr.length && arr[i] < target) {
+                i++;
+            }
+            results[q] = i < arr.length && arr[i] == target ? i : -1;
+        }
+    }
+    
+    /**
+     * Interleaved binary search: INTERLEAVE queries descend the array in
+     * lockstep. Their loads are independent, so the CPU overlaps the cache
+     * misses instead of waiting for them one search at a time. Because the
+     * queries are sorted, each group starts at the previous group's answer.
+     * Time: O(m log n), Space: O(1)
+     */
+    static void interleavedSearch(int[] arr, int[] sortedQueries, int[] results) {
+        int m = sortedQueries.length;
+        int from = 0;
+        int q = 0;
+        
+        for (; q + INTERLEAVE <= m; q += INTERLEAVE) {
+            int b0 = from, b1 = from, b2 = from, b3 = from, b4 = from, b5 = from, b6 = from, b7 = from;
+            int t0 = sortedQueries[q], t1 = sortedQueries[q + 1], t2 = sortedQueries[q + 2], t3 = sortedQueries[q + 3];
+            int t4 = sortedQueries[q + 4], t5 = sortedQueries[q + 5], t6 = sortedQueries[q + 6], t7 = sortedQueries[q + 7];
+            
+            int n = arr.length - from;
+            while (n > 1) {
+                int half = n >>> 1;
+                b0 = arr[b0 + half - 1] < t0 ? b0 + half : b0;
+                b1 = arr[b1 + half - 1] < t1 ? b1 + half : b1;
+                b2 = arr[b2 + half - 1] < t2 ? b2 + half : b2;
+                b3 = arr[b3 + half - 1] < t3 ? b3 + half : b3;
+                b4 = arr[b4 + half - 1] < t4 ? b4 + half : b4;
+                b5 = arr[b5 + half - 1] < t5 ? b5 + half : b5;
+                b6 = arr[b6 + half - 1] < t6 ? b6 + half : b6;
+                b7 = arr[b7 + half - 1] < t7 ? b7 + half : b7;
+                n -= half;
+            }
+            results[q] = finish(arr, b0, t0);
+            results[q + 1] = finish(arr, b1, t1);
+            results[q + 2] = finish(arr, b2, t2);
+            results[q + 3] = finish(arr, b3, t3);
+            results[q + 4] = finish(arr, b4, t4);
+            results[q + 5] = finish(arr, b5, t5);
+            results[q + 6] = finish(arr, b6, t6);
+            results[q + 7] = finish(arr, b7, t7);
+            from = Math.min(b7, arr.length);
+        }
+        
+        // Remaining queries one at a time
+        for (; q < m; q++) {
+            int base = from;
+            int n = arr.length - from;
+            int target = sortedQueries[q];
+            while (n > 1) {
+                int half = n >>> 1;
+                base = arr[base + half - 1] < target ? base + half : base;
+                n -= half;
+            }
+            results[q] = finish(arr, base, target);
+        }
+    }
+    
+    /**
+     * Last step of a lockstep search: base is the lower bound candidate
+     */
+    private static int finish(int[] arr, int base, int target) {
+        if (base >= arr.length) {
+            return -1;
+        }
+        int index = base + (arr[base] < target ? 1 : 0);
+        return index < arr.length && arr[index] == target ? index : -1;
+    }
+    
+    /**
+     * Batch search vs one binarySearchIterative call per key, for sparse
+     * and dense query sets against a 1M element array
+     */
+    public static void benchmarkBatchSearch() {
+        Random random = new Random(42);
+        int size = 1_000_000;
+        int[] arr = new int[size];
+        int value = 0;
+        for (int i = 0; i < size; i++) {
+            value += 1 + random.nextInt(4);
+            arr[i] = value;
+        }
+        
+        System.out.printf("%-10s %18s %18s %18s%n", "Queries", "per-key (M/s)", "batch (M/s)", "strategy");
+        for (int m : new int[] {1_000, 10_000, 100_000, 1_000_000}) {
+            int[] queries = new int[m];
+            for (int i = 0; i < m; i++) {
+                queries[i] = i % 2 == 0 ? arr[random.nextInt(size)] : random.nextInt(value + 1);
+            }
+            Arrays.sort(queries);
+            int[] expected = new int[m];
+            int[] results = new int[m];
+            
+            double perKey = Double.MAX_VALUE;
+            double batch = Double.MAX_VALUE;
+            int repeat = Math.max(1, 2_000_000 / m);
+            for (int run = 0; run < 5; run++) {
+                long start = System.nanoTime();
+                for (int r = 0; r < repeat; r++) {
+                    for (int i = 0; i < m; i++) {
+                        expected[i] = binarySearchIterative(arr, queries[i]);
+                    }
+                }
+                perKey = Math.min(perKey, (double) (System.nanoTime() - start) / repeat);
+                
+                start = System.nanoTime();
+                for (int r = 0; r < repeat; r++) {
+                    batchSearch(arr, queries, results);
+                }
+                batch = Math.min(batch, (double) (System.nanoTime() - start) / repeat);
+                
+                if (!Arrays.equals(expected, results)) {
+                    throw new IllegalStateException("Batch search returned different results");
+                }
+            }
+            boolean dense = (long) m * (32 - Integer.numberOfLeadingZeros(size)) > (long) size + m;
+            System.out.printf("%-10d %18.1f %18.1f %18s%n", m, m * 1000.0 / perKey, m * 1000.0 / batch,
+                              dense ? "co-scan" : "interleaved");
+        }
+    }
+    
     /**
      * Compare performance of different search algorithms
      */
@@ -356,6 +773,9 @@ public class SearchingAlgorithms {
         System.out.println("Interpolation      | O(log log n)*   | O(1)  | Uniform distribution");
         System.out.println("Exponential        | O(log n)        | O(1)  | Sorted, unbounded");
         System.out.println("Rotated Array      | O(log n)        | O(1)  | Rotated sorted");
+        System.out.println("Branchless Binary  | O(log n)        | O(1)  | Sorted array");
+        System.out.println("Eytzinger          | O(log n)        | O(n)  | Sorted, re-laid out once");
+        System.out.println("Batch (m keys)     | O(min(n+m, m log n)) | O(1) | Sorted array and queries");
         System.out.println();
         System.out.println("* Best case for uniform distribution, O(n) worst case");
         System.out.println();
@@ -400,4 +820,6 @@ public class SearchingAlgorithms {
  *    - Binary search is usually the best choice for sorted data
  *    - Linear search is simple and works for any data
  *    - Specialized algorithms for specific data patterns
+ *    - Branch mispredictions and cache misses, not comparisons, dominate large searches
+ *    - Branchless search and Eytzinger layout attack exactly those two costs
  */
@@ -9,8 +9,13 @@
  * - Practice algorithm optimization techniques
  */
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
 
 public class SortingAlgorithms {
     
@@ -84,6 +89,43 @@ public class SortingAlgorithms {
         System.out.println("Sorted: " + Arrays.toString(heapArray));
         System.out.println("Time: " + (endTime - startTime) / 1000000.0 + " ms\n");
         
+        // ========== PARALLEL SORTING ==========
+        
+        System.out.println("=== Parallel Merge Sort ===");
+        int[] parallelMergeArray = testArray.clone();
+        parallelMergeSort(parallelMergeArray);
+        System.out.println("Sorted: " + Arrays.toString(parallelMergeArray));
+        
+        System.out.println("\n=== Parallel Quick Sort ===");
+        int[] parallelQuickArray = testArray.clone();
+        parallelQuickSort(parallelQuickArray);
+        System.out.println("Sorted: " + Arrays.toString(parallelQuickArray));
+        
+        System.out.println("\n=== Parallel Sort Benchmark ===");
+        parallelSortBenchmark();
+        
+        // ========== RADIX AND COUNTING SORT ==========
+        
+        System.out.println("\n=== Radix Sort (LSD, int) ===");
+        int[] radixArray = {64, -34, 25, 12, -22, 11, 90, Integer.MIN_VALUE, 76, 0, Integer.MAX_VALUE};
+        radixSort(radixArray);
+        System.out.println("Sorted: " + Arrays.toString(radixArray));
+        
+        System.out.println("\n=== Radix Sort (LSD, long) ===");
+        long[] longArray = {5_000_000_000L, -3, 42, Long.MIN_VALUE, -5_000_000_000L, 7};
+        radixSort(longArray);
+        System.out.println("Sorted: " + Arrays.toString(longArray));
+        
+        System.out.println("\n=== Radix Sort (MSD, String) ===");
+        String[] words = {"she", "sells", "seashells", "by", "the", "sea", "shore", "", "shells", "the", "sea"};
+        msdRadixSort(words);
+        System.out.println("Sorted: " + Arrays.toString(words));
+        
+        System.out.println("\n=== Counting Sort ===");
+        int[] countingArray = testArray.clone();
+        countingSort(countingArray);
+        System.out.println("Sorted: " + Arrays.toString(countingArray) + "\n");
+        
         // ========== PERFORMANCE COMPARISON ==========
         
         System.out.println("=== Performance Comparison ===");
@@ -336,50 +378,771 @@ public class SortingAlgorithms {
         arr[j] = temp;
     }
     
+    // Below this size insertion sort beats any divide and conquer step
+    private static final int INSERTION_SORT_CUTOFF = 32;
+    
+    // Below this size a sub-task is sorted sequentially instead of being forked
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    
     /**
-     * Performance comparison of different sorting algorithms
+     * Parallel Merge Sort - Fork/join merge sort with one scratch buffer
+     * Halves are sorted in parallel, then merged in parallel by splitting
+     * the larger run at its middle and binary searching the other run.
+     * Time Complexity: O(n log n) work, O(log³ n) span
+     * Space Complexity: O(n) - a single buffer allocated once
+     * Stable: Yes
      */
-    public static void performanceComparison() {
-        int[] sizes = {100, 1000, 5000};
+    public static void parallelMergeSort(int[] arr) {
+        if (arr.length < 2) {
+            return;
+        }
+        int[] buffer = new int[arr.length];
+        ForkJoinPool.commonPool().invoke(new MergeSortTask(arr, buffer, 0, arr.length));
+    }
+    
+    /**
+     * Sorts arr[from, to) using buffer[from, to) as scratch space
+     */
+    private static final class MergeSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] arr;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        
+        MergeSortTask(int[] arr, int[] buffer, int from, int to) {
+            this.arr = arr;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                sequentialMergeSort(arr, buffer, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeSortTask(arr, buffer, from, mid),
+                      new MergeSortTask(arr, buffer, mid, to));
+            
+            if (arr[mid - 1] <= arr[mid]) {
+                return; // Already in order (e.g. sorted input)
+            }
+            System.arraycopy(arr, from, buffer, from, to - from);
+            new MergeTask(buffer, from, mid, mid, to, arr, from).compute();
+        }
+    }
+    
+    /**
+     * Merges src[lo1, hi1) and src[lo2, hi2) into dst starting at out
+     */
+    private static final class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] src;
+        private final int lo1, hi1, lo2, hi2;
+        private final int[] dst;
+        private final int out;
+        
+        MergeTask(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int out) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.out = out;
+        }
+        
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= PARALLEL_THRESHOLD) {
+                mergeRuns(src, lo1, hi1, lo2, hi2, dst, out);
+                return;
+            }
+            
+            // Split the larger run in half, find the matching split in the other run.
+            // Equal keys go left-run-first to keep the sort stable.
+            int split1, split2;
+            if (n1 >= n2) {
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(src, lo2, hi2, src[split1]);
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(src, lo1, hi1, src[split2]);
+            }
+            int splitOut = out + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new MergeTask(src, lo1, split1, lo2, split2, dst, out),
+                      new MergeTask(src, split1, hi1, split2, hi2, dst, splitOut));
+        }
+    }
+    
+    /**
+     * Top-down merge sort of arr[from, to) reusing the caller's buffer
+     */
+    private static void sequentialMergeSort(int[] arr, int[] buffer, int from, int to) {
+        if (to - from <= INSERTION_SORT_CUTOFF) {
+            insertionSort(arr, from, to);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sequentialMergeSort(arr, buffer, from, mid);
+        sequentialMergeSort(arr, buffer, mid, to);
+        
+        if (arr[mid - 1] <= arr[mid]) {
+            return;
+        }
+        // Only the left run has to be copied out; the right run is merged in place
+        System.arraycopy(arr, from, buffer, from, mid - from);
+        mergeRuns(buffer, from, mid, mid, to, arr, from, arr);
+    }
+    
+    private static void mergeRuns(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int out) {
+        mergeRuns(src, lo1, hi1, lo2, hi2, dst, out, src);
+    }
+    
+    /**
+     * Standard two-way merge; the left run is read from left, the right run from right
+     */
+    private static void mergeRuns(int[] left, int lo1, int hi1, int lo2, int hi2, int[] dst, int out, int[] right) {
+        int i = lo1, j = lo2, k = out;
+        while (i < hi1 && j < hi2) {
+            dst[k++] = left[i] <= right[j] ? left[i++] : right[j++];
+        }
+        System.arraycopy(left, i, dst, k, hi1 - i);
+        k += hi1 - i;
+        if (dst != right || k != j) {
+            System.arraycopy(right, j, dst, k, hi2 - j);
+        }
+    }
+    
+    /**
+     * First index in [from, to) whose value is >= key
+     */
+    private static int lowerBound(int[] arr, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (arr[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+    
+    /**
+     * First index in [from, to) whose value is > key
+     */
+    private static int upperBound(int[] arr, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (arr[mid] <= key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+    
+    /**
+     * Insertion sort of arr[from, to)
+     */
+    private static void insertionSort(int[] arr, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= from && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+    
+    /**
+     * Parallel Quick Sort - Fork/join quick sort with median-of-three
+     * pivots and three-way partitioning
+     * Sorted, reversed and duplicate-heavy input stay O(n log n); a depth
+     * limit falls back to heap sort for adversarial input (introsort).
+     * Time Complexity: O(n log n)
+     * Space Complexity: O(log n)
+     * Stable: No
+     */
+    public static void parallelQuickSort(int[] arr) {
+        if (isSorted(arr)) {
+            return; // One O(n) scan saves a full partitioning pass on presorted data
+        }
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(arr.length));
+        ForkJoinPool.commonPool().invoke(new QuickSortTask(arr, 0, arr.length, depthLimit));
+    }
+    
+    /**
+     * Sorts arr[from, to)
+     */
+    private static final class QuickSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] arr;
+        private final int from;
+        private final int to;
+        private final int depthLimit;
+        
+        QuickSortTask(int[] arr, int from, int to, int depthLimit) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.depthLimit = depthLimit;
+        }
         
-        System.out.println("Performance Comparison (milliseconds):");
-        System.out.println("┌─────────────────┬─────────┬─────────┬─────────┐");
-        System.out.println("│ Algorithm       │ 100 els │ 1K els  │ 5K els  │");
-        System.out.println("├─────────────────┼─────────┼─────────┼─────────┤");
+        @Override
+        protected void compute() {
+            int lo = from, hi = to, depth = depthLimit;
+            List<QuickSortTask> forked = new ArrayList<>();
+            
+            while (hi - lo > PARALLEL_THRESHOLD) {
+                if (depth-- == 0) {
+                    heapSort(arr, lo, hi);
+                    lo = hi;
+                    break;
+                }
+                long bounds = partition3(arr, lo, hi);
+                int lt = (int) (bounds >>> 32);
+                int gt = (int) bounds;
+                
+                // Fork the left side, keep partitioning the right side in this thread
+                QuickSortTask left = new QuickSortTask(arr, lo, lt, depth);
+                left.fork();
+                forked.add(left);
+                lo = gt;
+            }
+            sequentialQuickSort(arr, lo, hi, depth);
+            
+            for (QuickSortTask task : forked) {
+                task.join();
+            }
+        }
+    }
+    
+    /**
+     * Recurses into the smaller side and loops on the larger one,
+     * so stack depth stays O(log n) even without the depth limit
+     */
+    private static void sequentialQuickSort(int[] arr, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_SORT_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(arr, lo, hi);
+                return;
+            }
+            long bounds = partition3(arr, lo, hi);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            if (lt - lo < hi - gt) {
+                sequentialQuickSort(arr, lo, lt, depth);
+                lo = gt;
+            } else {
+                sequentialQuickSort(arr, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        insertionSort(arr, lo, hi);
+    }
+    
+    /**
+     * Three-way (Dutch national flag) partition of arr[lo, hi) around a
+     * median-of-three pivot. Returns lt and gt packed into a long:
+     * arr[lo, lt) < pivot, arr[lt, gt) == pivot, arr[gt, hi) > pivot.
+     */
+    private static long partition3(int[] arr, int lo, int hi) {
+        int pivot = medianOfThree(arr[lo], arr[(lo + hi) >>> 1], arr[hi - 1]);
+        int lt = lo, i = lo, gt = hi;
+        while (i < gt) {
+            int value = arr[i];
+            if (value < pivot) {
+                swap(arr, lt++, i++);
+            } else if (value > pivot) {
+                swap(arr, i, --gt);
+            } else {
+                i++;
+            }
+        }
+        return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+    }
+    
+    private static boolean isSorted(int[] arr) {
+        for (int i = 1; i < arr.length; i++) {
+            if (arr[i - 1] > arr[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+    
+    /**
+     * Heap sort of arr[from, to), the introsort fallback
+     */
+    private static void heapSort(int[] arr, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, from, n, i);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, from, from + end);
+            siftDown(arr, from, end, 0);
+        }
+    }
+    
+    private static void siftDown(int[] arr, int offset, int n, int i) {
+        int value = arr[offset + i];
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (arr[offset + child] <= value) {
+                break;
+            }
+            arr[offset + i] = arr[offset + child];
+            i = child;
+        }
+        arr[offset + i] = value;
+    }
+    
+    /**
+     * Compare the parallel sorts with the JDK on large random and sorted input
+     */
+    public static void parallelSortBenchmark() {
+        int[] sizes = {1_000_000, 10_000_000};
+        System.out.println("Parallelism: " + ForkJoinPool.commonPool().getParallelism() +
+                           " (" + Runtime.getRuntime().availableProcessors() + " processors)");
+        System.out.println("Best of 3 runs, milliseconds:");
+        System.out.printf("%-22s %10s %12s %12s%n", "Algorithm", "Size", "Random", "Sorted");
         
         for (int size : sizes) {
-            int[] testData = generateRandomArray(size);
+            Random random = new Random(42);
+            int[] randomData = new int[size];
+            int[] sortedData = new int[size];
+            for (int i = 0; i < size; i++) {
+                randomData[i] = random.nextInt();
+                sortedData[i] = i;
+            }
+            int[] expected = randomData.clone();
+            Arrays.sort(expected);
+            
+            if (size <= 1_000_000) {
+                // The original recursive versions; quickSort overflows the stack on sorted input
+                printBenchmarkRow("mergeSort", size, randomData, sortedData, expected, a -> mergeSort(a, 0, a.length - 1));
+                System.out.printf("%-22s %10d %12.2f %12s%n", "quickSort", size,
+                                  bestSortTime(randomData, expected, a -> quickSort(a, 0, a.length - 1)), "n/a");
+            }
+            printBenchmarkRow("parallelMergeSort", size, randomData, sortedData, expected, SortingAlgorithms::parallelMergeSort);
+            printBenchmarkRow("parallelQuickSort", size, randomData, sortedData, expected, SortingAlgorithms::parallelQuickSort);
+            printBenchmarkRow("Arrays.sort", size, randomData, sortedData, expected, Arrays::sort);
+            printBenchmarkRow("Arrays.parallelSort", size, randomData, sortedData, expected, Arrays::parallelSort);
+        }
+    }
+    
+    interface IntArraySort {
+        void sort(int[] arr);
+    }
+    
+    private static void printBenchmarkRow(String name, int size, int[] randomData, int[] sortedData,
+                                          int[] expected, IntArraySort sort) {
+        System.out.printf("%-22s %10d %12.2f %12.2f%n", name, size,
+                          bestSortTime(randomData, expected, sort), bestSortTime(sortedData, sortedData, sort));
+    }
+    
+    /**
+     * Best of 3 runs in milliseconds; fails loudly if the output is wrong
+     */
+    private static double bestSortTime(int[] data, int[] expected, IntArraySort sort) {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            int[] copy = data.clone();
+            long start = System.nanoTime();
+            sort.sort(copy);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000.0);
+            if (!Arrays.equals(copy, expected)) {
+                throw new IllegalStateException("Sort produced wrong output");
+            }
+        }
+        return best;
+    }
+    
+    // ========== NON-COMPARISON SORTS ==========
+    
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    
+    // Counting sort is used when the value range is at most this many times the length
+    private static final int COUNTING_RANGE_FACTOR = 4;
+    
+    /**
+     * Radix Sort (LSD) - Sorts 32-bit ints one byte at a time, least
+     * significant byte first. The sign bit is flipped so negative numbers
+     * order before positive ones. All four histograms are built in one scan,
+     * and a pass is skipped when every key has the same byte there.
+     * Time Complexity: O(n) - 1 histogram scan + at most 4 scatter passes
+     * Space Complexity: O(n)
+     * Stable: Yes
+     */
+    public static void radixSort(int[] arr) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[4][RADIX];
+        for (int value : arr) {
+            int key = value ^ Integer.MIN_VALUE;
+            counts[0][key & RADIX_MASK]++;
+            counts[1][(key >>> 8) & RADIX_MASK]++;
+            counts[2][(key >>> 16) & RADIX_MASK]++;
+            counts[3][key >>> 24]++;
+        }
+        
+        int[] src = arr;
+        int[] dst = new int[n];
+        for (int pass = 0; pass < 4; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * RADIX_BITS;
+            if (count[((src[0] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK] == n) {
+                continue; // Every key has the same byte here
+            }
+            toOffsets(count);
+            for (int value : src) {
+                dst[count[((value ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK]++] = value;
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+    
+    /**
+     * Radix Sort (LSD) for 64-bit longs, 8 passes of 8 bits
+     * Time Complexity: O(n) - 1 histogram scan + at most 8 scatter passes
+     * Space Complexity: O(n)
+     * Stable: Yes
+     */
+    public static void radixSort(long[] arr) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[8][RADIX];
+        for (long value : arr) {
+            long key = value ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < 8; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & RADIX_MASK]++;
+            }
+        }
+        
+        long[] src = arr;
+        long[] dst = new long[n];
+        for (int pass = 0; pass < 8; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * RADIX_BITS;
+            if (count[(int) ((src[0] ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK] == n) {
+                continue;
+            }
+            toOffsets(count);
+            for (long value : src) {
+                dst[count[(int) ((value ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK]++] = value;
+            }
+            long[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+    
+    /**
+     * Parallel Radix Sort (LSD) - The array is split into one chunk per
+     * core. Every chunk builds its own histograms in parallel; a prefix sum
+     * over (digit, chunk) then gives each chunk its own output slots, so
+     * the scatter also runs in parallel and stays stable.
+     * Time Complexity: O(n / p + p * 256) per pass
+     * Space Complexity: O(n + p * 1024)
+     * Stable: Yes
+     */
+    public static void parallelRadixSort(int[] arr) {
+        int n = arr.length;
+        int chunks = Math.max(1, Math.min(ForkJoinPool.commonPool().getParallelism(), n / PARALLEL_THRESHOLD));
+        if (chunks == 1) {
+            radixSort(arr);
+            return;
+        }
+        int[] chunkStart = new int[chunks + 1];
+        for (int c = 0; c <= chunks; c++) {
+            chunkStart[c] = (int) ((long) n * c / chunks);
+        }
+        
+        // Parallel histogram phase: counts[chunk][pass][digit], all four passes in one scan
+        int[][][] counts = new int[chunks][4][RADIX];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[][] count = counts[c];
+            for (int i = chunkStart[c]; i < chunkStart[c + 1]; i++) {
+                int key = arr[i] ^ Integer.MIN_VALUE;
+                count[0][key & RADIX_MASK]++;
+                count[1][(key >>> 8) & RADIX_MASK]++;
+                count[2][(key >>> 16) & RADIX_MASK]++;
+                count[3][key >>> 24]++;
+            }
+        });
+        
+        int[] src = arr;
+        int[] dst = new int[n];
+        boolean moved = false;
+        for (int pass = 0; pass < 4; pass++) {
+            int shift = pass * RADIX_BITS;
+            int firstDigit = ((src[0] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK;
+            int sameDigit = 0;
+            for (int c = 0; c < chunks; c++) {
+                sameDigit += counts[c][pass][firstDigit];
+            }
+            if (sameDigit == n) {
+                continue; // Every key has the same byte here
+            }
+            
+            // Once keys have moved, each chunk holds different keys than it did
+            // during the first scan, so this pass's per-chunk counts are redone
+            int[] from = src;
+            int currentPass = pass;
+            if (moved) {
+                IntStream.range(0, chunks).parallel().forEach(c -> {
+                    int[] count = counts[c][currentPass];
+                    Arrays.fill(count, 0);
+                    for (int i = chunkStart[c]; i < chunkStart[c + 1]; i++) {
+                        count[((from[i] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK]++;
+                    }
+                });
+            }
             
-            if (size == 100) {
-                System.out.printf("│ Bubble Sort     │ %7.2f │", measureSortTime(() -> bubbleSort(testData.clone())));
+            // Offsets: all chunks' slots for digit 0, then digit 1, ...
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                for (int c = 0; c < chunks; c++) {
+                    int count = counts[c][pass][digit];
+                    counts[c][pass][digit] = offset;
+                    offset += count;
+                }
             }
-            if (size <= 1000) {
-                System.out.printf(" %7.2f │", measureSortTime(() -> bubbleSort(testData.clone())));
+            
+            int[] to = dst;
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int[] next = counts[c][currentPass];
+                for (int i = chunkStart[c]; i < chunkStart[c + 1]; i++) {
+                    int value = from[i];
+                    to[next[((value ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK]++] = value;
+                }
+            });
+            moved = true;
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+    
+    /**
+     * Turn a histogram into starting offsets (exclusive prefix sum)
+     */
+    private static void toOffsets(int[] count) {
+        int offset = 0;
+        for (int digit = 0; digit < count.length; digit++) {
+            int c = count[digit];
+            count[digit] = offset;
+            offset += c;
+        }
+    }
+    
+    /**
+     * Counting Sort - Counts occurrences of each value in [min, max].
+     * Only worthwhile for small ranges; falls back to radix sort when the
+     * range is more than a few times the array length.
+     * Time Complexity: O(n + k), k = max - min + 1
+     * Space Complexity: O(k)
+     * Stable: N/A (ints are rewritten from counts)
+     */
+    public static void countingSort(int[] arr) {
+        if (arr.length < 2) {
+            return;
+        }
+        int min = arr[0], max = arr[0];
+        for (int value : arr) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        long range = (long) max - min + 1;
+        if (range > (long) COUNTING_RANGE_FACTOR * arr.length + RADIX) {
+            radixSort(arr);
+            return;
+        }
+        
+        int[] count = new int[(int) range];
+        for (int value : arr) {
+            count[value - min]++;
+        }
+        int index = 0;
+        for (int i = 0; i < count.length; i++) {
+            for (int c = count[i]; c > 0; c--) {
+                arr[index++] = min + i;
             }
-            if (size <= 5000) {
-                System.out.printf(" %7.2f │%n", measureSortTime(() -> bubbleSort(testData.clone())));
+        }
+    }
+    
+    // Subarrays smaller than this are finished with insertion sort
+    private static final int MSD_CUTOFF = 16;
+    
+    /**
+     * Radix Sort (MSD) for strings - Buckets strings by their character at
+     * position d, then recursively sorts each bucket on position d + 1.
+     * Shorter strings (end of string) come first. Characters 0..254 get
+     * their own bucket; rarer characters >= 255 share one bucket that is
+     * finished with a comparison sort.
+     * Time Complexity: O(total characters examined), at most O(n * w)
+     * Space Complexity: O(n + w * 258) for the aux array and count arrays
+     * Stable: Yes
+     */
+    public static void msdRadixSort(String[] arr) {
+        String[] aux = new String[arr.length];
+        msdRadixSort(arr, aux, 0, arr.length, 0);
+    }
+    
+    private static void msdRadixSort(String[] arr, String[] aux, int lo, int hi, int d) {
+        if (hi - lo <= MSD_CUTOFF) {
+            insertionSort(arr, lo, hi, d);
+            return;
+        }
+        
+        // Bucket 0: end of string, 1..255: chars 0..254, 256: chars >= 255
+        int[] count = new int[RADIX + 2];
+        for (int i = lo; i < hi; i++) {
+            count[bucket(arr[i], d) + 1]++;
+        }
+        for (int b = 0; b <= RADIX; b++) {
+            count[b + 1] += count[b];
+        }
+        for (int i = lo; i < hi; i++) {
+            aux[count[bucket(arr[i], d)]++] = arr[i];
+        }
+        System.arraycopy(aux, 0, arr, lo, hi - lo);
+        
+        // count[b] is now the end of bucket b
+        int start = lo + count[0];
+        for (int b = 1; b < RADIX; b++) {
+            int end = lo + count[b];
+            if (end - start > 1) {
+                msdRadixSort(arr, aux, start, end, d + 1);
+            }
+            start = end;
+        }
+        if (hi - start > 1) {
+            Arrays.sort(arr, start, hi); // Same prefix, so a full comparison is correct
+        }
+    }
+    
+    private static int bucket(String s, int d) {
+        return d < s.length() ? Math.min(s.charAt(d), RADIX - 1) + 1 : 0;
+    }
+    
+    /**
+     * Insertion sort of arr[lo, hi), comparing from position d on
+     * (all strings there share the first d characters)
+     */
+    private static void insertionSort(String[] arr, int lo, int hi, int d) {
+        for (int i = lo + 1; i < hi; i++) {
+            String key = arr[i];
+            int j = i - 1;
+            while (j >= lo && compareFrom(arr[j], key, d) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+    
+    private static int compareFrom(String a, String b, int d) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = d; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return a.charAt(i) - b.charAt(i);
             }
         }
+        return a.length() - b.length();
+    }
+    
+    /**
+     * Performance comparison of different sorting algorithms
+     */
+    public static void performanceComparison() {
+        int[] sizes = {100, 1000, 5000, 100_000};
+        String[] names = {"Bubble Sort", "Selection Sort", "Insertion Sort", "Merge Sort", "Quick Sort",
+                          "Heap Sort", "Radix Sort", "Parallel Radix", "Counting Sort", "Arrays.sort"};
+        IntArraySort[] sorts = {
+            SortingAlgorithms::bubbleSort, SortingAlgorithms::selectionSort, SortingAlgorithms::insertionSort,
+            a -> mergeSort(a, 0, a.length - 1), a -> quickSort(a, 0, a.length - 1), SortingAlgorithms::heapSort,
+            SortingAlgorithms::radixSort, SortingAlgorithms::parallelRadixSort, SortingAlgorithms::countingSort,
+            Arrays::sort
+        };
+        
+        int[][] testData = new int[sizes.length][];
+        for (int s = 0; s < sizes.length; s++) {
+            testData[s] = generateRandomArray(sizes[s]);
+        }
+        
+        System.out.println("Performance Comparison (milliseconds, values 0-999, best of 5):");
+        System.out.println("┌─────────────────┬─────────┬─────────┬─────────┬─────────┐");
+        System.out.println("│ Algorithm       │ 100 els │ 1K els  │ 5K els  │ 100K els│");
+        System.out.println("├─────────────────┼─────────┼─────────┼─────────┼─────────┤");
         
-        // Add more algorithms...
-        System.out.println("│ Selection Sort  │   ...   │   ...   │   ...   │");
-        System.out.println("│ Insertion Sort  │   ...   │   ...   │   ...   │");
-        System.out.println("│ Merge Sort      │   ...   │   ...   │   ...   │");
-        System.out.println("│ Quick Sort      │   ...   │   ...   │   ...   │");
-        System.out.println("│ Heap Sort       │   ...   │   ...   │   ...   │");
-        System.out.println("└─────────────────┴─────────┴─────────┴─────────┘");
+        for (int row = 0; row < sorts.length; row++) {
+            System.out.printf("│ %-15s │", names[row]);
+            for (int s = 0; s < sizes.length; s++) {
+                if (row < 3 && sizes[s] > 5000) {
+                    System.out.print("    -    │"); // O(n²) sorts are too slow here
+                } else {
+                    System.out.printf(" %7.2f │", measureSortTime(testData[s], sorts[row]));
+                }
+            }
+            System.out.println();
+        }
+        System.out.println("└─────────────────┴─────────┴─────────┴─────────┴─────────┘");
         
         System.out.println("\nNote: Actual performance depends on hardware and data characteristics");
+        System.out.println("Radix and counting sort don't compare elements, so they beat O(n log n) sorts");
+        System.out.println("once n is large and the keys are fixed-width (counting sort: small value range)");
     }
     
     /**
-     * Measures execution time of a sorting algorithm
+     * Measures execution time of a sorting algorithm, best of 5 runs.
+     * Only the sort is timed, not copying the input.
      */
-    private static double measureSortTime(Runnable sortMethod) {
-        long startTime = System.nanoTime();
-        sortMethod.run();
-        long endTime = System.nanoTime();
-        return (endTime - startTime) / 1000000.0; // Convert to milliseconds
+    private static double measureSortTime(int[] data, IntArraySort sort) {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            int[] copy = data.clone();
+            long startTime = System.nanoTime();
+            sort.sort(copy);
+            long endTime = System.nanoTime();
+            best = Math.min(best, (endTime - startTime) / 1000000.0); // Convert to milliseconds
+        }
+        return best;
     }
     
     /**
@@ -411,6 +1174,8 @@ public class SortingAlgorithms {
         System.out.println("│ Merge Sort      │ O(n log n)  │ O(n log n)  │ O(n log n)  │");
         System.out.println("│ Quick Sort      │ O(n log n)  │ O(n log n)  │ O(n²)       │");
         System.out.println("│ Heap Sort       │ O(n log n)  │ O(n log n)  │ O(n log n)  │");
+        System.out.println("│ Radix Sort (LSD)│ O(w·n)      │ O(w·n)      │ O(w·n)      │");
+        System.out.println("│ Counting Sort   │ O(n + k)    │ O(n + k)    │ O(n + k)    │");
         System.out.println("└─────────────────┴─────────────┴─────────────┴─────────────┘");
         
         System.out.println("\nSpace Complexity and Stability:");
@@ -423,6 +1188,8 @@ public class SortingAlgorithms {
         System.out.println("│ Merge Sort      │ O(n)        │ Yes     │");
         System.out.println("│ Quick Sort      │ O(log n)    │ No      │");
         System.out.println("│ Heap Sort       │ O(1)        │ No      │");
+        System.out.println("│ Radix Sort (LSD)│ O(n + 256)  │ Yes     │");
+        System.out.println("│ Counting Sort   │ O(k)        │ -       │");
         System.out.println("└─────────────────┴─────────────┴─────────┘");
         
         System.out.println("\nAlgorithm Selection Guide:");
@@ -432,6 +1199,8 @@ public class SortingAlgorithms {
         System.out.println("• Memory constrained: Heap Sort");
         System.out.println("• Nearly sorted data: Insertion Sort");
         System.out.println("• Guaranteed O(n log n): Merge Sort or Heap Sort");
+        System.out.println("• Large arrays of fixed-width keys: Radix Sort");
+        System.out.println("• Small value range (k ≈ n): Counting Sort");
         System.out.println("• Production code: Arrays.sort() (hybrid algorithms)");
     }
 }
@@ -460,6 +1229,9 @@ public class SortingAlgorithms {
  * Optimization Techniques:
  * - Hybrid algorithms (use different sorts for different sizes)
  * - Adaptive algorithms (perform better on partially sorted data)
- * - Parallel sorting for multi-core systems
+ * - Parallel sorting for multi-core systems (fork/join: split, sort halves in parallel, merge)
+ * - Reuse one scratch buffer instead of allocating temporary arrays in every merge
+ * - Median-of-three pivots and three-way partitioning keep quick sort O(n log n)
+ *   on sorted and duplicate-heavy input
  * - External sorting for data larger than memory
  */
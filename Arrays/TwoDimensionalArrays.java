@@ -11,6 +11,872 @@
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Dense matrix stored in one flat double[] in row-major order:
+ * element (i, j) is data[i * cols + j]. Rows are contiguous, so inner
+ * loops that walk j stream through memory instead of jumping between
+ * separate row arrays.
+ */
+class DenseMatrix {
+    
+    static final int TILE = 64;                 // 64 x 64 doubles = 32 KB per tile
+    static final int STRASSEN_LEAF = 128;       // Below this, tiled multiply is faster
+    private static final int PARALLEL_STRASSEN = 512;
+    private static final int TRANSPOSE_LEAF = 32;       // 32 x 32 block: both it and its mirror fit in L1
+    private static final int PARALLEL_TRANSPOSE = 256;  // Smaller blocks are not worth a task
+    
+    final int rows;
+    final int cols;
+    final double[] data;
+    
+    DenseMatrix(int rows, int cols) {
+        this(rows, cols, new double[Math.multiplyExact(rows, cols)]);
+    }
+    
+    DenseMatrix(int rows, int cols, double[] data) {
+        if (data.length != (long) rows * cols) {
+            throw new IllegalArgumentException("Expected " + rows + " x " + cols + " elements, got " + data.length);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+    
+    static DenseMatrix fromArray(int[][] matrix) {
+        DenseMatrix result = new DenseMatrix(matrix.length, matrix.length == 0 ? 0 : matrix[0].length);
+        for (int i = 0; i < result.rows; i++) {
+            for (int j = 0; j < result.cols; j++) {
+                result.data[i * result.cols + j] = matrix[i][j];
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Random matrix of small integers (products and sums stay exact in double)
+     */
+    static DenseMatrix randomIntegers(int rows, int cols, int bound, Random random) {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        for (int i = 0; i < result.data.length; i++) {
+            result.data[i] = random.nextInt(2 * bound + 1) - bound;
+        }
+        return result;
+    }
+    
+    int[][] toIntArray() {
+        int[][] result = new int[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                result[i][j] = (int) data[i * cols + j];
+            }
+        }
+        return result;
+    }
+    
+    double get(int row, int col) {
+        return data[row * cols + col];
+    }
+    
+    void set(int row, int col, double value) {
+        data[row * cols + col] = value;
+    }
+    
+    double maxAbsDifference(DenseMatrix other) {
+        double max = 0;
+        for (int i = 0; i < data.length; i++) {
+            max = Math.max(max, Math.abs(data[i] - other.data[i]));
+        }
+        return max;
+    }
+    
+    // ========== MULTIPLICATION ==========
+    
+    /**
+     * Tiled i-k-j multiplication: the innermost loop walks a row of b
+     * and a row of c sequentially, and TILE x TILE blocks keep the
+     * working set in cache
+     * Time Complexity: O(n³)
+     */
+    DenseMatrix multiply(DenseMatrix b) {
+        checkMultiplicable(b);
+        DenseMatrix c = new DenseMatrix(rows, b.cols);
+        multiplyRows(data, b.data, c.data, cols, b.cols, 0, rows);
+        return c;
+    }
+    
+    /**
+     * Tiled multiplication with row blocks of c computed in parallel
+     * Time Complexity: O(n³ / p)
+     */
+    DenseMatrix multiplyParallel(DenseMatrix b) {
+        checkMultiplicable(b);
+        DenseMatrix c = new DenseMatrix(rows, b.cols);
+        ForkJoinPool.commonPool().invoke(new MultiplyTask(data, b.data, c.data, cols, b.cols, 0, rows));
+        return c;
+    }
+    
+    /**
+     * Strassen multiplication for squares: 7 half-size products instead
+     * of 8, recursing until STRASSEN_LEAF (or an odd size), with the 7
+     * products forked in parallel at the large levels. Non-square inputs
+     * use the parallel tiled multiply.
+     * Time Complexity: O(n^2.807)
+     */
+    DenseMatrix multiplyStrassen(DenseMatrix b) {
+        checkMultiplicable(b);
+        if (rows != cols || b.rows != b.cols) {
+            return multiplyParallel(b);
+        }
+        return new DenseMatrix(rows, rows, ForkJoinPool.commonPool().invoke(new StrassenTask(data, b.data, rows)));
+    }
+    
+    private void checkMultiplicable(DenseMatrix b) {
+        if (cols != b.rows) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + " x " + cols + " by " +
+                                               b.rows + " x " + b.cols);
+        }
+    }
+    
+    /**
+     * c[rowFrom, rowTo) += a[rowFrom, rowTo) * b, where a is n x inner and b is inner x m
+     */
+    static void multiplyRows(double[] a, double[] b, double[] c, int inner, int m, int rowFrom, int rowTo) {
+        for (int ii = rowFrom; ii < rowTo; ii += TILE) {
+            int iEnd = Math.min(ii + TILE, rowTo);
+            for (int kk = 0; kk < inner; kk += TILE) {
+                int kEnd = Math.min(kk + TILE, inner);
+                for (int jj = 0; jj < m; jj += TILE) {
+                    int jEnd = Math.min(jj + TILE, m);
+                    for (int i = ii; i < iEnd; i++) {
+                        int aRow = i * inner;
+                        int cRow = i * m;
+                        for (int k = kk; k < kEnd; k++) {
+                            double aik = a[aRow + k];
+                            int bRow = k * m;
+                            for (int j = jj; j < jEnd; j++) {
+                                c[cRow + j] += aik * b[bRow + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Splits the rows of c in halves down to one tile of rows; each task
+     * writes only its own rows, so no synchronization is needed
+     */
+    private static final class MultiplyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] a;
+        private final double[] b;
+        private final double[] c;
+        private final int inner;
+        private final int m;
+        private final int rowFrom;
+        private final int rowTo;
+        
+        MultiplyTask(double[] a, double[] b, double[] c, int inner, int m, int rowFrom, int rowTo) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.inner = inner;
+            this.m = m;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+        }
+        
+        @Override
+        protected void compute() {
+            if (rowTo - rowFrom <= TILE) {
+                multiplyRows(a, b, c, inner, m, rowFrom, rowTo);
+                return;
+            }
+            int mid = rowFrom + (rowTo - rowFrom) / 2 / TILE * TILE; // Keep row blocks tile-aligned
+            if (mid == rowFrom) {
+                mid = rowFrom + TILE;
+            }
+            invokeAll(new MultiplyTask(a, b, c, inner, m, rowFrom, mid),
+                      new MultiplyTask(a, b, c, inner, m, mid, rowTo));
+        }
+    }
+    
+    // ========== TRANSPOSE AND ROTATE ==========
+    
+    /**
+     * In-place transpose of a square matrix, cache-oblivious: the matrix is
+     * split recursively into two diagonal blocks (transposed in place) and
+     * an off-diagonal block swapped with its mirror, so every level of the
+     * recursion eventually fits in some level of cache without tuning
+     * Time Complexity: O(n²), Space: O(log n) recursion
+     */
+    void transposeInPlace(boolean parallel) {
+        checkSquare();
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new InPlaceTransposeTask(data, rows, 0, rows, 0, rows, true));
+        } else {
+            transposeDiagonal(data, rows, 0, rows);
+        }
+    }
+    
+    /**
+     * In-place 90° clockwise rotation of a square matrix: transpose, then
+     * reverse every row (each row is contiguous)
+     * Time Complexity: O(n²)
+     */
+    void rotate90ClockwiseInPlace(boolean parallel) {
+        transposeInPlace(parallel);
+        forRowBlocks(parallel, rows, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                for (int left = i * cols, right = left + cols - 1; left < right; left++, right--) {
+                    double tmp = data[left];
+                    data[left] = data[right];
+                    data[right] = tmp;
+                }
+            }
+        });
+    }
+    
+    /**
+     * Blocked out-of-place transpose for any shape: TILE x TILE blocks are
+     * read row by row and written column by column, so both sides stay in cache
+     * Time Complexity: O(m×n)
+     */
+    DenseMatrix transpose(boolean parallel) {
+        return blockedCopy(parallel, false);
+    }
+    
+    /**
+     * Blocked out-of-place 90° clockwise rotation for any shape
+     * Time Complexity: O(m×n)
+     */
+    DenseMatrix rotate90Clockwise(boolean parallel) {
+        return blockedCopy(parallel, true);
+    }
+    
+    private DenseMatrix blockedCopy(boolean parallel, boolean rotate) {
+        DenseMatrix result = new DenseMatrix(cols, rows);
+        double[] target = result.data;
+        forRowBlocks(parallel, rows, (from, to) -> {
+            for (int ii = from; ii < to; ii += TILE) {
+                int iEnd = Math.min(ii + TILE, to);
+                for (int jj = 0; jj < cols; jj += TILE) {
+                    int jEnd = Math.min(jj + TILE, cols);
+                    for (int i = ii; i < iEnd; i++) {
+                        int targetCol = rotate ? rows - 1 - i : i;   // Rotation: (i, j) -> (j, rows - 1 - i)
+                        int source = i * cols;
+                        for (int j = jj; j < jEnd; j++) {
+                            target[j * rows + targetCol] = data[source + j];
+                        }
+                    }
+                }
+            }
+        });
+        return result;
+    }
+    
+    private void checkSquare() {
+        if (rows != cols) {
+            throw new IllegalArgumentException("In-place transpose needs a square matrix, got " + rows + " x " + cols);
+        }
+    }
+    
+    static void transposeDiagonal(double[] d, int n, int from, int to) {
+        if (to - from <= TRANSPOSE_LEAF) {
+            for (int i = from; i < to; i++) {
+                for (int j = i + 1; j < to; j++) {
+                    double tmp = d[i * n + j];
+                    d[i * n + j] = d[j * n + i];
+                    d[j * n + i] = tmp;
+                }
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        transposeDiagonal(d, n, from, mid);
+        transposeDiagonal(d, n, mid, to);
+        swapMirror(d, n, from, mid, mid, to);
+    }
+    
+    /**
+     * Swaps block [r0, r1) x [c0, c1), which lies above the diagonal, with
+     * its mirror [c0, c1) x [r0, r1), halving the longer side each step
+     */
+    static void swapMirror(double[] d, int n, int r0, int r1, int c0, int c1) {
+        if (r1 - r0 <= TRANSPOSE_LEAF && c1 - c0 <= TRANSPOSE_LEAF) {
+            for (int i = r0; i < r1; i++) {
+                for (int j = c0; j < c1; j++) {
+                    double tmp = d[i * n + j];
+                    d[i * n + j] = d[j * n + i];
+                    d[j * n + i] = tmp;
+                }
+            }
+        } else if (r1 - r0 >= c1 - c0) {
+            int mid = (r0 + r1) >>> 1;
+            swapMirror(d, n, r0, mid, c0, c1);
+            swapMirror(d, n, mid, r1, c0, c1);
+        } else {
+            int mid = (c0 + c1) >>> 1;
+            swapMirror(d, n, r0, r1, c0, mid);
+            swapMirror(d, n, r0, r1, mid, c1);
+        }
+    }
+    
+    /**
+     * Same recursion as transposeDiagonal/swapMirror; the sub-blocks touch
+     * disjoint elements, so they are forked until they fall below PARALLEL_TRANSPOSE
+     */
+    private static final class InPlaceTransposeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] d;
+        private final int n;
+        private final int r0, r1, c0, c1;
+        private final boolean diagonal;
+        
+        InPlaceTransposeTask(double[] d, int n, int r0, int r1, int c0, int c1, boolean diagonal) {
+            this.d = d;
+            this.n = n;
+            this.r0 = r0;
+            this.r1 = r1;
+            this.c0 = c0;
+            this.c1 = c1;
+            this.diagonal = diagonal;
+        }
+        
+        @Override
+        protected void compute() {
+            if (diagonal) {
+                if (r1 - r0 <= PARALLEL_TRANSPOSE) {
+                    transposeDiagonal(d, n, r0, r1);
+                    return;
+                }
+                int mid = (r0 + r1) >>> 1;
+                invokeAll(new InPlaceTransposeTask(d, n, r0, mid, r0, mid, true),
+                          new InPlaceTransposeTask(d, n, mid, r1, mid, r1, true),
+                          new InPlaceTransposeTask(d, n, r0, mid, mid, r1, false));
+            } else if (r1 - r0 <= PARALLEL_TRANSPOSE && c1 - c0 <= PARALLEL_TRANSPOSE) {
+                swapMirror(d, n, r0, r1, c0, c1);
+            } else if (r1 - r0 >= c1 - c0) {
+                int mid = (r0 + r1) >>> 1;
+                invokeAll(new InPlaceTransposeTask(d, n, r0, mid, c0, c1, false),
+                          new InPlaceTransposeTask(d, n, mid, r1, c0, c1, false));
+            } else {
+                int mid = (c0 + c1) >>> 1;
+                invokeAll(new InPlaceTransposeTask(d, n, r0, r1, c0, mid, false),
+                          new InPlaceTransposeTask(d, n, r0, r1, mid, c1, false));
+            }
+        }
+    }
+    
+    /**
+     * Work on rows [from, to)
+     */
+    interface RowKernel {
+        void run(int from, int to);
+    }
+    
+    /**
+     * Runs kernel over [0, rows), split into tile-aligned row blocks
+     * on the common pool when parallel
+     */
+    static void forRowBlocks(boolean parallel, int rows, RowKernel kernel) {
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new RowBlockTask(kernel, 0, rows));
+        } else {
+            kernel.run(0, rows);
+        }
+    }
+    
+    private static final class RowBlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final RowKernel kernel;
+        private final int from;
+        private final int to;
+        
+        RowBlockTask(RowKernel kernel, int from, int to) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= TILE) {
+                kernel.run(from, to);
+                return;
+            }
+            int mid = from + Math.max(TILE, (to - from) / 2 / TILE * TILE);
+            invokeAll(new RowBlockTask(kernel, from, mid), new RowBlockTask(kernel, mid, to));
+        }
+    }
+    
+    /**
+     * Computes the n x n product of flat a and b
+     */
+    private static final class StrassenTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+        private final double[] a;
+        private final double[] b;
+        private final int n;
+        
+        StrassenTask(double[] a, double[] b, int n) {
+            this.a = a;
+            this.b = b;
+            this.n = n;
+        }
+        
+        @Override
+        protected double[] compute() {
+            if (n <= STRASSEN_LEAF || (n & 1) == 1) {
+                double[] c = new double[n * n];
+                multiplyRows(a, b, c, n, n, 0, n);
+                return c;
+            }
+            int h = n / 2;
+            double[] a11 = quadrant(a, n, 0, 0), a12 = quadrant(a, n, 0, h);
+            double[] a21 = quadrant(a, n, h, 0), a22 = quadrant(a, n, h, h);
+            double[] b11 = quadrant(b, n, 0, 0), b12 = quadrant(b, n, 0, h);
+            double[] b21 = quadrant(b, n, h, 0), b22 = quadrant(b, n, h, h);
+            
+            StrassenTask[] products = {
+                new StrassenTask(add(a11, a22), add(b11, b22), h),   // M1
+                new StrassenTask(add(a21, a22), b11, h),             // M2
+                new StrassenTask(a11, subtract(b12, b22), h),        // M3
+                new StrassenTask(a22, subtract(b21, b11), h),        // M4
+                new StrassenTask(add(a11, a12), b22, h),             // M5
+                new StrassenTask(subtract(a21, a11), add(b11, b12), h), // M6
+                new StrassenTask(subtract(a12, a22), add(b21, b22), h)  // M7
+            };
+            double[][] m = new double[7][];
+            if (n >= PARALLEL_STRASSEN) {
+                invokeAll(products);
+                for (int i = 0; i < 7; i++) {
+                    m[i] = products[i].join();
+                }
+            } else {
+                for (int i = 0; i < 7; i++) {
+                    m[i] = products[i].compute();
+                }
+            }
+            
+            // C11 = M1 + M4 - M5 + M7, C12 = M3 + M5, C21 = M2 + M4, C22 = M1 - M2 + M3 + M6
+            double[] c = new double[n * n];
+            for (int i = 0; i < h; i++) {
+                int top = i * n;
+                int bottom = (i + h) * n;
+                int q = i * h;
+                for (int j = 0; j < h; j++) {
+                    int k = q + j;
+                    c[top + j] = m[0][k] + m[3][k] - m[4][k] + m[6][k];
+                    c[top + h + j] = m[2][k] + m[4][k];
+                    c[bottom + j] = m[1][k] + m[3][k];
+                    c[bottom + h + j] = m[0][k] - m[1][k] + m[2][k] + m[5][k];
+                }
+            }
+            return c;
+        }
+        
+        private static double[] quadrant(double[] source, int n, int rowOffset, int colOffset) {
+            int h = n / 2;
+            double[] result = new double[h * h];
+            for (int i = 0; i < h; i++) {
+                System.arraycopy(source, (rowOffset + i) * n + colOffset, result, i * h, h);
+            }
+            return result;
+        }
+        
+        private static double[] add(double[] x, double[] y) {
+            double[] result = new double[x.length];
+            for (int i = 0; i < x.length; i++) {
+                result[i] = x[i] + y[i];
+            }
+            return result;
+        }
+        
+        private static double[] subtract(double[] x, double[] y) {
+            double[] result = new double[x.length];
+            for (int i = 0; i < x.length; i++) {
+                result[i] = x[i] - y[i];
+            }
+            return result;
+        }
+    }
+}
+
+/**
+ * Coordinate (COO) sparse matrix: parallel arrays of (row, col, value)
+ * triples in insertion order. Cheap to build incrementally; convert to
+ * CsrMatrix for arithmetic. Duplicate coordinates are summed on conversion.
+ */
+class CooMatrix {
+    
+    final int rows;
+    final int cols;
+    private int[] rowIndex = new int[16];
+    private int[] colIndex = new int[16];
+    private double[] values = new double[16];
+    private int nnz;
+    
+    CooMatrix(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+    }
+    
+    /**
+     * Append an entry (zeros are skipped)
+     * Time Complexity: O(1) amortized
+     */
+    void add(int row, int col, double value) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") outside " + rows + " x " + cols);
+        }
+        if (value == 0) {
+            return;
+        }
+        if (nnz == values.length) {
+            rowIndex = Arrays.copyOf(rowIndex, nnz * 2);
+            colIndex = Arrays.copyOf(colIndex, nnz * 2);
+            values = Arrays.copyOf(values, nnz * 2);
+        }
+        rowIndex[nnz] = row;
+        colIndex[nnz] = col;
+        values[nnz++] = value;
+    }
+    
+    int nnz() {
+        return nnz;
+    }
+    
+    static CooMatrix fromDense(DenseMatrix dense) {
+        CooMatrix coo = new CooMatrix(dense.rows, dense.cols);
+        for (int i = 0; i < dense.rows; i++) {
+            for (int j = 0; j < dense.cols; j++) {
+                coo.add(i, j, dense.data[i * dense.cols + j]);
+            }
+        }
+        return coo;
+    }
+    
+    DenseMatrix toDense() {
+        DenseMatrix dense = new DenseMatrix(rows, cols);
+        for (int k = 0; k < nnz; k++) {
+            dense.data[rowIndex[k] * cols + colIndex[k]] += values[k];
+        }
+        return dense;
+    }
+    
+    /**
+     * Counting sort by row, then by column within each row; duplicates are
+     * summed and entries that cancel to zero are dropped
+     * Time Complexity: O(nnz + rows + cols)
+     */
+    CsrMatrix toCsr() {
+        // Pass 1: bucket by column (stable), pass 2: bucket by row, leaving columns sorted per row
+        int[] byCol = new int[nnz];
+        int[] colStart = new int[cols + 1];
+        for (int k = 0; k < nnz; k++) {
+            colStart[colIndex[k] + 1]++;
+        }
+        for (int j = 0; j < cols; j++) {
+            colStart[j + 1] += colStart[j];
+        }
+        for (int k = 0; k < nnz; k++) {
+            byCol[colStart[colIndex[k]]++] = k;
+        }
+        int[] rowStart = new int[rows + 1];
+        for (int k = 0; k < nnz; k++) {
+            rowStart[rowIndex[k] + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+        int[] order = new int[nnz];
+        int[] next = rowStart.clone();
+        for (int k : byCol) {
+            order[next[rowIndex[k]]++] = k;
+        }
+        
+        int[] rowPtr = new int[rows + 1];
+        int[] colIdx = new int[nnz];
+        double[] vals = new double[nnz];
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            int rowBegin = count;
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                int k = order[p];
+                if (count > rowBegin && colIdx[count - 1] == colIndex[k]) {
+                    vals[count - 1] += values[k];      // Duplicate coordinate
+                } else {
+                    colIdx[count] = colIndex[k];
+                    vals[count++] = values[k];
+                }
+            }
+            // Drop entries whose duplicates cancelled out
+            int kept = rowBegin;
+            for (int p = rowBegin; p < count; p++) {
+                if (vals[p] != 0) {
+                    colIdx[kept] = colIdx[p];
+                    vals[kept++] = vals[p];
+                }
+            }
+            count = kept;
+            rowPtr[i + 1] = count;
+        }
+        return new CsrMatrix(rows, cols, rowPtr, Arrays.copyOf(colIdx, count), Arrays.copyOf(vals, count));
+    }
+}
+
+/**
+ * Compressed Sparse Row (CSR) matrix: the nonzeros of row i are
+ * values[rowPtr[i], rowPtr[i + 1]) with their columns, sorted, in colIdx.
+ * Memory is 12 bytes per nonzero plus 4 per row, against 8 per element dense.
+ */
+class CsrMatrix {
+    
+    final int rows;
+    final int cols;
+    final int[] rowPtr;
+    final int[] colIdx;
+    final double[] values;
+    
+    CsrMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        if (rowPtr.length != rows + 1 || colIdx.length != values.length || rowPtr[rows] != values.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+    
+    static CsrMatrix fromDense(DenseMatrix dense) {
+        int nnz = 0;
+        for (double value : dense.data) {
+            nnz += value != 0 ? 1 : 0;
+        }
+        int[] rowPtr = new int[dense.rows + 1];
+        int[] colIdx = new int[nnz];
+        double[] values = new double[nnz];
+        int k = 0;
+        for (int i = 0; i < dense.rows; i++) {
+            for (int j = 0, base = i * dense.cols; j < dense.cols; j++) {
+                if (dense.data[base + j] != 0) {
+                    colIdx[k] = j;
+                    values[k++] = dense.data[base + j];
+                }
+            }
+            rowPtr[i + 1] = k;
+        }
+        return new CsrMatrix(dense.rows, dense.cols, rowPtr, colIdx, values);
+    }
+    
+    static CsrMatrix fromArray(int[][] matrix) {
+        return fromDense(DenseMatrix.fromArray(matrix));
+    }
+    
+    DenseMatrix toDense() {
+        DenseMatrix dense = new DenseMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                dense.data[i * cols + colIdx[k]] = values[k];
+            }
+        }
+        return dense;
+    }
+    
+    CooMatrix toCoo() {
+        CooMatrix coo = new CooMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                coo.add(i, colIdx[k], values[k]);
+            }
+        }
+        return coo;
+    }
+    
+    int nnz() {
+        return values.length;
+    }
+    
+    long memoryBytes() {
+        return 4L * rowPtr.length + 4L * colIdx.length + 8L * values.length;
+    }
+    
+    /**
+     * Element lookup: binary search over the row's sorted columns
+     * Time Complexity: O(log nnz(row))
+     */
+    double get(int row, int col) {
+        int k = Arrays.binarySearch(colIdx, rowPtr[row], rowPtr[row + 1], col);
+        return k >= 0 ? values[k] : 0;
+    }
+    
+    // ========== ARITHMETIC ==========
+    
+    /**
+     * Sparse matrix-vector product y = A·x (SpMV)
+     * Time Complexity: O(nnz)
+     */
+    double[] multiply(double[] x) {
+        return multiplyVector(x, false);
+    }
+    
+    /**
+     * SpMV with row blocks computed in parallel (each y[i] is one row's dot product)
+     * Time Complexity: O(nnz / p)
+     */
+    double[] multiplyParallel(double[] x) {
+        return multiplyVector(x, true);
+    }
+    
+    private double[] multiplyVector(double[] x, boolean parallel) {
+        if (x.length != cols) {
+            throw new IllegalArgumentException("Vector length " + x.length + ", expected " + cols);
+        }
+        double[] y = new double[rows];
+        DenseMatrix.forRowBlocks(parallel, rows, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double sum = 0;
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                    sum += values[k] * x[colIdx[k]];
+                }
+                y[i] = sum;
+            }
+        });
+        return y;
+    }
+    
+    /**
+     * Sparse × dense: each nonzero a(i, k) adds a(i, k) · row k of b to row i of c
+     * Time Complexity: O(nnz × b.cols)
+     */
+    DenseMatrix multiply(DenseMatrix b, boolean parallel) {
+        if (cols != b.rows) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + " x " + cols + " by " +
+                                               b.rows + " x " + b.cols);
+        }
+        DenseMatrix c = new DenseMatrix(rows, b.cols);
+        int m = b.cols;
+        DenseMatrix.forRowBlocks(parallel, rows, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                int cRow = i * m;
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                    double aik = values[k];
+                    int bRow = colIdx[k] * m;
+                    for (int j = 0; j < m; j++) {
+                        c.data[cRow + j] += aik * b.data[bRow + j];
+                    }
+                }
+            }
+        });
+        return c;
+    }
+    
+    /**
+     * Sparse × sparse (Gustavson): row i of C accumulates scaled rows of B
+     * in a dense accumulator, touching only the columns that appear
+     * Time Complexity: O(flops + rows), flops = Σ nnz(a row) × nnz(b row)
+     */
+    CsrMatrix multiply(CsrMatrix b) {
+        if (cols != b.rows) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + " x " + cols + " by " +
+                                               b.rows + " x " + b.cols);
+        }
+        double[] accumulator = new double[b.cols];
+        int[] marker = new int[b.cols];   // marker[j] == i + 1 when column j is in use for row i
+        int[] touched = new int[b.cols];
+        int[] rowPtrC = new int[rows + 1];
+        int[] colIdxC = new int[Math.max(16, nnz())];
+        double[] valuesC = new double[colIdxC.length];
+        int count = 0;
+        
+        for (int i = 0; i < rows; i++) {
+            int touchedCount = 0;
+            for (int ka = rowPtr[i]; ka < rowPtr[i + 1]; ka++) {
+                double aik = values[ka];
+                int k = colIdx[ka];
+                for (int kb = b.rowPtr[k]; kb < b.rowPtr[k + 1]; kb++) {
+                    int j = b.colIdx[kb];
+                    if (marker[j] != i + 1) {
+                        marker[j] = i + 1;
+                        accumulator[j] = 0;
+                        touched[touchedCount++] = j;
+                    }
+                    accumulator[j] += aik * b.values[kb];
+                }
+            }
+            Arrays.sort(touched, 0, touchedCount); // Keep columns sorted within the row
+            if (count + touchedCount > colIdxC.length) {
+                int capacity = Math.max(count + touchedCount, colIdxC.length * 2);
+                colIdxC = Arrays.copyOf(colIdxC, capacity);
+                valuesC = Arrays.copyOf(valuesC, capacity);
+            }
+            for (int t = 0; t < touchedCount; t++) {
+                int j = touched[t];
+                if (accumulator[j] != 0) {
+                    colIdxC[count] = j;
+                    valuesC[count++] = accumulator[j];
+                }
+            }
+            rowPtrC[i + 1] = count;
+        }
+        return new CsrMatrix(rows, b.cols, rowPtrC, Arrays.copyOf(colIdxC, count), Arrays.copyOf(valuesC, count));
+    }
+    
+    /**
+     * Transpose by counting nonzeros per column; the result is again CSR
+     * (equivalently, this matrix in CSC form)
+     * Time Complexity: O(nnz + rows + cols)
+     */
+    CsrMatrix transpose() {
+        int[] rowPtrT = new int[cols + 1];
+        for (int k = 0; k < nnz(); k++) {
+            rowPtrT[colIdx[k] + 1]++;
+        }
+        for (int j = 0; j < cols; j++) {
+            rowPtrT[j + 1] += rowPtrT[j];
+        }
+        int[] next = Arrays.copyOf(rowPtrT, cols);
+        int[] colIdxT = new int[nnz()];
+        double[] valuesT = new double[nnz()];
+        for (int i = 0; i < rows; i++) {   // Rows in order, so each transposed row stays sorted
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                int slot = next[colIdx[k]]++;
+                colIdxT[slot] = i;
+                valuesT[slot] = values[k];
+            }
+        }
+        return new CsrMatrix(cols, rows, rowPtrT, colIdxT, valuesT);
+    }
+    
+    /**
+     * Sparse counterpart of calculateRowColumnSums
+     * Time Complexity: O(nnz)
+     */
+    double[] rowSums() {
+        double[] sums = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                sums[i] += values[k];
+            }
+        }
+        return sums;
+    }
+    
+    double[] columnSums() {
+        double[] sums = new double[cols];
+        for (int k = 0; k < nnz(); k++) {
+            sums[colIdx[k]] += values[k];
+        }
+        return sums;
+    }
+}
 
 public class TwoDimensionalArrays {
     
@@ -38,6 +904,27 @@ public class TwoDimensionalArrays {
         System.out.println("\n=== Practical 2D Array Problems ===");
         practicalProblems();
         
+        // ========== MATRIX MULTIPLICATION ENGINE ==========
+        
+        // Optional sizes on the command line, e.g. java TwoDimensionalArrays 256 1024 4096
+        int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                                      : new int[] {256, 512, 1024};
+        System.out.println("\n=== Matrix Multiplication Benchmark ===");
+        matrixMultiplicationBenchmark(sizes);
+        
+        // ========== TRANSPOSE AND ROTATE ==========
+        
+        System.out.println("\n=== Transpose and Rotate Benchmark ===");
+        transposeRotateBenchmark(new int[] {1024, 4096});
+        
+        // ========== SPARSE MATRICES ==========
+        
+        System.out.println("\n=== Sparse Matrices (COO / CSR) ===");
+        sparseMatrixDemo();
+        
+        System.out.println("\n=== Sparse vs Dense Benchmark ===");
+        sparseMatrixBenchmark(4096, 1024, new double[] {0.001, 0.01, 0.1});
+        
         System.out.println("\n=== Two-Dimensional Arrays lesson completed! ===");
     }
     
@@ -243,6 +1130,262 @@ public class TwoDimensionalArrays {
         boundaryTraversal(matrix);
     }
     
+    /**
+     * Compares multiplyMatrices (naive i-j-k over int[][]) with DenseMatrix
+     * tiled, parallel and Strassen multiplication
+     */
+    public static void matrixMultiplicationBenchmark(int[] sizes) {
+        int naiveLimit = 1024; // Naive i-j-k at 2048+ takes minutes
+        System.out.println("Parallelism: " + ForkJoinPool.commonPool().getParallelism());
+        System.out.printf("%6s %12s %12s %12s %12s %10s%n", "n", "Naive ms", "Tiled ms", "Parallel ms",
+                          "Strassen ms", "GFLOP/s*");
+        Random random = new Random(42);
+        for (int n : sizes) {
+            DenseMatrix a = DenseMatrix.randomIntegers(n, n, 9, random);
+            DenseMatrix b = DenseMatrix.randomIntegers(n, n, 9, random);
+            
+            long start = System.nanoTime();
+            DenseMatrix tiled = a.multiply(b);
+            double tiledMs = (System.nanoTime() - start) / 1e6;
+            
+            start = System.nanoTime();
+            DenseMatrix parallel = a.multiplyParallel(b);
+            double parallelMs = (System.nanoTime() - start) / 1e6;
+            
+            start = System.nanoTime();
+            DenseMatrix strassen = a.multiplyStrassen(b);
+            double strassenMs = (System.nanoTime() - start) / 1e6;
+            
+            // Integer inputs keep every product exact, so all methods must agree exactly
+            if (tiled.maxAbsDifference(parallel) != 0 || tiled.maxAbsDifference(strassen) != 0) {
+                throw new IllegalStateException("Multiplication results differ at n = " + n);
+            }
+            
+            String naive = "skipped";
+            if (n <= naiveLimit) {
+                int[][] aInt = a.toIntArray();
+                int[][] bInt = b.toIntArray();
+                start = System.nanoTime();
+                int[][] expected = multiplyMatrices(aInt, bInt);
+                naive = String.format("%.1f", (System.nanoTime() - start) / 1e6);
+                if (!Arrays.deepEquals(expected, tiled.toIntArray())) {
+                    throw new IllegalStateException("DenseMatrix disagrees with multiplyMatrices at n = " + n);
+                }
+            }
+            double gflops = 2.0 * n * n * n / (Math.min(tiledMs, parallelMs) * 1e6);
+            System.out.printf("%6d %12s %12.1f %12.1f %12.1f %10.2f%n", n, naive, tiledMs, parallelMs,
+                              strassenMs, gflops);
+        }
+        System.out.println("* 2n^3 flops over the faster of tiled and parallel");
+    }
+    
+    /**
+     * Compares transposeMatrix/rotateMatrix90Clockwise (new int[][] each
+     * call) with DenseMatrix in-place and blocked out-of-place versions
+     */
+    public static void transposeRotateBenchmark(int[] sizes) {
+        System.out.printf("%-34s", "Milliseconds");
+        for (int n : sizes) {
+            System.out.printf(" %10s", "n=" + n);
+        }
+        System.out.println();
+        Random random = new Random(42);
+        String[] names = {"transposeMatrix (int[][])", "rotateMatrix90Clockwise (int[][])",
+                          "transposeInPlace", "transposeInPlace parallel", "rotate90ClockwiseInPlace",
+                          "rotate90ClockwiseInPlace parallel", "transpose (blocked, n x n/2)",
+                          "transpose parallel (n x n/2)", "rotate90Clockwise (n x n/2)"};
+        double[][] times = new double[names.length][sizes.length];
+        for (int s = 0; s < sizes.length; s++) {
+            int n = sizes[s];
+            DenseMatrix square = DenseMatrix.randomIntegers(n, n, 1000, random);
+            DenseMatrix wide = DenseMatrix.randomIntegers(n, n / 2, 1000, random);
+            int[][] jagged = square.toIntArray();
+            
+            long start = System.nanoTime();
+            int[][] transposed = transposeMatrix(jagged);
+            times[0][s] = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            int[][] rotated = rotateMatrix90Clockwise(jagged);
+            times[1][s] = (System.nanoTime() - start) / 1e6;
+            
+            for (int kernel = 2; kernel < 6; kernel++) {
+                DenseMatrix copy = new DenseMatrix(n, n, square.data.clone());
+                start = System.nanoTime();
+                if (kernel < 4) {
+                    copy.transposeInPlace(kernel == 3);
+                } else {
+                    copy.rotate90ClockwiseInPlace(kernel == 5);
+                }
+                times[kernel][s] = (System.nanoTime() - start) / 1e6;
+                if (!Arrays.deepEquals(copy.toIntArray(), kernel < 4 ? transposed : rotated)) {
+                    throw new IllegalStateException(names[kernel] + " is wrong at n = " + n);
+                }
+            }
+            
+            int[][] expected = transposeMatrix(wide.toIntArray());
+            for (int kernel = 6; kernel < 9; kernel++) {
+                start = System.nanoTime();
+                DenseMatrix result = kernel == 8 ? wide.rotate90Clockwise(false) : wide.transpose(kernel == 7);
+                times[kernel][s] = (System.nanoTime() - start) / 1e6;
+                int[][] check = kernel == 8 ? rotateRectangular(wide.toIntArray()) : expected;
+                if (!Arrays.deepEquals(result.toIntArray(), check)) {
+                    throw new IllegalStateException(names[kernel] + " is wrong at n = " + n);
+                }
+            }
+        }
+        for (int kernel = 0; kernel < names.length; kernel++) {
+            System.out.printf("%-34s", names[kernel]);
+            for (int s = 0; s < sizes.length; s++) {
+                System.out.printf(" %10.1f", times[kernel][s]);
+            }
+            System.out.println();
+        }
+    }
+    
+    // Reference rotation for rectangular int[][] (rotateMatrix90Clockwise assumes a square)
+    private static int[][] rotateRectangular(int[][] matrix) {
+        int rows = matrix.length;
+        int cols = matrix[0].length;
+        int[][] rotated = new int[cols][rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                rotated[j][rows - 1 - i] = matrix[i][j];
+            }
+        }
+        return rotated;
+    }
+    
+    /**
+     * Demonstrates COO building, CSR conversion and sparse operations
+     */
+    public static void sparseMatrixDemo() {
+        CooMatrix coo = new CooMatrix(4, 5);
+        coo.add(0, 1, 3);
+        coo.add(1, 4, 7);
+        coo.add(3, 0, 2);
+        coo.add(2, 2, 5);
+        coo.add(0, 1, 1);   // Duplicate coordinate: summed on conversion
+        CsrMatrix csr = coo.toCsr();
+        int[][] dense = csr.toDense().toIntArray();
+        System.out.println("COO with " + coo.nnz() + " entries -> CSR with " + csr.nnz() + " nonzeros:");
+        printMatrix(dense);
+        System.out.println("rowPtr = " + Arrays.toString(csr.rowPtr));
+        System.out.println("colIdx = " + Arrays.toString(csr.colIdx));
+        System.out.println("values = " + Arrays.toString(csr.values));
+        System.out.println("get(0, 1) = " + csr.get(0, 1) + ", get(1, 1) = " + csr.get(1, 1));
+        
+        System.out.println("\nRow sums:    " + Arrays.toString(csr.rowSums()));
+        System.out.println("Column sums: " + Arrays.toString(csr.columnSums()));
+        System.out.println("Transpose:");
+        printMatrix(csr.transpose().toDense().toIntArray());
+        System.out.println("A*x with x = [1, 1, 1, 1, 1]: " + Arrays.toString(csr.multiply(new double[] {1, 1, 1, 1, 1})));
+        CsrMatrix gram = csr.multiply(csr.transpose());
+        System.out.println("A*A^T (sparse x sparse), " + gram.nnz() + " nonzeros:");
+        printMatrix(gram.toDense().toIntArray());
+        boolean matches = Arrays.deepEquals(gram.toDense().toIntArray(),
+                                            multiplyMatrices(dense, transposeMatrix(dense)));
+        System.out.println("Matches multiplyMatrices(A, transposeMatrix(A)): " + matches);
+    }
+    
+    /**
+     * Memory and time of CSR against DenseMatrix at several densities:
+     * SpMV, transpose and row/column sums at size n, multiplication at size m
+     */
+    public static void sparseMatrixBenchmark(int n, int m, double[] densities) {
+        Random random = new Random(42);
+        System.out.printf("SpMV, transpose, sums: %d x %d; multiplication: %d x %d times %d x %d (ms)%n",
+                          n, n, m, m, m, m);
+        System.out.printf("%-8s %10s %10s %8s %8s %8s %8s %8s %8s %8s %8s %8s%n", "Density", "Dense MB", "CSR MB",
+                          "MV", "SpMV", "SpMV ||", "T", "CSR T", "Sums", "CSR sums", "DxD", "SxD");
+        for (double density : densities) {
+            DenseMatrix dense = randomSparse(n, n, density, random);
+            CsrMatrix csr = CsrMatrix.fromDense(dense);
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = random.nextInt(10);
+            }
+            
+            // Dense matrix-vector product
+            long start = System.nanoTime();
+            double[] expected = new double[n];
+            for (int i = 0; i < n; i++) {
+                double sum = 0;
+                for (int j = 0, base = i * n; j < n; j++) {
+                    sum += dense.data[base + j] * x[j];
+                }
+                expected[i] = sum;
+            }
+            double denseMv = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            double[] y = csr.multiply(x);
+            double spmv = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            double[] yParallel = csr.multiplyParallel(x);
+            double spmvParallel = (System.nanoTime() - start) / 1e6;
+            if (!Arrays.equals(expected, y) || !Arrays.equals(expected, yParallel)) {
+                throw new IllegalStateException("SpMV disagrees with the dense product");
+            }
+            
+            start = System.nanoTime();
+            DenseMatrix denseT = dense.transpose(false);
+            double denseTranspose = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            CsrMatrix csrT = csr.transpose();
+            double csrTranspose = (System.nanoTime() - start) / 1e6;
+            if (csrT.toDense().maxAbsDifference(denseT) != 0) {
+                throw new IllegalStateException("Sparse transpose disagrees");
+            }
+            
+            start = System.nanoTime();
+            double[] rowSums = new double[n];
+            double[] colSums = new double[n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0, base = i * n; j < n; j++) {
+                    rowSums[i] += dense.data[base + j];
+                    colSums[j] += dense.data[base + j];
+                }
+            }
+            double denseSums = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            double[] csrRowSums = csr.rowSums();
+            double[] csrColSums = csr.columnSums();
+            double csrSums = (System.nanoTime() - start) / 1e6;
+            if (!Arrays.equals(rowSums, csrRowSums) || !Arrays.equals(colSums, csrColSums)) {
+                throw new IllegalStateException("Sparse sums disagree");
+            }
+            
+            // Multiplication at the smaller size: dense tiled vs sparse × dense
+            DenseMatrix a = randomSparse(m, m, density, random);
+            DenseMatrix b = DenseMatrix.randomIntegers(m, m, 9, random);
+            start = System.nanoTime();
+            DenseMatrix product = a.multiply(b);
+            double denseMultiply = (System.nanoTime() - start) / 1e6;
+            CsrMatrix aSparse = CsrMatrix.fromDense(a);
+            start = System.nanoTime();
+            DenseMatrix sparseProduct = aSparse.multiply(b, false);
+            double sparseMultiply = (System.nanoTime() - start) / 1e6;
+            if (product.maxAbsDifference(sparseProduct) != 0) {
+                throw new IllegalStateException("Sparse x dense disagrees");
+            }
+            
+            System.out.printf("%-8s %10.1f %10.2f %8.1f %8.2f %8.2f %8.1f %8.2f %8.1f %8.2f %8.0f %8.1f%n",
+                              density * 100 + "%", 8.0 * n * n / 1e6, csr.memoryBytes() / 1e6, denseMv, spmv,
+                              spmvParallel, denseTranspose, csrTranspose, denseSums, csrSums, denseMultiply,
+                              sparseMultiply);
+        }
+    }
+    
+    // Dense matrix where each element is a small nonzero integer with the given probability
+    private static DenseMatrix randomSparse(int rows, int cols, double density, Random random) {
+        DenseMatrix matrix = new DenseMatrix(rows, cols);
+        for (int i = 0; i < matrix.data.length; i++) {
+            if (random.nextDouble() < density) {
+                matrix.data[i] = random.nextInt(9) + 1;
+            }
+        }
+        return matrix;
+    }
+    
     // ========== UTILITY METHODS ==========
     
     /**
@@ -610,6 +1753,18 @@ public class TwoDimensionalArrays {
  * - Multiplication: O(m×n×p) for m×n and n×p matrices
  * - Transpose: O(m×n)
  * - Search in sorted matrix: O(m+n)
+ * - Strassen multiplication: O(n^2.807) for n×n matrices
+ * 
+ * Performance Considerations:
+ * - A flat row-major array keeps each row contiguous; int[][] is an array of row objects
+ * - The i-k-j loop order walks rows of b and c sequentially instead of columns of b
+ * - Tiling keeps blocks of a, b and c in cache while they are reused
+ * - Rows of the result are independent, so row blocks parallelize without locks
+ * - Recursive (cache-oblivious) transpose swaps blocks in place: no second
+ *   matrix, and the blocks fit in cache at some depth whatever the cache size
+ * - Rotate 90° clockwise = transpose + reverse each row
+ * - Mostly-zero matrices belong in sparse formats: COO (triples) to build,
+ *   CSR (row pointers + sorted columns) to compute; work becomes O(nnz)
  * 
  * Real-world Applications:
  * - Image processing (pixels as 2D array)
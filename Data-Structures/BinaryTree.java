@@ -9,7 +9,18 @@
  * - Understand binary search tree properties and operations
  */
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * TreeNode class representing a node in binary tree
@@ -34,14 +45,14 @@ class TreeNode {
 /**
  * Binary Tree implementation
  */
-class BinaryTree {
+class SimpleBinaryTree {
     TreeNode root;
     
-    public BinaryTree() {
+    public SimpleBinaryTree() {
         this.root = null;
     }
     
-    public BinaryTree(int rootData) {
+    public SimpleBinaryTree(int rootData) {
         this.root = new TreeNode(rootData);
     }
     
@@ -162,6 +173,423 @@ class BinaryTree {
         }
     }
     
+    // ========== STREAMING ITERATORS ==========
+    
+    /**
+     * Inorder iterator with an explicit stack of the left spine.
+     * Never modifies the tree, so it can be abandoned at any point.
+     * Time Complexity: O(n) total, Space: O(h)
+     */
+    public PrimitiveIterator.OfInt inorderIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private TreeNode[] stack = new TreeNode[16];
+            private int depth;
+            private TreeNode current = root;
+            
+            @Override
+            public boolean hasNext() {
+                return current != null || depth > 0;
+            }
+            
+            @Override
+            public int nextInt() {
+                while (current != null) { // Push the left spine of the next subtree
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = current;
+                    current = current.left;
+                }
+                if (depth == 0) {
+                    throw new NoSuchElementException();
+                }
+                TreeNode node = stack[--depth];
+                stack[depth] = null;
+                current = node.right;
+                return node.data;
+            }
+        };
+    }
+    
+    /**
+     * Opt-in inorder iterator using Morris traversal: no stack, no allocation.
+     * Use it in try-with-resources (see MorrisInorderIterator).
+     * Time Complexity: O(n) total, Space: O(1)
+     */
+    public MorrisInorderIterator morrisInorderIterator() {
+        return new MorrisInorderIterator(root);
+    }
+    
+    /**
+     * Morris traversal temporarily threads the tree: a predecessor's null
+     * right link points back to its successor, and each thread is removed
+     * as the walk moves past it. Until the walk ends the tree has cycles,
+     * so don't read or modify it meanwhile. close() finishes the walk
+     * without emitting, which removes every remaining thread; stopping
+     * early without close() leaves the tree corrupted.
+     */
+    static final class MorrisInorderIterator implements PrimitiveIterator.OfInt, AutoCloseable {
+        private TreeNode current;
+        
+        private MorrisInorderIterator(TreeNode root) {
+            this.current = root;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return current != null; // Every node reached as current is still to be emitted
+        }
+        
+        @Override
+        public int nextInt() {
+            while (current != null) {
+                if (current.left == null) {
+                    int value = current.data;
+                    current = current.right;
+                    return value;
+                }
+                TreeNode predecessor = current.left;
+                while (predecessor.right != null && predecessor.right != current) {
+                    predecessor = predecessor.right;
+                }
+                if (predecessor.right == null) {
+                    predecessor.right = current; // Thread back to current, then go left
+                    current = current.left;
+                } else {
+                    predecessor.right = null;    // Left subtree done: remove the thread
+                    int value = current.data;
+                    current = current.right;
+                    return value;
+                }
+            }
+            throw new NoSuchElementException();
+        }
+        
+        /**
+         * Restore the tree by running the rest of the walk
+         * Time Complexity: O(remaining nodes)
+         */
+        @Override
+        public void close() {
+            while (current != null) {
+                nextInt();
+            }
+        }
+    }
+    
+    /**
+     * Preorder iterator with an explicit stack (grows only with tree height)
+     * Time Complexity: O(n) total, Space: O(h)
+     */
+    public PrimitiveIterator.OfInt preorderIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private TreeNode[] stack = new TreeNode[16];
+            private int depth = root == null ? 0 : push(root);
+            
+            private int push(TreeNode node) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                return depth;
+            }
+            
+            @Override
+            public boolean hasNext() {
+                return depth > 0;
+            }
+            
+            @Override
+            public int nextInt() {
+                if (depth == 0) {
+                    throw new NoSuchElementException();
+                }
+                TreeNode node = stack[--depth];
+                stack[depth] = null;
+                if (node.right != null) {
+                    push(node.right);
+                }
+                if (node.left != null) {
+                    push(node.left);
+                }
+                return node.data;
+            }
+        };
+    }
+    
+    /**
+     * Postorder iterator with one explicit stack: a node is emitted once
+     * its right subtree is done (it was the last node emitted) or empty
+     * Time Complexity: O(n) total, Space: O(h)
+     */
+    public PrimitiveIterator.OfInt postorderIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private TreeNode[] stack = new TreeNode[16];
+            private int depth;
+            private TreeNode current = root;
+            private TreeNode lastEmitted;
+            
+            @Override
+            public boolean hasNext() {
+                return current != null || depth > 0;
+            }
+            
+            @Override
+            public int nextInt() {
+                while (true) {
+                    if (current != null) {
+                        if (depth == stack.length) {
+                            stack = Arrays.copyOf(stack, depth * 2);
+                        }
+                        stack[depth++] = current;
+                        current = current.left;
+                    } else if (depth == 0) {
+                        throw new NoSuchElementException();
+                    } else {
+                        TreeNode top = stack[depth - 1];
+                        if (top.right != null && top.right != lastEmitted) {
+                            current = top.right;
+                        } else {
+                            stack[--depth] = null;
+                            lastEmitted = top;
+                            return top.data;
+                        }
+                    }
+                }
+            }
+        };
+    }
+    
+    /**
+     * Level order iterator backed by a ring buffer instead of a LinkedList
+     * queue. Pass the iterator back to levelOrderIterator(reuse) to
+     * traverse again without allocating a new buffer.
+     * Time Complexity: O(n) total, Space: O(widest level)
+     */
+    public LevelOrderIterator levelOrderIterator() {
+        return new LevelOrderIterator(root);
+    }
+    
+    public LevelOrderIterator levelOrderIterator(LevelOrderIterator reuse) {
+        reuse.reset(root);
+        return reuse;
+    }
+    
+    static final class LevelOrderIterator implements PrimitiveIterator.OfInt {
+        private TreeNode[] ring = new TreeNode[16]; // Power of two
+        private int head;
+        private int tail;
+        
+        LevelOrderIterator(TreeNode root) {
+            reset(root);
+        }
+        
+        void reset(TreeNode root) {
+            Arrays.fill(ring, null);
+            head = 0;
+            tail = 0;
+            if (root != null) {
+                offer(root);
+            }
+        }
+        
+        private void offer(TreeNode node) {
+            if (tail - head == ring.length) {
+                // Unroll the ring into a buffer twice the size
+                TreeNode[] larger = new TreeNode[ring.length * 2];
+                for (int i = 0; i < ring.length; i++) {
+                    larger[i] = ring[(head + i) & (ring.length - 1)];
+                }
+                tail -= head;
+                head = 0;
+                ring = larger;
+            }
+            ring[tail++ & (ring.length - 1)] = node;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return head != tail;
+        }
+        
+        @Override
+        public int nextInt() {
+            if (head == tail) {
+                throw new NoSuchElementException();
+            }
+            int slot = head++ & (ring.length - 1);
+            TreeNode node = ring[slot];
+            ring[slot] = null;
+            if (node.left != null) {
+                offer(node.left);
+            }
+            if (node.right != null) {
+                offer(node.right);
+            }
+            return node.data;
+        }
+    }
+    
+    /**
+     * Inorder Spliterator that splits at subtrees: the root's left subtree
+     * is handed off as the prefix, the root and right subtree stay, and so on
+     * recursively, so parallel streams divide the tree the way recursion would
+     */
+    public Spliterator.OfInt spliterator() {
+        return new InorderSpliterator(root, sizeEstimate());
+    }
+    
+    /**
+     * Size hint for spliterator(). Unknown (Long.MAX_VALUE, halved on every
+     * split) here, since size() would be an extra recursive O(n) walk that
+     * overflows the stack on deep trees; trees that track their size override it.
+     */
+    long sizeEstimate() {
+        return root == null ? 0 : Long.MAX_VALUE;
+    }
+    
+    /**
+     * Inorder IntStream; parallel streams split the tree at subtrees
+     */
+    public IntStream stream(boolean parallel) {
+        return StreamSupport.intStream(spliterator(), parallel);
+    }
+    
+    /**
+     * The remaining sequence is a list of segments, each either a single
+     * node or a whole subtree (inorder). The front segment may be partially
+     * consumed; its progress lives in an explicit stack.
+     */
+    static final class InorderSpliterator implements Spliterator.OfInt {
+        private TreeNode[] segments = new TreeNode[8];
+        private boolean[] single = new boolean[8];
+        private int head;
+        private int tail;
+        private TreeNode[] stack = new TreeNode[16]; // Traversal of the front subtree
+        private int depth;
+        private long estimate;
+        
+        InorderSpliterator(TreeNode root, long estimate) {
+            if (root != null) {
+                addSegment(root, false);
+            }
+            this.estimate = estimate;
+        }
+        
+        private InorderSpliterator(long estimate) {
+            this.estimate = estimate;
+        }
+        
+        private void addSegment(TreeNode node, boolean isSingle) {
+            if (tail == segments.length) {
+                segments = Arrays.copyOf(segments, tail * 2);
+                single = Arrays.copyOf(single, tail * 2);
+            }
+            segments[tail] = node;
+            single[tail++] = isSingle;
+        }
+        
+        private void pushLeftSpine(TreeNode node) {
+            for (; node != null; node = node.left) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+            }
+        }
+        
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (true) {
+                if (depth > 0) {
+                    TreeNode node = stack[--depth];
+                    stack[depth] = null;
+                    pushLeftSpine(node.right);
+                    action.accept(node.data);
+                    return true;
+                }
+                if (head == tail) {
+                    return false;
+                }
+                TreeNode segment = segments[head];
+                boolean isSingle = single[head];
+                segments[head++] = null;
+                if (isSingle) {
+                    action.accept(segment.data);
+                    return true;
+                }
+                pushLeftSpine(segment);
+            }
+        }
+        
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (tryAdvance(action)) {
+                // The loop body is tryAdvance; the JIT inlines it
+            }
+        }
+        
+        @Override
+        public Spliterator.OfInt trySplit() {
+            // Turn the in-progress traversal back into segments:
+            // each stack entry, top first, is "node, then its right subtree"
+            if (depth > 0) {
+                TreeNode[] pending = Arrays.copyOfRange(segments, head, tail);
+                boolean[] pendingSingle = Arrays.copyOfRange(single, head, tail);
+                head = 0;
+                tail = 0;
+                for (int i = depth - 1; i >= 0; i--) {
+                    addSegment(stack[i], true);
+                    if (stack[i].right != null) {
+                        addSegment(stack[i].right, false);
+                    }
+                    stack[i] = null;
+                }
+                depth = 0;
+                for (int i = 0; i < pending.length; i++) {
+                    addSegment(pending[i], pendingSingle[i]);
+                }
+            }
+            
+            // A lone subtree is opened up: left subtree, root, right subtree
+            if (tail - head == 1 && !single[head]) {
+                TreeNode node = segments[head];
+                head = 0;
+                tail = 0;
+                if (node.left != null) {
+                    addSegment(node.left, false);
+                }
+                addSegment(node, true);
+                if (node.right != null) {
+                    addSegment(node.right, false);
+                }
+            }
+            if (tail - head < 2) {
+                return null;
+            }
+            
+            int mid = head + (tail - head) / 2;
+            InorderSpliterator prefix = new InorderSpliterator(estimate >>> 1);
+            for (int i = head; i < mid; i++) {
+                prefix.addSegment(segments[i], single[i]);
+                segments[i] = null;
+            }
+            head = mid;
+            estimate -= prefix.estimate;
+            return prefix;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+    
     // ========== TREE PROPERTIES ==========
     
     /**
@@ -340,12 +768,12 @@ class BinaryTree {
     /**
      * Build tree from array (level order)
      */
-    public static BinaryTree fromArray(Integer[] arr) {
+    public static SimpleBinaryTree fromArray(Integer[] arr) {
         if (arr == null || arr.length == 0 || arr[0] == null) {
-            return new BinaryTree();
+            return new SimpleBinaryTree();
         }
         
-        BinaryTree tree = new BinaryTree();
+        SimpleBinaryTree tree = new SimpleBinaryTree();
         tree.root = new TreeNode(arr[0]);
         
         Queue<TreeNode> queue = new LinkedList<>();
@@ -377,7 +805,7 @@ class BinaryTree {
 /**
  * Binary Search Tree implementation
  */
-class BinarySearchTree extends BinaryTree {
+class BinarySearchTree extends SimpleBinaryTree {
     
     /**
      * Insert value maintaining BST property
@@ -492,116 +920,1691 @@ class BinarySearchTree extends BinaryTree {
     }
 }
 
-public class BinaryTree {
+/**
+ * Tree node with the extra bookkeeping of balanced trees:
+ * subtree size (for rank/select), height (AVL) and color (red-black)
+ */
+class RankedTreeNode extends TreeNode {
+    int size = 1;
+    int height;
+    boolean red = true;
     
-    public static void main(String[] args) {
-        
-        System.out.println("=== Binary Tree Implementation and Operations ===\n");
-        
-        // ========== BINARY TREE DEMO ==========
-        
-        System.out.println("=== Binary Tree Demo ===");
-        binaryTreeDemo();
-        
-        // ========== BINARY SEARCH TREE DEMO ==========
-        
-        System.out.println("\n=== Binary Search Tree Demo ===");
-        binarySearchTreeDemo();
-        
-        // ========== TREE CONSTRUCTION DEMO ==========
-        
-        System.out.println("\n=== Tree Construction Demo ===");
-        treeConstructionDemo();
-        
-        System.out.println("\n=== Binary Tree lesson completed! ===");
+    public RankedTreeNode(int data) {
+        super(data);
+    }
+}
+
+/**
+ * Base of the self-balancing search trees. Keeps subtree sizes in every
+ * node so size() is O(1) and rank/select are O(log n). All operations are
+ * iterative: instead of parent pointers, the path from the root is kept in
+ * an array, and rotations return the new subtree root for the caller to
+ * re-link.
+ */
+abstract class OrderStatisticTree extends BinarySearchTree {
+    
+    // Red-black height <= 2 log2(n + 1), AVL height < 1.45 log2(n + 2): both < 64 for int sizes
+    static final int MAX_DEPTH = 96;
+    
+    final RankedTreeNode[] path = new RankedTreeNode[MAX_DEPTH];
+    
+    static int size(TreeNode node) {
+        return node == null ? 0 : ((RankedTreeNode) node).size;
+    }
+    
+    static void updateSize(RankedTreeNode node) {
+        node.size = 1 + size(node.left) + size(node.right);
     }
     
     /**
-     * Demonstrates binary tree operations
+     * Search iteratively (O(log n) guaranteed by the balance)
      */
-    public static void binaryTreeDemo() {
-        
-        // Create a sample binary tree
-        //       1
-        //      / \
-        //     2   3
-        //    / \   \
-        //   4   5   6
-        
-        BinaryTree tree = new BinaryTree(1);
-        tree.root.left = new TreeNode(2);
-        tree.root.right = new TreeNode(3);
-        tree.root.left.left = new TreeNode(4);
-        tree.root.left.right = new TreeNode(5);
-        tree.root.right.right = new TreeNode(6);
-        
-        System.out.println("Sample Binary Tree:");
-        System.out.println("       1");
-        System.out.println("      / \\");
-        System.out.println("     2   3");
-        System.out.println("    / \\   \\");
-        System.out.println("   4   5   6");
-        System.out.println();
-        
-        // Tree traversals
-        tree.inorderTraversal();
-        tree.preorderTraversal();
-        tree.postorderTraversal();
-        tree.levelOrderTraversal();
-        
-        System.out.println();
-        tree.levelOrderWithLevels();
-        
-        // Tree properties
-        System.out.println("\n--- Tree Properties ---");
-        System.out.println("Height: " + tree.height());
-        System.out.println("Size: " + tree.size());
-        System.out.println("Leaf count: " + tree.countLeaves());
-        System.out.println("Maximum value: " + tree.findMax());
-        System.out.println("Minimum value: " + tree.findMin());
-        System.out.println("Is balanced: " + tree.isBalanced());
-        
-        // Search operations
-        System.out.println("\n--- Search Operations ---");
-        int[] searchValues = {1, 5, 7, 3};
-        for (int value : searchValues) {
-            boolean found = tree.search(value);
-            System.out.println("Search " + value + ": " + found);
+    @Override
+    public boolean searchBST(int value) {
+        TreeNode node = root;
+        while (node != null) {
+            if (value == node.data) {
+                return true;
+            }
+            node = value < node.data ? node.left : node.right;
         }
+        return false;
     }
     
     /**
-     * Demonstrates binary search tree operations
+     * Time Complexity: O(1)
      */
-    public static void binarySearchTreeDemo() {
-        
-        BinarySearchTree bst = new BinarySearchTree();
-        
-        // Insert values
-        int[] values = {50, 30, 70, 20, 40, 60, 80};
-        System.out.println("Inserting values: " + Arrays.toString(values));
-        
-        for (int value : values) {
-            bst.insert(value);
+    @Override
+    public int size() {
+        return size(root);
+    }
+    
+    @Override
+    long sizeEstimate() {
+        return size();
+    }
+    
+    /**
+     * Number of values smaller than value
+     * Time Complexity: O(log n)
+     */
+    public int rank(int value) {
+        int rank = 0;
+        TreeNode node = root;
+        while (node != null) {
+            if (value <= node.data) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
         }
-        
-        System.out.println("\nBST after insertions:");
-        System.out.println("       50");
-        System.out.println("      /  \\");
-        System.out.println("    30    70");
-        System.out.println("   / \\   / \\");
-        System.out.println("  20 40 60 80");
-        System.out.println();
-        
-        // Traversals
-        bst.inorderTraversal(); // Should be sorted
-        bst.preorderTraversal();
-        bst.levelOrderTraversal();
-        
-        // BST properties
-        System.out.println("\n--- BST Properties ---");
-        System.out.println("Height: " + bst.height());
-        System.out.println("Size: " + bst.size());
+        return rank;
+    }
+    
+    /**
+     * The k-th smallest value (k = 0 is the minimum)
+     * Time Complexity: O(log n)
+     */
+    public int select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("k = " + k + ", size = " + size());
+        }
+        TreeNode node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.data;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+    
+    /**
+     * Replace child oldChild of the node at path[depth - 1] (or the root) with newChild
+     */
+    void relink(int depth, TreeNode oldChild, TreeNode newChild) {
+        if (depth == 0) {
+            root = newChild;
+        } else if (path[depth - 1].left == oldChild) {
+            path[depth - 1].left = newChild;
+        } else {
+            path[depth - 1].right = newChild;
+        }
+    }
+    
+    /**
+     * Level-order placement would link a plain TreeNode and break both the
+     * search order and the subtree sizes; use insert() instead
+     */
+    @Override
+    public void insertLevelOrder(int data) {
+        throw new UnsupportedOperationException("insertLevelOrder would unbalance the tree; use insert()");
+    }
+    
+    /**
+     * BST order plus consistent subtree sizes plus the subclass's balance rule
+     */
+    @Override
+    public boolean isValidBST() {
+        return isOrdered(root, Long.MIN_VALUE, Long.MAX_VALUE) && sizesValid(root) && isBalancedTree();
+    }
+    
+    /**
+     * Strict order check with long bounds, so Integer.MIN_VALUE and
+     * Integer.MAX_VALUE are valid keys (the int bounds of the base check
+     * reject them). Recursion depth is the tree height: O(log n) here.
+     */
+    private static boolean isOrdered(TreeNode node, long min, long max) {
+        if (node == null) {
+            return true;
+        }
+        if (node.data <= min || node.data >= max) {
+            return false;
+        }
+        return isOrdered(node.left, min, node.data) && isOrdered(node.right, node.data, max);
+    }
+    
+    private boolean sizesValid(TreeNode node) {
+        if (node == null) {
+            return true;
+        }
+        return size(node) == 1 + size(node.left) + size(node.right) && sizesValid(node.left) && sizesValid(node.right);
+    }
+    
+    abstract boolean isBalancedTree();
+}
+
+/**
+ * AVL Tree - heights of sibling subtrees differ by at most one.
+ * Stricter balance than red-black: faster lookups, more rotations on updates.
+ */
+class AVLTree extends OrderStatisticTree {
+    
+    static int height(TreeNode node) {
+        return node == null ? -1 : ((RankedTreeNode) node).height;
+    }
+    
+    private static void update(RankedTreeNode node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        updateSize(node);
+    }
+    
+    private static RankedTreeNode rotateRight(RankedTreeNode node) {
+        RankedTreeNode pivot = (RankedTreeNode) node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    private static RankedTreeNode rotateLeft(RankedTreeNode node) {
+        RankedTreeNode pivot = (RankedTreeNode) node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    /**
+     * Restore the AVL property at node; returns the new subtree root
+     */
+    private static RankedTreeNode rebalance(RankedTreeNode node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft((RankedTreeNode) node.left); // Left-right case
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight((RankedTreeNode) node.right); // Right-left case
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+    
+    /**
+     * Walk the recorded path bottom-up, rebalancing every node on it
+     */
+    private void retrace(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            RankedTreeNode node = path[i];
+            RankedTreeNode balanced = rebalance(node);
+            if (balanced != node) {
+                relink(i, node, balanced);
+            }
+        }
+    }
+    
+    /**
+     * Time Complexity: O(log n)
+     */
+    @Override
+    public void insert(int data) {
+        int depth = 0;
+        TreeNode node = root;
+        while (node != null) {
+            if (data == node.data) {
+                return; // Ignore duplicates
+            }
+            path[depth++] = (RankedTreeNode) node;
+            node = data < node.data ? node.left : node.right;
+        }
+        RankedTreeNode leaf = new RankedTreeNode(data);
+        if (depth == 0) {
+            root = leaf;
+        } else if (data < path[depth - 1].data) {
+            path[depth - 1].left = leaf;
+        } else {
+            path[depth - 1].right = leaf;
+        }
+        retrace(depth);
+    }
+    
+    /**
+     * Time Complexity: O(log n)
+     */
+    @Override
+    public void delete(int data) {
+        int depth = 0;
+        TreeNode node = root;
+        while (node != null && node.data != data) {
+            path[depth++] = (RankedTreeNode) node;
+            node = data < node.data ? node.left : node.right;
+        }
+        if (node == null) {
+            return;
+        }
+        
+        if (node.left != null && node.right != null) {
+            // Two children: take the successor's value, then unlink the successor
+            path[depth++] = (RankedTreeNode) node;
+            TreeNode successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = (RankedTreeNode) successor;
+                successor = successor.left;
+            }
+            node.data = successor.data;
+            node = successor;
+        }
+        relink(depth, node, node.left != null ? node.left : node.right);
+        retrace(depth);
+    }
+    
+    @Override
+    boolean isBalancedTree() {
+        return avlValid(root);
+    }
+    
+    private boolean avlValid(TreeNode node) {
+        if (node == null) {
+            return true;
+        }
+        int balance = height(node.left) - height(node.right);
+        return Math.abs(balance) <= 1 && height(node) == 1 + Math.max(height(node.left), height(node.right)) &&
+               avlValid(node.left) && avlValid(node.right);
+    }
+}
+
+/**
+ * Red-Black Tree - every path from a node to its leaves has the same
+ * number of black nodes and no red node has a red child.
+ * Height is at most 2 log2(n + 1); updates need at most 3 rotations.
+ */
+class RedBlackTree extends OrderStatisticTree {
+    
+    private static boolean isRed(TreeNode node) {
+        return node != null && ((RankedTreeNode) node).red;
+    }
+    
+    private static RankedTreeNode rotateLeft(RankedTreeNode node) {
+        RankedTreeNode pivot = (RankedTreeNode) node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        pivot.size = node.size;
+        updateSize(node);
+        return pivot;
+    }
+    
+    private static RankedTreeNode rotateRight(RankedTreeNode node) {
+        RankedTreeNode pivot = (RankedTreeNode) node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        pivot.size = node.size;
+        updateSize(node);
+        return pivot;
+    }
+    
+    /**
+     * Time Complexity: O(log n)
+     */
+    @Override
+    public void insert(int data) {
+        int depth = 0;
+        TreeNode current = root;
+        while (current != null) {
+            if (data == current.data) {
+                return; // Ignore duplicates
+            }
+            path[depth++] = (RankedTreeNode) current;
+            current = data < current.data ? current.left : current.right;
+        }
+        RankedTreeNode node = new RankedTreeNode(data);
+        if (depth == 0) {
+            root = node;
+        } else if (data < path[depth - 1].data) {
+            path[depth - 1].left = node;
+        } else {
+            path[depth - 1].right = node;
+        }
+        for (int i = 0; i < depth; i++) {
+            path[i].size++;
+        }
+        
+        // Fix red-red violations; path[depth - 1] is the parent of node
+        while (depth >= 2 && path[depth - 1].red) {
+            RankedTreeNode parent = path[depth - 1];
+            RankedTreeNode grandparent = path[depth - 2];
+            boolean parentIsLeft = grandparent.left == parent;
+            TreeNode uncle = parentIsLeft ? grandparent.right : grandparent.left;
+            
+            if (isRed(uncle)) {
+                // Recolor and continue two levels up
+                parent.red = false;
+                ((RankedTreeNode) uncle).red = false;
+                grandparent.red = true;
+                node = grandparent;
+                depth -= 2;
+                continue;
+            }
+            
+            if (parentIsLeft) {
+                if (parent.right == node) {
+                    grandparent.left = rotateLeft(parent);
+                    parent = node;
+                }
+                parent.red = false;
+                grandparent.red = true;
+                relink(depth - 2, grandparent, rotateRight(grandparent));
+            } else {
+                if (parent.left == node) {
+                    grandparent.right = rotateRight(parent);
+                    parent = node;
+                }
+                parent.red = false;
+                grandparent.red = true;
+                relink(depth - 2, grandparent, rotateLeft(grandparent));
+            }
+            break;
+        }
+        ((RankedTreeNode) root).red = false;
+    }
+    
+    /**
+     * Time Complexity: O(log n)
+     */
+    @Override
+    public void delete(int data) {
+        int depth = 0;
+        TreeNode node = root;
+        while (node != null && node.data != data) {
+            path[depth++] = (RankedTreeNode) node;
+            node = data < node.data ? node.left : node.right;
+        }
+        if (node == null) {
+            return;
+        }
+        if (node.left != null && node.right != null) {
+            path[depth++] = (RankedTreeNode) node;
+            TreeNode successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = (RankedTreeNode) successor;
+                successor = successor.left;
+            }
+            node.data = successor.data;
+            node = successor;
+        }
+        
+        // node has at most one child, which takes its place
+        TreeNode child = node.left != null ? node.left : node.right;
+        boolean childIsLeft = depth > 0 && path[depth - 1].left == node;
+        relink(depth, node, child);
+        for (int i = 0; i < depth; i++) {
+            path[i].size--;
+        }
+        if (((RankedTreeNode) node).red) {
+            return; // Removing a red node keeps every black height
+        }
+        if (isRed(child)) {
+            ((RankedTreeNode) child).red = false;
+            return;
+        }
+        
+        // child's position is "double black": fix it, moving up the path
+        while (depth > 0) {
+            RankedTreeNode parent = path[depth - 1];
+            if (childIsLeft) {
+                RankedTreeNode sibling = (RankedTreeNode) parent.right;
+                if (sibling.red) {
+                    // Red sibling: rotate so the sibling is black
+                    sibling.red = false;
+                    parent.red = true;
+                    relink(depth - 1, parent, rotateLeft(parent));
+                    path[depth - 1] = sibling;
+                    path[depth++] = parent;
+                    sibling = (RankedTreeNode) parent.right;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.red = true;
+                    child = parent;
+                    depth--;
+                    if (parent.red) {
+                        break;
+                    }
+                    childIsLeft = depth > 0 && path[depth - 1].left == parent;
+                    continue;
+                }
+                if (!isRed(sibling.right)) {
+                    ((RankedTreeNode) sibling.left).red = false;
+                    sibling.red = true;
+                    sibling = rotateRight(sibling);
+                    parent.right = sibling;
+                }
+                sibling.red = parent.red;
+                parent.red = false;
+                ((RankedTreeNode) sibling.right).red = false;
+                relink(depth - 1, parent, rotateLeft(parent));
+                child = null;
+                break;
+            } else {
+                RankedTreeNode sibling = (RankedTreeNode) parent.left;
+                if (sibling.red) {
+                    sibling.red = false;
+                    parent.red = true;
+                    relink(depth - 1, parent, rotateRight(parent));
+                    path[depth - 1] = sibling;
+                    path[depth++] = parent;
+                    sibling = (RankedTreeNode) parent.left;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.red = true;
+                    child = parent;
+                    depth--;
+                    if (parent.red) {
+                        break;
+                    }
+                    childIsLeft = depth > 0 && path[depth - 1].left == parent;
+                    continue;
+                }
+                if (!isRed(sibling.left)) {
+                    ((RankedTreeNode) sibling.right).red = false;
+                    sibling.red = true;
+                    sibling = rotateLeft(sibling);
+                    parent.left = sibling;
+                }
+                sibling.red = parent.red;
+                parent.red = false;
+                ((RankedTreeNode) sibling.left).red = false;
+                relink(depth - 1, parent, rotateRight(parent));
+                child = null;
+                break;
+            }
+        }
+        if (child != null) {
+            ((RankedTreeNode) child).red = false;
+        }
+        if (root != null) {
+            ((RankedTreeNode) root).red = false;
+        }
+    }
+    
+    @Override
+    boolean isBalancedTree() {
+        return !isRed(root) && blackHeight(root) >= 0;
+    }
+    
+    /**
+     * Black height of the subtree, or -1 if a rule is broken below node
+     */
+    private int blackHeight(TreeNode node) {
+        if (node == null) {
+            return 0;
+        }
+        if (isRed(node) && (isRed(node.left) || isRed(node.right))) {
+            return -1;
+        }
+        int left = blackHeight(node.left);
+        int right = blackHeight(node.right);
+        if (left < 0 || left != right) {
+            return -1;
+        }
+        return left + (isRed(node) ? 0 : 1);
+    }
+}
+
+/**
+ * Arena Binary Tree - nodes live in parallel int[] arrays (data, left, right)
+ * and are addressed by int ids instead of references. Three arrays are three
+ * objects for the GC to mark, however many nodes the tree holds.
+ * Deleted ids go on a free list threaded through left[] and are reused.
+ * The BST operations keep the same semantics as BinarySearchTree.
+ */
+class ArenaBinaryTree {
+    
+    static final int NIL = -1;
+    private static final int FREED = -2;           // right[id] of an id on the free list
+    private static final int MAGIC = 0x41524E54;   // "ARNT"
+    private static final int HEADER_INTS = 5;      // magic, used, size, root, freeHead
+    
+    private int[] data;
+    private int[] left;
+    private int[] right;
+    private int used;            // Ids 0..used-1 have been handed out
+    private int size;            // Live nodes
+    private int root = NIL;
+    private int freeHead = NIL;
+    private int[] stack = new int[64];
+    
+    public ArenaBinaryTree() {
+        this(16);
+    }
+    
+    public ArenaBinaryTree(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        data = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+    
+    // ========== NODE ALLOCATION ==========
+    
+    /**
+     * Allocate a detached node, reusing a freed id when there is one
+     * Time Complexity: O(1) amortized
+     */
+    public int newNode(int value) {
+        int id;
+        if (freeHead != NIL) {
+            id = freeHead;
+            freeHead = left[id];
+        } else {
+            if (used == data.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) used * 2);
+                if (capacity == used) {
+                    throw new IllegalStateException("Arena is full");
+                }
+                data = Arrays.copyOf(data, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+            }
+            id = used++;
+        }
+        data[id] = value;
+        left[id] = NIL;
+        right[id] = NIL;
+        size++;
+        return id;
+    }
+    
+    /**
+     * Return a node's id to the free list (the caller unlinks it first)
+     */
+    public void freeNode(int id) {
+        checkLive(id);
+        left[id] = freeHead;
+        right[id] = FREED;
+        freeHead = id;
+        size--;
+    }
+    
+    private void checkLive(int id) {
+        if (id < 0 || id >= used || right[id] == FREED) {
+            throw new IllegalArgumentException("Not a live node: " + id);
+        }
+    }
+    
+    public int root() { return root; }
+    public int data(int id) { return data[id]; }
+    public int left(int id) { return left[id]; }
+    public int right(int id) { return right[id]; }
+    public int size() { return size; }
+    public int capacity() { return data.length; }
+    
+    public void setRoot(int id) { root = id; }
+    public void setLeft(int parent, int child) { left[parent] = child; }
+    public void setRight(int parent, int child) { right[parent] = child; }
+    
+    // ========== CONSTRUCTION ==========
+    
+    /**
+     * Build tree from array (level order, same layout as SimpleBinaryTree.fromArray)
+     * straight into the arena. The k-th non-null entry becomes id k and its
+     * children sit at arr[2k + 1] and arr[2k + 2], so no queue is needed.
+     * Time Complexity: O(n)
+     */
+    public static ArenaBinaryTree fromArray(Integer[] arr) {
+        int count = 0;
+        if (arr != null && arr.length > 0 && arr[0] != null) {
+            for (Integer value : arr) {
+                count += value != null ? 1 : 0;
+            }
+        }
+        ArenaBinaryTree tree = new ArenaBinaryTree(count);
+        if (count == 0) {
+            return tree;
+        }
+        
+        tree.root = tree.newNode(arr[0]);
+        for (int i = 1; i < arr.length; i++) {
+            int parent = (i - 1) / 2;
+            if (parent >= tree.used) {
+                break; // Remaining entries hang below missing nodes, as in SimpleBinaryTree.fromArray
+            }
+            int child = arr[i] != null ? tree.newNode(arr[i]) : NIL;
+            if ((i & 1) == 1) {
+                tree.left[parent] = child;
+            } else {
+                tree.right[parent] = child;
+            }
+        }
+        return tree;
+    }
+    
+    // ========== BST OPERATIONS ==========
+    
+    /**
+     * Insert value maintaining BST property (duplicates are ignored)
+     * Time Complexity: O(h)
+     */
+    public void insert(int value) {
+        if (root == NIL) {
+            root = newNode(value);
+            return;
+        }
+        int node = root;
+        while (true) {
+            if (value < data[node]) {
+                if (left[node] == NIL) {
+                    int id = newNode(value); // May grow the arrays: allocate before indexing left[]
+                    left[node] = id;
+                    return;
+                }
+                node = left[node];
+            } else if (value > data[node]) {
+                if (right[node] == NIL) {
+                    int id = newNode(value);
+                    right[node] = id;
+                    return;
+                }
+                node = right[node];
+            } else {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Search for value in BST
+     * Time Complexity: O(h)
+     */
+    public boolean contains(int value) {
+        int node = root;
+        while (node != NIL && data[node] != value) {
+            node = value < data[node] ? left[node] : right[node];
+        }
+        return node != NIL;
+    }
+    
+    /**
+     * Delete value from BST; the removed id goes on the free list
+     * Time Complexity: O(h)
+     */
+    public void delete(int value) {
+        int parent = NIL;
+        int node = root;
+        while (node != NIL && data[node] != value) {
+            parent = node;
+            node = value < data[node] ? left[node] : right[node];
+        }
+        if (node == NIL) {
+            return;
+        }
+        
+        if (left[node] != NIL && right[node] != NIL) {
+            // Two children: copy the inorder successor up, then remove the successor
+            int successorParent = node;
+            int successor = right[node];
+            while (left[successor] != NIL) {
+                successorParent = successor;
+                successor = left[successor];
+            }
+            data[node] = data[successor];
+            parent = successorParent;
+            node = successor;
+        }
+        
+        int child = left[node] != NIL ? left[node] : right[node];
+        if (parent == NIL) {
+            root = child;
+        } else if (left[parent] == node) {
+            left[parent] = child;
+        } else {
+            right[parent] = child;
+        }
+        freeNode(node);
+    }
+    
+    // ========== TRAVERSAL ==========
+    
+    /**
+     * Inorder traversal with an explicit int stack of ids
+     * Time Complexity: O(n), Space: O(h)
+     */
+    public void forEachInorder(IntConsumer action) {
+        int depth = 0;
+        int node = root;
+        while (node != NIL || depth > 0) {
+            while (node != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+            action.accept(data[node]);
+            node = right[node];
+        }
+    }
+    
+    /**
+     * Height of the tree, iteratively (level by level over an id queue);
+     * -1 for an empty tree, as in SimpleBinaryTree
+     * Time Complexity: O(n)
+     */
+    public int height() {
+        if (root == NIL) {
+            return -1;
+        }
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        int height = -1;
+        while (head < tail) {
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int node = queue[head++];
+                if (left[node] != NIL) {
+                    queue[tail++] = left[node];
+                }
+                if (right[node] != NIL) {
+                    queue[tail++] = right[node];
+                }
+            }
+            height++;
+        }
+        return height;
+    }
+    
+    /**
+     * Copy into a reference-based SimpleBinaryTree (to reuse its printing methods)
+     * Time Complexity: O(n)
+     */
+    public SimpleBinaryTree toBinaryTree() {
+        SimpleBinaryTree tree = new SimpleBinaryTree();
+        if (root == NIL) {
+            return tree;
+        }
+        TreeNode[] nodes = new TreeNode[used];
+        for (int id = 0; id < used; id++) {
+            if (right[id] != FREED) {
+                nodes[id] = new TreeNode(data[id]);
+            }
+        }
+        for (int id = 0; id < used; id++) {
+            if (nodes[id] != null) {
+                nodes[id].left = left[id] == NIL ? null : nodes[left[id]];
+                nodes[id].right = right[id] == NIL ? null : nodes[right[id]];
+            }
+        }
+        tree.root = nodes[root];
+        return tree;
+    }
+    
+    // ========== SNAPSHOTS ==========
+    
+    /**
+     * Deep copy of the arenas: three array copies, no per-node work
+     * Time Complexity: O(n)
+     */
+    public ArenaBinaryTree snapshot() {
+        ArenaBinaryTree copy = new ArenaBinaryTree(used);
+        System.arraycopy(data, 0, copy.data, 0, used);
+        System.arraycopy(left, 0, copy.left, 0, used);
+        System.arraycopy(right, 0, copy.right, 0, used);
+        copy.used = used;
+        copy.size = size;
+        copy.root = root;
+        copy.freeHead = freeHead;
+        return copy;
+    }
+    
+    /**
+     * Write the header and the used part of the three arenas with one
+     * gathering write (freed ids included, so ids stay valid after loading)
+     * Time Complexity: O(n)
+     */
+    public void saveTo(Path path) throws IOException {
+        if (used > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IOException("Arena too large for a single buffer per array: " + used + " ids");
+        }
+        ByteBuffer[] buffers = {
+            ByteBuffer.allocateDirect(HEADER_INTS * Integer.BYTES),
+            ByteBuffer.allocateDirect(used * Integer.BYTES),
+            ByteBuffer.allocateDirect(used * Integer.BYTES),
+            ByteBuffer.allocateDirect(used * Integer.BYTES)
+        };
+        buffers[0].asIntBuffer().put(new int[] {MAGIC, used, size, root, freeHead});
+        buffers[1].asIntBuffer().put(data, 0, used);
+        buffers[2].asIntBuffer().put(left, 0, used);
+        buffers[3].asIntBuffer().put(right, 0, used);
+        
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            long remaining = HEADER_INTS * Integer.BYTES + 3L * used * Integer.BYTES;
+            while (remaining > 0) {
+                remaining -= channel.write(buffers); // Loops only on a short write
+            }
+        }
+    }
+    
+    /**
+     * Read a tree written by saveTo
+     * Time Complexity: O(n)
+     */
+    public static ArenaBinaryTree loadFrom(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES);
+            readFully(channel, header);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not an arena tree snapshot: " + path);
+            }
+            int used = header.getInt(4);
+            if (used < 0 || channel.size() != HEADER_INTS * Integer.BYTES + 3L * used * Integer.BYTES) {
+                throw new IOException("Truncated or corrupt arena tree snapshot: " + path);
+            }
+            
+            ArenaBinaryTree tree = new ArenaBinaryTree(used);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(used * Integer.BYTES);
+            for (int[] arena : new int[][] {tree.data, tree.left, tree.right}) {
+                buffer.clear();
+                readFully(channel, buffer);
+                buffer.asIntBuffer().get(arena, 0, used);
+            }
+            tree.used = used;
+            tree.size = header.getInt(8);
+            tree.root = header.getInt(12);
+            tree.freeHead = header.getInt(16);
+            return tree;
+        }
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        buffer.flip();
+    }
+    
+    /**
+     * Check the BST property and that size matches the reachable nodes
+     */
+    public boolean isValidBST() {
+        long[] previous = {Long.MIN_VALUE};
+        int[] visited = {0};
+        boolean[] ordered = {true};
+        forEachInorder(value -> {
+            ordered[0] &= value > previous[0];
+            previous[0] = value;
+            visited[0]++;
+        });
+        return ordered[0] && visited[0] == size;
+    }
+}
+
+/**
+ * Callback for key/value pairs (avoids boxing in range scans)
+ */
+interface IntIntConsumer {
+    void accept(int key, int value);
+}
+
+/**
+ * B+ Tree - ordered int to int map built from wide, array-packed nodes.
+ * Every node holds up to nodeCapacity keys in one int[], so a lookup reads
+ * a few contiguous cache lines per level instead of one pointer per level
+ * (16 ints fill a 64-byte cache line; the default of 64 keys is 4 lines).
+ * All values live in the leaves, which are linked for range scans.
+ * All operations are iterative; the height stays O(log_B n).
+ */
+class IntBPlusTree {
+    
+    static final int DEFAULT_CAPACITY = 64;
+    private static final int MAX_HEIGHT = 32;
+    
+    abstract static class Node {
+        final int[] keys;
+        int count;
+        
+        Node(int capacity) {
+            this.keys = new int[capacity];
+        }
+    }
+    
+    static final class Leaf extends Node {
+        final int[] values;
+        Leaf next;
+        
+        Leaf(int capacity) {
+            super(capacity);
+            this.values = new int[capacity];
+        }
+    }
+    
+    /**
+     * keys[i] separates children[i] (keys < keys[i]) from children[i + 1] (keys >= keys[i])
+     */
+    static final class Internal extends Node {
+        final Node[] children;
+        
+        Internal(int capacity) {
+            super(capacity);
+            this.children = new Node[capacity + 1];
+        }
+    }
+    
+    private final int capacity;
+    private final int minKeys;
+    private final int missingValue;
+    private Node root;
+    private int size;
+    private int height; // Number of internal levels
+    
+    // Reusable path from root to leaf (not thread-safe, like TreeMap)
+    private final Internal[] pathNodes = new Internal[MAX_HEIGHT];
+    private final int[] pathIndexes = new int[MAX_HEIGHT];
+    
+    // Scratch space for splitting a full internal node
+    private final int[] splitKeys;
+    private final Node[] splitChildren;
+    
+    public IntBPlusTree() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+    
+    /**
+     * @param nodeCapacity keys per node (16 per 64-byte cache line), at least 4
+     * @param missingValue returned by get() for absent keys
+     */
+    public IntBPlusTree(int nodeCapacity, int missingValue) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("Node capacity must be at least 4");
+        }
+        this.capacity = nodeCapacity;
+        this.minKeys = nodeCapacity / 2;
+        this.missingValue = missingValue;
+        this.splitKeys = new int[nodeCapacity + 1];
+        this.splitChildren = new Node[nodeCapacity + 2];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Levels from root to leaves (0 for an empty tree)
+     */
+    public int height() {
+        return root == null ? 0 : height + 1;
+    }
+    
+    // ========== LOOKUP ==========
+    
+    /**
+     * Time Complexity: O(log n)
+     */
+    public int get(int key) {
+        Leaf leaf = findLeaf(key);
+        if (leaf == null) {
+            return missingValue;
+        }
+        int pos = lowerBound(leaf.keys, leaf.count, key);
+        return pos < leaf.count && leaf.keys[pos] == key ? leaf.values[pos] : missingValue;
+    }
+    
+    /**
+     * Time Complexity: O(log n)
+     */
+    public boolean containsKey(int key) {
+        Leaf leaf = findLeaf(key);
+        if (leaf == null) {
+            return false;
+        }
+        int pos = lowerBound(leaf.keys, leaf.count, key);
+        return pos < leaf.count && leaf.keys[pos] == key;
+    }
+    
+    private Leaf findLeaf(int key) {
+        Node node = root;
+        while (node instanceof Internal) {
+            Internal internal = (Internal) node;
+            node = internal.children[upperBound(internal.keys, internal.count, key)];
+        }
+        return (Leaf) node;
+    }
+    
+    /**
+     * Calls consumer for every key in [fromInclusive, toExclusive) in ascending
+     * order, walking the leaf chain. Returns the number of entries visited.
+     * Time Complexity: O(log n + k)
+     */
+    public int scan(int fromInclusive, int toExclusive, IntIntConsumer consumer) {
+        Leaf leaf = findLeaf(fromInclusive);
+        if (leaf == null) {
+            return 0;
+        }
+        int visited = 0;
+        int pos = lowerBound(leaf.keys, leaf.count, fromInclusive);
+        while (leaf != null) {
+            for (; pos < leaf.count; pos++) {
+                if (leaf.keys[pos] >= toExclusive) {
+                    return visited;
+                }
+                consumer.accept(leaf.keys[pos], leaf.values[pos]);
+                visited++;
+            }
+            leaf = leaf.next;
+            pos = 0;
+        }
+        return visited;
+    }
+    
+    public int firstKey() {
+        if (root == null) {
+            throw new NoSuchElementException("Tree is empty");
+        }
+        Node node = root;
+        while (node instanceof Internal) {
+            node = ((Internal) node).children[0];
+        }
+        return node.keys[0];
+    }
+    
+    public int lastKey() {
+        if (root == null) {
+            throw new NoSuchElementException("Tree is empty");
+        }
+        Node node = root;
+        while (node instanceof Internal) {
+            node = ((Internal) node).children[node.count];
+        }
+        return node.keys[node.count - 1];
+    }
+    
+    // ========== INSERT ==========
+    
+    /**
+     * Insert or replace. Returns true if the key was new.
+     * Time Complexity: O(log n)
+     */
+    public boolean put(int key, int value) {
+        if (root == null) {
+            Leaf leaf = new Leaf(capacity);
+            leaf.keys[0] = key;
+            leaf.values[0] = value;
+            leaf.count = 1;
+            root = leaf;
+            size = 1;
+            return true;
+        }
+        
+        Leaf leaf = descend(key);
+        int pos = lowerBound(leaf.keys, leaf.count, key);
+        if (pos < leaf.count && leaf.keys[pos] == key) {
+            leaf.values[pos] = value;
+            return false;
+        }
+        size++;
+        
+        if (leaf.count < capacity) {
+            insertIntoLeaf(leaf, pos, key, value);
+            return true;
+        }
+        
+        // Split the full leaf: the upper half moves to a new right sibling
+        Leaf right = new Leaf(capacity);
+        int half = capacity / 2;
+        right.count = capacity - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.count);
+        System.arraycopy(leaf.values, half, right.values, 0, right.count);
+        leaf.count = half;
+        right.next = leaf.next;
+        leaf.next = right;
+        if (pos <= half) {
+            insertIntoLeaf(leaf, pos, key, value);
+        } else {
+            insertIntoLeaf(right, pos - half, key, value);
+        }
+        
+        // Push the separator up, splitting full parents on the way
+        int separator = right.keys[0];
+        Node newChild = right;
+        for (int level = height - 1; level >= 0; level--) {
+            Internal parent = pathNodes[level];
+            int index = pathIndexes[level];
+            if (parent.count < capacity) {
+                insertIntoInternal(parent, index, separator, newChild);
+                return true;
+            }
+            
+            // Merge the new entry into scratch, then split around the middle key
+            System.arraycopy(parent.keys, 0, splitKeys, 0, index);
+            splitKeys[index] = separator;
+            System.arraycopy(parent.keys, index, splitKeys, index + 1, capacity - index);
+            System.arraycopy(parent.children, 0, splitChildren, 0, index + 1);
+            splitChildren[index + 1] = newChild;
+            System.arraycopy(parent.children, index + 1, splitChildren, index + 2, capacity - index);
+            
+            int mid = (capacity + 1) / 2;
+            Internal sibling = new Internal(capacity);
+            parent.count = mid;
+            System.arraycopy(splitKeys, 0, parent.keys, 0, mid);
+            System.arraycopy(splitChildren, 0, parent.children, 0, mid + 1);
+            Arrays.fill(parent.children, mid + 1, capacity + 1, null);
+            sibling.count = capacity - mid;
+            System.arraycopy(splitKeys, mid + 1, sibling.keys, 0, sibling.count);
+            System.arraycopy(splitChildren, mid + 1, sibling.children, 0, sibling.count + 1);
+            
+            separator = splitKeys[mid];
+            newChild = sibling;
+        }
+        
+        // The root split: grow the tree by one level
+        Internal newRoot = new Internal(capacity);
+        newRoot.keys[0] = separator;
+        newRoot.children[0] = root;
+        newRoot.children[1] = newChild;
+        newRoot.count = 1;
+        root = newRoot;
+        height++;
+        return true;
+    }
+    
+    /**
+     * Walk to the leaf for key, remembering the path in pathNodes/pathIndexes
+     */
+    private Leaf descend(int key) {
+        Node node = root;
+        for (int level = 0; level < height; level++) {
+            Internal internal = (Internal) node;
+            int index = upperBound(internal.keys, internal.count, key);
+            pathNodes[level] = internal;
+            pathIndexes[level] = index;
+            node = internal.children[index];
+        }
+        return (Leaf) node;
+    }
+    
+    private static void insertIntoLeaf(Leaf leaf, int pos, int key, int value) {
+        System.arraycopy(leaf.keys, pos, leaf.keys, pos + 1, leaf.count - pos);
+        System.arraycopy(leaf.values, pos, leaf.values, pos + 1, leaf.count - pos);
+        leaf.keys[pos] = key;
+        leaf.values[pos] = value;
+        leaf.count++;
+    }
+    
+    /**
+     * Insert separator at keys[index] and child at children[index + 1]
+     */
+    private static void insertIntoInternal(Internal node, int index, int separator, Node child) {
+        System.arraycopy(node.keys, index, node.keys, index + 1, node.count - index);
+        System.arraycopy(node.children, index + 1, node.children, index + 2, node.count - index);
+        node.keys[index] = separator;
+        node.children[index + 1] = child;
+        node.count++;
+    }
+    
+    // ========== DELETE ==========
+    
+    /**
+     * Remove key. Underfull nodes borrow from or merge with a sibling.
+     * Time Complexity: O(log n)
+     */
+    public boolean remove(int key) {
+        if (root == null) {
+            return false;
+        }
+        Leaf leaf = descend(key);
+        int pos = lowerBound(leaf.keys, leaf.count, key);
+        if (pos >= leaf.count || leaf.keys[pos] != key) {
+            return false;
+        }
+        System.arraycopy(leaf.keys, pos + 1, leaf.keys, pos, leaf.count - pos - 1);
+        System.arraycopy(leaf.values, pos + 1, leaf.values, pos, leaf.count - pos - 1);
+        leaf.count--;
+        size--;
+        
+        Node node = leaf;
+        for (int level = height - 1; level >= 0 && node.count < minKeys; level--) {
+            Internal parent = pathNodes[level];
+            int index = pathIndexes[level];
+            
+            if (node instanceof Leaf) {
+                if (!rebalanceLeaf(parent, index)) {
+                    break;
+                }
+            } else if (!rebalanceInternal(parent, index)) {
+                break;
+            }
+            node = parent;
+        }
+        
+        // Shrink the tree when the root runs out of keys
+        if (root.count == 0) {
+            if (root instanceof Internal) {
+                root = ((Internal) root).children[0];
+                height--;
+            } else {
+                root = null;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Fix the underfull leaf children[index]. Returns true if the parent
+     * lost an entry (a merge), false if borrowing was enough.
+     */
+    private boolean rebalanceLeaf(Internal parent, int index) {
+        Leaf node = (Leaf) parent.children[index];
+        if (index > 0) {
+            Leaf left = (Leaf) parent.children[index - 1];
+            if (left.count > minKeys) {
+                insertIntoLeaf(node, 0, left.keys[left.count - 1], left.values[left.count - 1]);
+                left.count--;
+                parent.keys[index - 1] = node.keys[0];
+                return false;
+            }
+            mergeLeaves(parent, index - 1);
+            return true;
+        }
+        Leaf right = (Leaf) parent.children[index + 1];
+        if (right.count > minKeys) {
+            node.keys[node.count] = right.keys[0];
+            node.values[node.count] = right.values[0];
+            node.count++;
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            System.arraycopy(right.values, 1, right.values, 0, right.count - 1);
+            right.count--;
+            parent.keys[index] = right.keys[0];
+            return false;
+        }
+        mergeLeaves(parent, index);
+        return true;
+    }
+    
+    /**
+     * children[index + 1] is appended to children[index] and removed
+     */
+    private static void mergeLeaves(Internal parent, int index) {
+        Leaf left = (Leaf) parent.children[index];
+        Leaf right = (Leaf) parent.children[index + 1];
+        System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+        System.arraycopy(right.values, 0, left.values, left.count, right.count);
+        left.count += right.count;
+        left.next = right.next;
+        removeFromInternal(parent, index);
+    }
+    
+    private boolean rebalanceInternal(Internal parent, int index) {
+        Internal node = (Internal) parent.children[index];
+        if (index > 0) {
+            Internal left = (Internal) parent.children[index - 1];
+            if (left.count > minKeys) {
+                // Rotate right through the parent
+                System.arraycopy(node.keys, 0, node.keys, 1, node.count);
+                System.arraycopy(node.children, 0, node.children, 1, node.count + 1);
+                node.keys[0] = parent.keys[index - 1];
+                node.children[0] = left.children[left.count];
+                node.count++;
+                parent.keys[index - 1] = left.keys[left.count - 1];
+                left.children[left.count] = null;
+                left.count--;
+                return false;
+            }
+            mergeInternals(parent, index - 1);
+            return true;
+        }
+        Internal right = (Internal) parent.children[index + 1];
+        if (right.count > minKeys) {
+            // Rotate left through the parent
+            node.keys[node.count] = parent.keys[index];
+            node.children[node.count + 1] = right.children[0];
+            node.count++;
+            parent.keys[index] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            System.arraycopy(right.children, 1, right.children, 0, right.count);
+            right.children[right.count] = null;
+            right.count--;
+            return false;
+        }
+        mergeInternals(parent, index);
+        return true;
+    }
+    
+    /**
+     * children[index], the separator and children[index + 1] become one node
+     */
+    private static void mergeInternals(Internal parent, int index) {
+        Internal left = (Internal) parent.children[index];
+        Internal right = (Internal) parent.children[index + 1];
+        left.keys[left.count] = parent.keys[index];
+        System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+        System.arraycopy(right.children, 0, left.children, left.count + 1, right.count + 1);
+        left.count += right.count + 1;
+        removeFromInternal(parent, index);
+    }
+    
+    /**
+     * Remove keys[index] and children[index + 1]
+     */
+    private static void removeFromInternal(Internal node, int index) {
+        System.arraycopy(node.keys, index + 1, node.keys, index, node.count - index - 1);
+        System.arraycopy(node.children, index + 2, node.children, index + 1, node.count - index - 1);
+        node.children[node.count] = null;
+        node.count--;
+    }
+    
+    // ========== BULK LOADING ==========
+    
+    /**
+     * Build a tree bottom-up from strictly ascending keys: fill the leaves
+     * left to right, then each internal level from the one below.
+     * Much faster than n inserts and every node ends up full, except that the
+     * last nodes of a level share their entries so none is underfull.
+     * Time Complexity: O(n)
+     */
+    public static IntBPlusTree bulkLoad(int[] sortedKeys, int[] values) {
+        return bulkLoad(sortedKeys, values, DEFAULT_CAPACITY, 0);
+    }
+    
+    public static IntBPlusTree bulkLoad(int[] sortedKeys, int[] values, int nodeCapacity, int missingValue) {
+        if (sortedKeys.length != values.length) {
+            throw new IllegalArgumentException("keys and values differ in length");
+        }
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1] >= sortedKeys[i]) {
+                throw new IllegalArgumentException("Keys must be strictly ascending (index " + i + ")");
+            }
+        }
+        IntBPlusTree tree = new IntBPlusTree(nodeCapacity, missingValue);
+        int n = sortedKeys.length;
+        if (n == 0) {
+            return tree;
+        }
+        
+        // Leaves
+        int leafCount = (n + nodeCapacity - 1) / nodeCapacity;
+        Node[] level = new Node[leafCount];
+        int[] minKeys = new int[leafCount];
+        Leaf previous = null;
+        for (int i = 0; i < leafCount; i++) {
+            int from = (int) ((long) n * i / leafCount);
+            int to = (int) ((long) n * (i + 1) / leafCount);
+            Leaf leaf = new Leaf(nodeCapacity);
+            leaf.count = to - from;
+            System.arraycopy(sortedKeys, from, leaf.keys, 0, leaf.count);
+            System.arraycopy(values, from, leaf.values, 0, leaf.count);
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[i] = leaf;
+            minKeys[i] = sortedKeys[from];
+        }
+        
+        // Internal levels: each node takes up to nodeCapacity + 1 children
+        while (level.length > 1) {
+            int parents = (level.length + nodeCapacity) / (nodeCapacity + 1);
+            Node[] parentLevel = new Node[parents];
+            int[] parentMinKeys = new int[parents];
+            for (int p = 0; p < parents; p++) {
+                int from = (int) ((long) level.length * p / parents);
+                int to = (int) ((long) level.length * (p + 1) / parents);
+                Internal internal = new Internal(nodeCapacity);
+                internal.count = to - from - 1;
+                System.arraycopy(level, from, internal.children, 0, to - from);
+                System.arraycopy(minKeys, from + 1, internal.keys, 0, internal.count);
+                parentLevel[p] = internal;
+                parentMinKeys[p] = minKeys[from];
+            }
+            level = parentLevel;
+            minKeys = parentMinKeys;
+            tree.height++;
+        }
+        tree.root = level[0];
+        tree.size = n;
+        return tree;
+    }
+    
+    // ========== HELPERS ==========
+    
+    /**
+     * First position whose key is >= key
+     */
+    private static int lowerBound(int[] keys, int count, int key) {
+        int low = 0, high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * First position whose key is > key (the child to follow)
+     */
+    private static int upperBound(int[] keys, int count, int key) {
+        int low = 0, high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Check ordering, separator bounds, node occupancy, uniform leaf depth,
+     * the leaf chain and the size counter
+     */
+    public boolean isValid() {
+        if (root == null) {
+            return size == 0;
+        }
+        long[] leafEntries = new long[1];
+        if (!isValidNode(root, Long.MIN_VALUE, Long.MAX_VALUE, 0, leafEntries)) {
+            return false;
+        }
+        long chained = 0;
+        long previous = Long.MIN_VALUE;
+        Node first = root;
+        while (first instanceof Internal) {
+            first = ((Internal) first).children[0];
+        }
+        for (Leaf leaf = (Leaf) first; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; i++) {
+                if (leaf.keys[i] <= previous) {
+                    return false;
+                }
+                previous = leaf.keys[i];
+            }
+            chained += leaf.count;
+        }
+        return leafEntries[0] == size && chained == size;
+    }
+    
+    private boolean isValidNode(Node node, long low, long high, int depth, long[] leafEntries) {
+        if (node != root && node.count < minKeys) {
+            return false;
+        }
+        for (int i = 0; i < node.count; i++) {
+            if (node.keys[i] < low || node.keys[i] >= high || (i > 0 && node.keys[i - 1] >= node.keys[i])) {
+                return false;
+            }
+        }
+        if (node instanceof Leaf) {
+            leafEntries[0] += node.count;
+            return depth == height;
+        }
+        Internal internal = (Internal) node;
+        for (int i = 0; i <= internal.count; i++) {
+            long childLow = i == 0 ? low : internal.keys[i - 1];
+            long childHigh = i == internal.count ? high : internal.keys[i];
+            if (!isValidNode(internal.children[i], childLow, childHigh, depth + 1, leafEntries)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
+
+public class BinaryTree {
+    
+    public static void main(String[] args) {
+        
+        System.out.println("=== Binary Tree Implementation and Operations ===\n");
+        
+        // ========== BINARY TREE DEMO ==========
+        
+        System.out.println("=== Binary Tree Demo ===");
+        binaryTreeDemo();
+        
+        // ========== BINARY SEARCH TREE DEMO ==========
+        
+        System.out.println("\n=== Binary Search Tree Demo ===");
+        binarySearchTreeDemo();
+        
+        // ========== TREE CONSTRUCTION DEMO ==========
+        
+        System.out.println("\n=== Tree Construction Demo ===");
+        treeConstructionDemo();
+        
+        // ========== STREAMING TRAVERSALS ==========
+        
+        System.out.println("\n=== Streaming Traversals Demo ===");
+        streamingTraversalDemo();
+        
+        System.out.println("\n=== Streaming Traversals Benchmark ===");
+        streamingTraversalBenchmark(1_000_000);
+        
+        // ========== ARENA TREE ==========
+        
+        System.out.println("\n=== Arena Tree Demo ===");
+        arenaTreeDemo();
+        
+        System.out.println("\n=== Arena Tree Benchmark ===");
+        arenaTreeBenchmark(2_000_000);
+        
+        // ========== SELF-BALANCING TREES ==========
+        
+        System.out.println("\n=== Self-Balancing Trees Demo ===");
+        balancedTreeDemo();
+        
+        System.out.println("\n=== Self-Balancing Trees Benchmark ===");
+        balancedTreeBenchmark(1_000_000);
+        
+        // ========== B+ TREE ==========
+        
+        System.out.println("\n=== B+ Tree Demo ===");
+        bPlusTreeDemo();
+        
+        System.out.println("\n=== B+ Tree Benchmark ===");
+        bPlusTreeBenchmark(1_000_000);
+        
+        System.out.println("\n=== Binary Tree lesson completed! ===");
+    }
+    
+    /**
+     * Demonstrates binary tree operations
+     */
+    public static void binaryTreeDemo() {
+        
+        // Create a sample binary tree
+        //       1
+        //      / \
+        //     2   3
+        //    / \   \
+        //   4   5   6
+        
+        SimpleBinaryTree tree = new SimpleBinaryTree(1);
+        tree.root.left = new TreeNode(2);
+        tree.root.right = new TreeNode(3);
+        tree.root.left.left = new TreeNode(4);
+        tree.root.left.right = new TreeNode(5);
+        tree.root.right.right = new TreeNode(6);
+        
+        System.out.println("Sample Binary Tree:");
+        System.out.println("       1");
+        System.out.println("      / \\");
+        System.out.println("     2   3");
+        System.out.println("    / \\   \\");
+        System.out.println("   4   5   6");
+        System.out.println();
+        
+        // Tree traversals
+        tree.inorderTraversal();
+        tree.preorderTraversal();
+        tree.postorderTraversal();
+        tree.levelOrderTraversal();
+        
+        System.out.println();
+        tree.levelOrderWithLevels();
+        
+        // Tree properties
+        System.out.println("\n--- Tree Properties ---");
+        System.out.println("Height: " + tree.height());
+        System.out.println("Size: " + tree.size());
+        System.out.println("Leaf count: " + tree.countLeaves());
+        System.out.println("Maximum value: " + tree.findMax());
+        System.out.println("Minimum value: " + tree.findMin());
+        System.out.println("Is balanced: " + tree.isBalanced());
+        
+        // Search operations
+        System.out.println("\n--- Search Operations ---");
+        int[] searchValues = {1, 5, 7, 3};
+        for (int value : searchValues) {
+            boolean found = tree.search(value);
+            System.out.println("Search " + value + ": " + found);
+        }
+    }
+    
+    /**
+     * Demonstrates binary search tree operations
+     */
+    public static void binarySearchTreeDemo() {
+        
+        BinarySearchTree bst = new BinarySearchTree();
+        
+        // Insert values
+        int[] values = {50, 30, 70, 20, 40, 60, 80};
+        System.out.println("Inserting values: " + Arrays.toString(values));
+        
+        for (int value : values) {
+            bst.insert(value);
+        }
+        
+        System.out.println("\nBST after insertions:");
+        System.out.println("       50");
+        System.out.println("      /  \\");
+        System.out.println("    30    70");
+        System.out.println("   / \\   / \\");
+        System.out.println("  20 40 60 80");
+        System.out.println();
+        
+        // Traversals
+        bst.inorderTraversal(); // Should be sorted
+        bst.preorderTraversal();
+        bst.levelOrderTraversal();
+        
+        // BST properties
+        System.out.println("\n--- BST Properties ---");
+        System.out.println("Height: " + bst.height());
+        System.out.println("Size: " + bst.size());
         System.out.println("Is valid BST: " + bst.isValidBST());
         
         // Search operations
@@ -640,7 +2643,7 @@ public class BinaryTree {
         
         // Build tree from array
         Integer[] treeArray = {1, 2, 3, 4, 5, null, 6, null, null, 7, 8};
-        BinaryTree tree = BinaryTree.fromArray(treeArray);
+        SimpleBinaryTree tree = SimpleBinaryTree.fromArray(treeArray);
         
         System.out.println("Tree built from array: " + Arrays.toString(treeArray));
         System.out.println("Tree structure:");
@@ -658,7 +2661,7 @@ public class BinaryTree {
         
         // Level order insertion
         System.out.println("\n--- Level Order Insertion ---");
-        BinaryTree levelTree = new BinaryTree();
+        SimpleBinaryTree levelTree = new SimpleBinaryTree();
         int[] insertValues = {1, 2, 3, 4, 5, 6, 7};
         
         System.out.println("Inserting in level order: " + Arrays.toString(insertValues));
@@ -675,6 +2678,461 @@ public class BinaryTree {
         System.out.println("Size: " + levelTree.size());
         System.out.println("Is balanced: " + levelTree.isBalanced());
     }
+    
+    /**
+     * Demonstrates the iterator and stream traversals
+     */
+    public static void streamingTraversalDemo() {
+        SimpleBinaryTree tree = SimpleBinaryTree.fromArray(new Integer[] {1, 2, 3, 4, 5, null, 6, null, null, 7, 8});
+        System.out.println("Inorder (stack):         " + drain(tree.inorderIterator()));
+        try (SimpleBinaryTree.MorrisInorderIterator morris = tree.morrisInorderIterator()) {
+            System.out.println("Inorder (Morris):        " + drain(morris));
+        }
+        System.out.println("Preorder (stack):        " + drain(tree.preorderIterator()));
+        System.out.println("Postorder (stack):       " + drain(tree.postorderIterator()));
+        SimpleBinaryTree.LevelOrderIterator levels = tree.levelOrderIterator();
+        System.out.println("Level order (ring):      " + drain(levels));
+        System.out.println("Level order (reused):    " + drain(tree.levelOrderIterator(levels)));
+        
+        // Stop a Morris walk early: close() removes the threads it left behind
+        StringBuilder firstThree = new StringBuilder();
+        try (SimpleBinaryTree.MorrisInorderIterator morris = tree.morrisInorderIterator()) {
+            for (int i = 0; i < 3 && morris.hasNext(); i++) {
+                firstThree.append(i == 0 ? "" : ", ").append(morris.nextInt());
+            }
+        }
+        System.out.println("Morris, first 3 only:    [" + firstThree + "]");
+        System.out.println("Inorder after close():   " + drain(tree.inorderIterator()) + " (threads removed)");
+        
+        BinarySearchTree bst = new BinarySearchTree();
+        for (int value : new int[] {50, 30, 70, 20, 40, 60, 80}) {
+            bst.insert(value);
+        }
+        System.out.println("\nBST stream filter(x % 20 == 0).map(x / 10): " +
+                           Arrays.toString(bst.stream(false).filter(x -> x % 20 == 0).map(x -> x / 10).toArray()));
+        
+        Spliterator.OfInt whole = bst.spliterator();
+        Spliterator.OfInt left = whole.trySplit();
+        StringBuilder prefix = new StringBuilder();
+        StringBuilder rest = new StringBuilder();
+        left.forEachRemaining((int x) -> prefix.append(x).append(' '));
+        whole.forEachRemaining((int x) -> rest.append(x).append(' '));
+        System.out.println("First split: prefix [" + prefix.toString().trim() + "], rest [" + rest.toString().trim() + "]");
+    }
+    
+    private static String drain(PrimitiveIterator.OfInt iterator) {
+        StringBuilder sb = new StringBuilder("[");
+        while (iterator.hasNext()) {
+            sb.append(sb.length() > 1 ? ", " : "").append(iterator.nextInt());
+        }
+        return sb.append(']').toString();
+    }
+    
+    /**
+     * Sum every node of a large tree through each traversal
+     */
+    public static void streamingTraversalBenchmark(int n) {
+        Random random = new Random(42);
+        RedBlackTree tree = new RedBlackTree();
+        for (int i = 0; i < n; i++) {
+            tree.insert(random.nextInt());
+        }
+        long expected = tree.stream(false).asLongStream().sum();
+        System.out.printf("%,d nodes, best of 5, milliseconds:%n", tree.size());
+        
+        SimpleBinaryTree.LevelOrderIterator reusable = tree.levelOrderIterator();
+        String[] names = {"Stack inorder", "Morris inorder", "Stack preorder", "Stack postorder",
+                          "Ring level order", "Sequential stream", "Parallel stream"};
+        for (int kernel = 0; kernel < names.length; kernel++) {
+            double best = Double.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                long sum = 0;
+                switch (kernel) {
+                    case 0: sum = sum(tree.inorderIterator()); break;
+                    case 1:
+                        try (SimpleBinaryTree.MorrisInorderIterator morris = tree.morrisInorderIterator()) {
+                            sum = sum(morris);
+                        }
+                        break;
+                    case 2: sum = sum(tree.preorderIterator()); break;
+                    case 3: sum = sum(tree.postorderIterator()); break;
+                    case 4: sum = sum(tree.levelOrderIterator(reusable)); break;
+                    case 5: sum = tree.stream(false).asLongStream().sum(); break;
+                    default: sum = tree.stream(true).asLongStream().sum(); break;
+                }
+                best = Math.min(best, (System.nanoTime() - start) / 1e6);
+                if (sum != expected) {
+                    throw new IllegalStateException(names[kernel] + " visited the wrong nodes");
+                }
+            }
+            System.out.printf("%-18s %8.1f%n", names[kernel], best);
+        }
+        System.out.println("Parallel streams: " + ForkJoinPool.commonPool().getParallelism() + " worker(s)");
+    }
+    
+    private static long sum(PrimitiveIterator.OfInt iterator) {
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.nextInt();
+        }
+        return sum;
+    }
+    
+    /**
+     * Demonstrates the arena tree: fromArray, free-list reuse and file snapshots
+     */
+    public static void arenaTreeDemo() {
+        Integer[] treeArray = {1, 2, 3, 4, 5, null, 6, null, null, 7, 8};
+        ArenaBinaryTree fromArray = ArenaBinaryTree.fromArray(treeArray);
+        System.out.println("Arena built from array: " + Arrays.toString(treeArray));
+        System.out.println("Root id " + fromArray.root() + ", size " + fromArray.size() +
+                           ", height " + fromArray.height());
+        fromArray.toBinaryTree().levelOrderWithLevels();
+        
+        ArenaBinaryTree bst = new ArenaBinaryTree();
+        for (int value : new int[] {50, 30, 70, 20, 40, 60, 80}) {
+            bst.insert(value);
+        }
+        bst.delete(30);
+        bst.delete(50);
+        System.out.println("\nBST after deleting 30 and 50: capacity " + bst.capacity() + ", size " + bst.size());
+        bst.insert(35);
+        bst.insert(55);
+        StringBuilder inorder = new StringBuilder();
+        bst.forEachInorder(value -> inorder.append(value).append(' '));
+        System.out.println("Inserted 35 and 55 into the freed ids: " + inorder.toString().trim() +
+                           " (valid: " + bst.isValidBST() + ")");
+        
+        try {
+            Path file = Files.createTempFile("arena-tree", ".bin");
+            try {
+                bst.saveTo(file);
+                ArenaBinaryTree loaded = ArenaBinaryTree.loadFrom(file);
+                System.out.println("Saved " + Files.size(file) + " bytes, reloaded size " + loaded.size() +
+                                   ", contains 55: " + loaded.contains(55) + ", valid: " + loaded.isValidBST());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Arena tree vs TreeNode-based BinarySearchTree: build, traversal,
+     * a full GC with the tree live, and a file round trip for the arena
+     */
+    public static void arenaTreeBenchmark(int n) {
+        Random random = new Random(42);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+        System.out.printf("%,d random keys, milliseconds:%n", n);
+        System.out.printf("%-18s %10s %10s %10s%n", "Structure", "Build", "Inorder", "Full GC");
+        long[] sum = new long[1];
+        
+        long start = System.nanoTime();
+        BinarySearchTree objects = new BinarySearchTree();
+        for (int key : keys) {
+            objects.insert(key);
+        }
+        double build = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        PrimitiveIterator.OfInt iterator = objects.inorderIterator();
+        while (iterator.hasNext()) {
+            sum[0] += iterator.nextInt();
+        }
+        double inorder = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        System.gc();
+        double gc = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-18s %10.1f %10.1f %10.1f%n", "BinarySearchTree", build, inorder, gc);
+        long expected = sum[0];
+        objects = null;
+        
+        start = System.nanoTime();
+        ArenaBinaryTree arena = new ArenaBinaryTree(n);
+        for (int key : keys) {
+            arena.insert(key);
+        }
+        build = (System.nanoTime() - start) / 1e6;
+        sum[0] = 0;
+        start = System.nanoTime();
+        arena.forEachInorder(value -> sum[0] += value);
+        inorder = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        System.gc();
+        gc = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-18s %10.1f %10.1f %10.1f%n", "ArenaBinaryTree", build, inorder, gc);
+        if (sum[0] != expected) {
+            throw new IllegalStateException("Trees disagree");
+        }
+        
+        try {
+            Path file = Files.createTempFile("arena-tree", ".bin");
+            try {
+                start = System.nanoTime();
+                arena.saveTo(file);
+                double save = (System.nanoTime() - start) / 1e6;
+                start = System.nanoTime();
+                ArenaBinaryTree loaded = ArenaBinaryTree.loadFrom(file);
+                double load = (System.nanoTime() - start) / 1e6;
+                System.out.printf("Snapshot of %,d bytes: save %.1f ms, load %.1f ms (size %,d)%n",
+                                  Files.size(file), save, load, loaded.size());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Demonstrates AVL and red-black trees with rank/select
+     */
+    public static void balancedTreeDemo() {
+        int n = 1000;
+        BinarySearchTree plain = new BinarySearchTree();
+        AVLTree avl = new AVLTree();
+        RedBlackTree redBlack = new RedBlackTree();
+        for (int i = 1; i <= n; i++) { // Sorted input: worst case for a plain BST
+            plain.insert(i);
+            avl.insert(i);
+            redBlack.insert(i);
+        }
+        System.out.println("After inserting 1.." + n + " in order:");
+        System.out.println("BinarySearchTree height: " + plain.height() + ", is balanced: " + plain.isBalanced());
+        System.out.println("AVLTree height:          " + avl.height() + ", valid: " + avl.isValidBST());
+        System.out.println("RedBlackTree height:     " + redBlack.height() + ", valid: " + redBlack.isValidBST());
+        
+        for (int i = 1; i <= n; i += 2) {
+            avl.delete(i);
+            redBlack.delete(i);
+        }
+        System.out.println("\nAfter deleting the odd values:");
+        System.out.println("AVL size " + avl.size() + ", height " + avl.height() + ", valid: " + avl.isValidBST());
+        System.out.println("Red-black size " + redBlack.size() + ", height " + redBlack.height() +
+                           ", valid: " + redBlack.isValidBST());
+        
+        System.out.println("\n--- Order Statistics ---");
+        System.out.println("select(0) = " + avl.select(0) + ", select(99) = " + redBlack.select(99));
+        System.out.println("rank(200) = " + avl.rank(200) + " (values < 200), rank(201) = " + redBlack.rank(201));
+        System.out.println("searchBST(500) = " + avl.searchBST(500) + ", searchBST(501) = " + redBlack.searchBST(501));
+    }
+    
+    /**
+     * Sorted and random inserts: AVL vs red-black vs TreeMap
+     */
+    public static void balancedTreeBenchmark(int n) {
+        Random random = new Random(42);
+        int[] randomKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            randomKeys[i] = random.nextInt();
+        }
+        
+        System.out.printf("%,d keys, milliseconds:%n", n);
+        System.out.printf("%-14s %12s %12s %12s %10s%n", "Structure", "Sorted ins", "Random ins", "Lookup", "Select");
+        for (String name : new String[] {"AVLTree", "RedBlackTree", "TreeMap"}) {
+            double sortedInsert, randomInsert, lookup, select = Double.NaN;
+            long checksum = 0;
+            if (name.equals("TreeMap")) {
+                long start = System.nanoTime();
+                TreeMap<Integer, Integer> sorted = new TreeMap<>();
+                for (int i = 0; i < n; i++) {
+                    sorted.put(i, i);
+                }
+                sortedInsert = (System.nanoTime() - start) / 1e6;
+                start = System.nanoTime();
+                TreeMap<Integer, Integer> map = new TreeMap<>();
+                for (int key : randomKeys) {
+                    map.put(key, key);
+                }
+                randomInsert = (System.nanoTime() - start) / 1e6;
+                start = System.nanoTime();
+                for (int key : randomKeys) {
+                    checksum += map.containsKey(key) ? 1 : 0;
+                }
+                lookup = (System.nanoTime() - start) / 1e6;
+            } else {
+                long start = System.nanoTime();
+                OrderStatisticTree sorted = name.equals("AVLTree") ? new AVLTree() : new RedBlackTree();
+                for (int i = 0; i < n; i++) {
+                    sorted.insert(i);
+                }
+                sortedInsert = (System.nanoTime() - start) / 1e6;
+                start = System.nanoTime();
+                OrderStatisticTree tree = name.equals("AVLTree") ? new AVLTree() : new RedBlackTree();
+                for (int key : randomKeys) {
+                    tree.insert(key);
+                }
+                randomInsert = (System.nanoTime() - start) / 1e6;
+                start = System.nanoTime();
+                for (int key : randomKeys) {
+                    checksum += tree.searchBST(key) ? 1 : 0;
+                }
+                lookup = (System.nanoTime() - start) / 1e6;
+                start = System.nanoTime();
+                for (int k = 0; k < tree.size(); k += 10) {
+                    checksum += tree.select(k);
+                }
+                select = (System.nanoTime() - start) / 1e6;
+            }
+            System.out.printf("%-14s %12.1f %12.1f %12.1f %10s   (checksum %d)%n", name, sortedInsert, randomInsert,
+                              lookup, Double.isNaN(select) ? "n/a" : String.format("%.1f", select), checksum);
+        }
+    }
+    
+    /**
+     * Demonstrates B+ tree inserts, deletes, range scans and bulk loading
+     */
+    public static void bPlusTreeDemo() {
+        IntBPlusTree tree = new IntBPlusTree(4, -1); // Tiny nodes so splits are visible
+        int[] values = {50, 30, 70, 20, 40, 60, 80, 10, 90, 35, 45, 65};
+        System.out.println("Inserting into a B+ tree with 4 keys per node: " + Arrays.toString(values));
+        for (int value : values) {
+            tree.put(value, value * 10);
+        }
+        System.out.println("Size: " + tree.size() + ", height: " + tree.height() + ", valid: " + tree.isValid());
+        System.out.println("get(45) = " + tree.get(45) + ", get(46) = " + tree.get(46));
+        
+        StringBuilder range = new StringBuilder();
+        int count = tree.scan(30, 66, (key, value) -> range.append(key).append('=').append(value).append(' '));
+        System.out.println("Range [30, 66): " + range + "(" + count + " entries)");
+        
+        for (int key : new int[] {50, 30, 70, 20}) {
+            tree.remove(key);
+        }
+        System.out.println("After removing 50, 30, 70, 20: size " + tree.size() + ", height " + tree.height() +
+                           ", first " + tree.firstKey() + ", last " + tree.lastKey() + ", valid: " + tree.isValid());
+        
+        int[] sortedKeys = new int[1000];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            sortedKeys[i] = i * 2;
+        }
+        IntBPlusTree loaded = IntBPlusTree.bulkLoad(sortedKeys, sortedKeys);
+        System.out.println("Bulk loaded 1000 keys: height " + loaded.height() + ", valid: " + loaded.isValid());
+    }
+    
+    /**
+     * Compare IntBPlusTree, TreeMap and the unbalanced BinarySearchTree
+     */
+    public static void bPlusTreeBenchmark(int n) {
+        Random random = new Random(42);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+        int[] lookups = new int[n];
+        for (int i = 0; i < n; i++) {
+            lookups[i] = (i % 2 == 0) ? keys[random.nextInt(n)] : random.nextInt();
+        }
+        // The same 100 ranges, each 1% of the int range, for every structure
+        long width = (1L << 32) / 100;
+        int[] scanFrom = new int[100];
+        for (int i = 0; i < scanFrom.length; i++) {
+            scanFrom[i] = (int) (Integer.MIN_VALUE + width * random.nextInt(99));
+        }
+        
+        System.out.printf("%,d random keys, milliseconds:%n", n);
+        System.out.printf("%-20s %10s %10s %14s%n", "Structure", "Insert", "Lookup", "Scan 1% x100");
+        
+        // B+ tree
+        long start = System.nanoTime();
+        IntBPlusTree bPlusTree = new IntBPlusTree();
+        for (int key : keys) {
+            bPlusTree.put(key, key);
+        }
+        double insert = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        long found = 0;
+        for (int key : lookups) {
+            found += bPlusTree.containsKey(key) ? 1 : 0;
+        }
+        double lookup = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        long[] scanned = new long[1];
+        for (int from : scanFrom) {
+            bPlusTree.scan(from, (int) (from + width), (key, value) -> scanned[0] += value);
+        }
+        double scan = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-20s %10.1f %10.1f %14.1f%n", "IntBPlusTree", insert, lookup, scan);
+        
+        // TreeMap
+        start = System.nanoTime();
+        TreeMap<Integer, Integer> treeMap = new TreeMap<>();
+        for (int key : keys) {
+            treeMap.put(key, key);
+        }
+        insert = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        long treeMapFound = 0;
+        for (int key : lookups) {
+            treeMapFound += treeMap.containsKey(key) ? 1 : 0;
+        }
+        lookup = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        long[] treeMapScanned = new long[1];
+        for (int from : scanFrom) {
+            treeMap.subMap(from, (int) (from + width)).values().forEach(value -> treeMapScanned[0] += value);
+        }
+        scan = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-20s %10.1f %10.1f %14.1f%n", "TreeMap", insert, lookup, scan);
+        
+        // Unbalanced BST (random order keeps it roughly balanced)
+        start = System.nanoTime();
+        BinarySearchTree bst = new BinarySearchTree();
+        for (int key : keys) {
+            bst.insert(key);
+        }
+        insert = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        long bstFound = 0;
+        for (int key : lookups) {
+            bstFound += bst.searchBST(key) ? 1 : 0;
+        }
+        lookup = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-20s %10.1f %10.1f %14s%n", "BinarySearchTree", insert, lookup, "n/a");
+        
+        if (found != treeMapFound || found != bstFound || bPlusTree.size() != treeMap.size()
+                || scanned[0] != treeMapScanned[0]) {
+            throw new IllegalStateException("Structures disagree");
+        }
+        
+        // Bulk loading from sorted input
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        sorted = Arrays.copyOf(sorted, distinct);
+        start = System.nanoTime();
+        IntBPlusTree loaded = IntBPlusTree.bulkLoad(sorted, sorted);
+        System.out.printf("%-20s %10.1f  (height %d vs %d after random inserts)%n", "IntBPlusTree.bulkLoad",
+                          (System.nanoTime() - start) / 1e6, loaded.height(), bPlusTree.height());
+        
+        // Sorted inserts: the BST degenerates into a linked list
+        int sortedCount = 5_000;
+        start = System.nanoTime();
+        BinarySearchTree degenerate = new BinarySearchTree();
+        for (int i = 0; i < sortedCount; i++) {
+            degenerate.insert(i);
+        }
+        double bstSorted = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        IntBPlusTree sortedTree = new IntBPlusTree();
+        for (int i = 0; i < sortedCount; i++) {
+            sortedTree.put(i, i);
+        }
+        double bPlusSorted = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%nSorted inserts of %,d keys: BinarySearchTree %.1f ms (height %d), " +
+                          "IntBPlusTree %.1f ms (height %d)%n", sortedCount, bstSorted, degenerate.height(),
+                          bPlusSorted, sortedTree.height());
+    }
 }
 
 /*
@@ -691,6 +3149,12 @@ public class BinaryTree {
  * - Preorder: Node → Left → Right (useful for copying tree)
  * - Postorder: Left → Right → Node (useful for deleting tree)
  * - Level-order: BFS traversal level by level
+ * - Iterators stream nodes one at a time: in/pre/postorder need an O(h)
+ *   stack, level order a ring-buffer queue
+ * - Morris inorder needs no stack but threads the tree while it runs,
+ *   so it is opt-in and must be closed (or run to the end)
+ * - A Spliterator that splits at subtrees lets parallel streams divide
+ *   the tree the way a recursive traversal would
  * 
  * BST Properties:
  * - Left subtree values < root value
@@ -711,4 +3175,10 @@ public class BinaryTree {
  * - Unbalanced trees degrade to O(n) operations
  * - Self-balancing trees (AVL, Red-Black) maintain balance automatically
  * - Consider tree height when designing algorithms
+ * - AVL and red-black trees rebalance with O(1) rotations per level on each update
+ * - Subtree sizes turn size(), rank and select into O(log n) (or O(1)) operations
+ * - Arena trees keep nodes in parallel int[] arrays addressed by id: the GC
+ *   sees three objects instead of millions, and a snapshot is a few array writes
+ * - B+ trees pack many keys per node: fewer levels, fewer cache misses,
+ *   linked leaves for range scans, and O(n) bulk loading from sorted data
  */
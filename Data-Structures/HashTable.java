@@ -10,6 +10,11 @@
  */
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Simple Hash Table implementation using separate chaining
@@ -34,12 +39,29 @@ class SimpleHashTable<K, V> {
     private int capacity; // Size of the bucket array
     private int size;     // Number of key-value pairs
     
+    // Incremental resize state (only used when incrementalResize is true)
+    private static final int REHASH_BUCKETS_PER_STEP = 4;
+    private final boolean incrementalResize;
+    private HashNode<K, V>[] oldBuckets; // Table being drained, null when not resizing
+    private int oldCapacity;
+    private int rehashIndex;             // Next old bucket to migrate
+    
     // Constructor
-    @SuppressWarnings("unchecked")
     public SimpleHashTable(int capacity) {
+        this(capacity, false);
+    }
+    
+    /**
+     * With incrementalResize enabled, growing the table does not rehash
+     * everything at once. Both bucket arrays stay live and every
+     * put/get/remove migrates a few old buckets (like Redis dict).
+     */
+    @SuppressWarnings("unchecked")
+    public SimpleHashTable(int capacity, boolean incrementalResize) {
         this.capacity = capacity;
         this.size = 0;
         this.buckets = new HashNode[capacity];
+        this.incrementalResize = incrementalResize;
     }
     
     // Default constructor
@@ -52,38 +74,44 @@ class SimpleHashTable<K, V> {
      * This is a simple hash function for demonstration
      */
     private int hash(K key) {
+        return hash(key, capacity);
+    }
+    
+    private int hash(K key, int tableCapacity) {
         if (key == null) return 0;
         
         // Use built-in hashCode() and handle negative values
         int hashCode = key.hashCode();
-        return Math.abs(hashCode) % capacity;
+        return Math.abs(hashCode) % tableCapacity;
     }
     
     /**
      * Insert or update a key-value pair
      */
     public void put(K key, V value) {
-        int index = hash(key);
-        HashNode<K, V> head = buckets[index];
+        if (isRehashing()) {
+            rehashStep();
+        }
         
-        // Check if key already exists
-        HashNode<K, V> current = head;
-        while (current != null) {
-            if (current.key.equals(key)) {
-                current.value = value; // Update existing key
-                return;
-            }
-            current = current.next;
+        // While resizing, the key may still sit in a not yet migrated old bucket
+        HashNode<K, V> existing = isRehashing() ? findNode(oldBuckets[hash(key, oldCapacity)], key) : null;
+        if (existing == null) {
+            existing = findNode(buckets[hash(key)], key);
+        }
+        if (existing != null) {
+            existing.value = value; // Update existing key
+            return;
         }
         
         // Key doesn't exist, add new node at the beginning
+        int index = hash(key);
         HashNode<K, V> newNode = new HashNode<>(key, value);
-        newNode.next = head;
+        newNode.next = buckets[index];
         buckets[index] = newNode;
         size++;
         
         // Check if we need to resize (load factor > 0.75)
-        if ((double) size / capacity > 0.75) {
+        if ((double) size / capacity > 0.75 && !isRehashing()) {
             resize();
         }
     }
@@ -92,32 +120,54 @@ class SimpleHashTable<K, V> {
      * Get value by key
      */
     public V get(K key) {
-        int index = hash(key);
-        HashNode<K, V> current = buckets[index];
+        if (isRehashing()) {
+            rehashStep();
+        }
+        
+        HashNode<K, V> node = findNode(buckets[hash(key)], key);
+        if (node == null && isRehashing()) {
+            node = findNode(oldBuckets[hash(key, oldCapacity)], key);
+        }
         
+        return node == null ? null : node.value; // null if key not found
+    }
+    
+    private HashNode<K, V> findNode(HashNode<K, V> head, K key) {
+        HashNode<K, V> current = head;
         while (current != null) {
             if (current.key.equals(key)) {
-                return current.value;
+                return current;
             }
             current = current.next;
         }
-        
-        return null; // Key not found
+        return null;
     }
     
     /**
      * Remove a key-value pair
      */
     public V remove(K key) {
-        int index = hash(key);
-        HashNode<K, V> current = buckets[index];
+        if (isRehashing()) {
+            rehashStep();
+        }
+        if (isRehashing()) {
+            V removed = removeFrom(oldBuckets, hash(key, oldCapacity), key);
+            if (removed != null) {
+                return removed;
+            }
+        }
+        return removeFrom(buckets, hash(key), key);
+    }
+    
+    private V removeFrom(HashNode<K, V>[] table, int index, K key) {
+        HashNode<K, V> current = table[index];
         HashNode<K, V> prev = null;
         
         while (current != null) {
             if (current.key.equals(key)) {
                 if (prev == null) {
                     // Removing the first node
-                    buckets[index] = current.next;
+                    table[index] = current.next;
                 } else {
                     prev.next = current.next;
                 }
@@ -152,18 +202,34 @@ class SimpleHashTable<K, V> {
         return size == 0;
     }
     
+    /**
+     * Check if an incremental resize is in progress
+     */
+    public boolean isRehashing() {
+        return oldBuckets != null;
+    }
+    
     /**
      * Resize the hash table when load factor becomes too high
      */
     @SuppressWarnings("unchecked")
     private void resize() {
-        HashNode<K, V>[] oldBuckets = buckets;
+        HashNode<K, V>[] previous = buckets;
+        int previousCapacity = capacity;
         capacity *= 2;
-        size = 0;
         buckets = new HashNode[capacity];
         
+        if (incrementalResize) {
+            // Keep the old table; rehashStep() drains it a few buckets at a time
+            oldBuckets = previous;
+            oldCapacity = previousCapacity;
+            rehashIndex = 0;
+            return;
+        }
+        
         // Rehash all existing elements
-        for (HashNode<K, V> head : oldBuckets) {
+        size = 0;
+        for (HashNode<K, V> head : previous) {
             HashNode<K, V> current = head;
             while (current != null) {
                 put(current.key, current.value);
@@ -173,13 +239,61 @@ class SimpleHashTable<K, V> {
     }
     
     /**
-     * Display the hash table structure
+     * Move up to REHASH_BUCKETS_PER_STEP non-empty old buckets into the new table.
+     * Empty buckets are cheap to skip, but we cap how many we visit so a
+     * sparse region can't turn one call into a long scan.
+     * Nodes are relinked rather than copied, so no allocation happens here.
+     */
+    private void rehashStep() {
+        int migrated = 0;
+        int emptyVisits = REHASH_BUCKETS_PER_STEP * 10;
+        
+        while (rehashIndex < oldCapacity && migrated < REHASH_BUCKETS_PER_STEP) {
+            HashNode<K, V> current = oldBuckets[rehashIndex];
+            if (current == null) {
+                rehashIndex++;
+                if (--emptyVisits == 0) {
+                    break;
+                }
+                continue;
+            }
+            
+            while (current != null) {
+                HashNode<K, V> next = current.next;
+                int index = hash(current.key);
+                current.next = buckets[index];
+                buckets[index] = current;
+                current = next;
+            }
+            oldBuckets[rehashIndex++] = null;
+            migrated++;
+        }
+        
+        if (rehashIndex >= oldCapacity) {
+            oldBuckets = null; // Resize finished
+            oldCapacity = 0;
+        }
+    }
+    
+    /**
+     * Display the hash table structure; during an incremental resize the
+     * buckets not yet migrated from the old table are shown as well
      */
     public void display() {
         System.out.println("Hash Table Structure (Capacity: " + capacity + ", Size: " + size + "):");
-        for (int i = 0; i < capacity; i++) {
+        displayBuckets(buckets, 0, capacity);
+        if (isRehashing()) {
+            System.out.println("Old table (resizing: " + (oldCapacity - rehashIndex) +
+                               " old buckets left to migrate):");
+            displayBuckets(oldBuckets, rehashIndex, oldCapacity);
+        }
+        System.out.println();
+    }
+    
+    private void displayBuckets(HashNode<K, V>[] table, int from, int to) {
+        for (int i = from; i < to; i++) {
             System.out.print("Bucket " + i + ": ");
-            HashNode<K, V> current = buckets[i];
+            HashNode<K, V> current = table[i];
             if (current == null) {
                 System.out.println("empty");
             } else {
@@ -193,13 +307,666 @@ class SimpleHashTable<K, V> {
                 System.out.println();
             }
         }
-        System.out.println();
+    }
+}
+
+/**
+ * Shared helpers for the open-addressing hash tables below.
+ * Keys live directly in flat arrays, so there is no node object per entry.
+ * Collisions are resolved with linear probing: if a slot is taken we simply
+ * look at the next one, which keeps lookups walking through adjacent memory.
+ */
+final class OpenAddressing {
+    
+    static final float LOAD_FACTOR = 0.75f;
+    
+    private OpenAddressing() {
+    }
+    
+    /**
+     * Round the requested capacity up to a power of two so that
+     * "hash % capacity" becomes the much cheaper "hash & (capacity - 1)"
+     */
+    static int tableSizeFor(int expected) {
+        int needed = (int) Math.ceil(Math.max(expected, 2) / LOAD_FACTOR);
+        int capacity = Integer.highestOneBit(needed - 1) << 1;
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity too large: " + expected);
+        }
+        return capacity;
+    }
+    
+    /**
+     * Mix the bits of an int key (murmur3 finalizer).
+     * Sequential keys would otherwise fill long runs of neighbouring slots.
+     */
+    static int mix(int key) {
+        int h = key * 0x85EBCA6B;
+        return h ^ (h >>> 16);
+    }
+    
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= (h >>> 32);
+        return (int) (h ^ (h >>> 16));
+    }
+}
+
+/**
+ * Open-addressing hash table mapping int keys to int values.
+ * Keys and values are stored in two parallel int[] arrays - no boxing,
+ * no HashNode objects and no pointer chasing.
+ * Key 0 marks an empty slot, so an actual 0 key is kept in a separate field.
+ */
+class IntIntHashTable {
+    private static final int FREE_KEY = 0;
+    
+    private int[] keys;
+    private int[] values;
+    private int mask;        // capacity - 1
+    private int size;        // entries stored in the arrays
+    private int threshold;   // resize when size reaches this
+    
+    private boolean hasZeroKey;
+    private int zeroValue;
+    
+    private final int missingValue; // returned by get() when the key is absent
+    
+    public IntIntHashTable() {
+        this(16, 0);
+    }
+    
+    public IntIntHashTable(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        allocate(OpenAddressing.tableSizeFor(expectedSize));
+    }
+    
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * OpenAddressing.LOAD_FACTOR);
+    }
+    
+    /**
+     * Insert or update a key-value pair, returning the previous value
+     * Time Complexity: O(1) average
+     */
+    public int put(int key, int value) {
+        if (key == FREE_KEY) {
+            int previous = hasZeroKey ? zeroValue : missingValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        
+        int index = OpenAddressing.mix(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask; // Linear probing
+        }
+        
+        keys[index] = key;
+        values[index] = value;
+        if (++size >= threshold) {
+            resize();
+        }
+        return missingValue;
+    }
+    
+    /**
+     * Get value by key, or the configured missing value
+     */
+    public int get(int key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+        
+        int index = OpenAddressing.mix(key) & mask;
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return missingValue;
+    }
+    
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey;
+        }
+        return findSlot(key) >= 0;
+    }
+    
+    /**
+     * Remove a key, returning its value (or the missing value)
+     * Uses backward-shift deletion instead of tombstones, so probe
+     * sequences never get longer after many removals.
+     */
+    public int remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return missingValue;
+            }
+            hasZeroKey = false;
+            return zeroValue;
+        }
+        
+        int index = findSlot(key);
+        if (index < 0) {
+            return missingValue;
+        }
+        int removed = values[index];
+        shiftKeys(index);
+        size--;
+        return removed;
+    }
+    
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    private int findSlot(int key) {
+        int index = OpenAddressing.mix(key) & mask;
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+    
+    /**
+     * Close the gap at 'gap' by moving later entries of the same
+     * probe run back, so every entry stays reachable from its home slot
+     */
+    private void shiftKeys(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int current = keys[index];
+            if (current == FREE_KEY) {
+                keys[gap] = FREE_KEY;
+                return;
+            }
+            int home = OpenAddressing.mix(current) & mask;
+            // Move the entry only if its home slot is not between gap and index
+            if (gap <= index ? (gap >= home || home > index) : (gap >= home && home > index)) {
+                keys[gap] = current;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+    }
+    
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        
+        // Re-insert directly into the new arrays (no duplicate checks needed)
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int index = OpenAddressing.mix(key) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
+
+/**
+ * Open-addressing hash table mapping long keys to object values.
+ * Keys stay in a primitive long[] (no Long boxing), values in a parallel Object[].
+ */
+class LongObjHashTable<V> {
+    private static final long FREE_KEY = 0L;
+    
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    
+    private boolean hasZeroKey;
+    private V zeroValue;
+    
+    public LongObjHashTable() {
+        this(16);
+    }
+    
+    public LongObjHashTable(int expectedSize) {
+        allocate(OpenAddressing.tableSizeFor(expectedSize));
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * OpenAddressing.LOAD_FACTOR);
+    }
+    
+    /**
+     * Insert or update a key-value pair, returning the previous value
+     * Time Complexity: O(1) average
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == FREE_KEY) {
+            V previous = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        
+        int index = OpenAddressing.mix(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        
+        keys[index] = key;
+        values[index] = value;
+        if (++size >= threshold) {
+            resize();
+        }
+        return null;
+    }
+    
+    /**
+     * Get value by key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == FREE_KEY) {
+            return zeroValue;
+        }
+        int index = findSlot(key);
+        return index < 0 ? null : (V) values[index];
+    }
+    
+    public boolean containsKey(long key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey;
+        }
+        return findSlot(key) >= 0;
+    }
+    
+    /**
+     * Remove a key-value pair (backward-shift deletion)
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == FREE_KEY) {
+            V previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return previous;
+        }
+        
+        int index = findSlot(key);
+        if (index < 0) {
+            return null;
+        }
+        V removed = (V) values[index];
+        shiftKeys(index);
+        size--;
+        return removed;
+    }
+    
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    private int findSlot(long key) {
+        int index = OpenAddressing.mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+    
+    private void shiftKeys(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            long current = keys[index];
+            if (current == FREE_KEY) {
+                keys[gap] = FREE_KEY;
+                values[gap] = null; // Help GC
+                return;
+            }
+            int home = OpenAddressing.mix(current) & mask;
+            if (gap <= index ? (gap >= home || home > index) : (gap >= home && home > index)) {
+                keys[gap] = current;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+    }
+    
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int index = OpenAddressing.mix(key) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
+
+/**
+ * Thread-safe hash table using lock striping.
+ * The table is split into independent segments, each with its own lock and
+ * its own bucket array, so writers only contend when they hit the same segment.
+ * Reads take no lock at all: nodes are published through volatile writes,
+ * so a reader always sees a consistent (possibly slightly older) chain.
+ */
+class ConcurrentSimpleHashTable<K, V> {
+    
+    // Node with immutable key/hash; value and next are volatile for lock-free reads
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+        
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+    
+    /**
+     * One stripe of the table. Extending ReentrantLock saves an extra object per segment.
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+        
+        volatile AtomicReferenceArray<Node<K, V>> table;
+        volatile int count;
+        
+        Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+        
+        Node<K, V> find(int hash, K key) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            Node<K, V> current = tab.get(hash & (tab.length() - 1));
+            while (current != null) {
+                if (current.hash == hash && current.key.equals(key)) {
+                    return current;
+                }
+                current = current.next;
+            }
+            return null;
+        }
+        
+        // Caller must hold the lock
+        void insert(int hash, K key, V value) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = hash & (tab.length() - 1);
+            tab.set(index, new Node<>(hash, key, value, tab.get(index)));
+            count = count + 1;
+            if (count > tab.length() * 3 / 4) {
+                resize();
+            }
+        }
+        
+        // Caller must hold the lock
+        V delete(int hash, K key) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = hash & (tab.length() - 1);
+            Node<K, V> current = tab.get(index);
+            Node<K, V> prev = null;
+            while (current != null) {
+                if (current.hash == hash && current.key.equals(key)) {
+                    // Readers already on 'current' can still follow its next pointer
+                    if (prev == null) {
+                        tab.set(index, current.next);
+                    } else {
+                        prev.next = current.next;
+                    }
+                    count = count - 1;
+                    return current.value;
+                }
+                prev = current;
+                current = current.next;
+            }
+            return null;
+        }
+        
+        /**
+         * Copy nodes into a table twice as big, then publish it with one volatile write.
+         * Nodes are copied rather than relinked so readers still walking the
+         * old table never see a half-moved chain.
+         */
+        private void resize() {
+            AtomicReferenceArray<Node<K, V>> oldTable = table;
+            int newCapacity = oldTable.length() * 2;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(newCapacity);
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (Node<K, V> current = oldTable.get(i); current != null; current = current.next) {
+                    int index = current.hash & (newCapacity - 1);
+                    newTable.set(index, new Node<>(current.hash, current.key, current.value, newTable.get(index)));
+                }
+            }
+            table = newTable;
+        }
+    }
+    
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+    
+    public ConcurrentSimpleHashTable() {
+        this(64, 16);
+    }
+    
+    /**
+     * @param initialCapacity total number of buckets to start with
+     * @param concurrencyLevel expected number of concurrently writing threads
+     */
+    public ConcurrentSimpleHashTable(int initialCapacity, int concurrencyLevel) {
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel) {
+            segmentCount <<= 1;
+        }
+        int perSegment = 2;
+        while (perSegment * segmentCount < initialCapacity) {
+            perSegment <<= 1;
+        }
+        
+        this.segments = newSegmentArray(segmentCount);
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Segment<K, V>[] newSegmentArray(int length) {
+        return (Segment<K, V>[]) new Segment[length];
+    }
+    
+    /**
+     * Spread the hash code so both the segment (high bits) and the
+     * bucket (low bits) get well-mixed input
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    
+    private Segment<K, V> segmentFor(int hash) {
+        // segmentShift == 32 means a single segment; Java masks the shift to 0
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+    
+    /**
+     * Get value by key - lock-free
+     */
+    public V get(K key) {
+        int h = hash(key);
+        Node<K, V> node = segmentFor(h).find(h, key);
+        return node == null ? null : node.value;
+    }
+    
+    public boolean containsKey(K key) {
+        int h = hash(key);
+        return segmentFor(h).find(h, key) != null;
+    }
+    
+    /**
+     * Insert or update, returning the previous value
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Node<K, V> existing = segment.find(h, key);
+            if (existing != null) {
+                V previous = existing.value;
+                existing.value = value;
+                return previous;
+            }
+            segment.insert(h, key, value);
+            return null;
+        } finally {
+            segment.unlock();
+        }
+    }
+    
+    public V remove(K key) {
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            return segment.delete(h, key);
+        } finally {
+            segment.unlock();
+        }
+    }
+    
+    /**
+     * Return the existing value, or compute and insert one.
+     * The mapping function runs at most once per key, under the segment lock.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        
+        Node<K, V> node = segment.find(h, key); // Fast path: no locking when present
+        if (node != null) {
+            return node.value;
+        }
+        
+        segment.lock();
+        try {
+            node = segment.find(h, key); // Re-check: another thread may have won
+            if (node != null) {
+                return node.value;
+            }
+            V value = mappingFunction.apply(key);
+            if (value != null) {
+                segment.insert(h, key, value);
+            }
+            return value;
+        } finally {
+            segment.unlock();
+        }
+    }
+    
+    /**
+     * Atomically combine a new value with the existing one.
+     * If the remapping function returns null the key is removed.
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Node<K, V> node = segment.find(h, key);
+            if (node == null) {
+                segment.insert(h, key, value);
+                return value;
+            }
+            V merged = remappingFunction.apply(node.value, value);
+            if (merged == null) {
+                segment.delete(h, key);
+            } else {
+                node.value = merged;
+            }
+            return merged;
+        } finally {
+            segment.unlock();
+        }
+    }
+    
+    /**
+     * Sum of segment counts. Not a snapshot: concurrent writers may change it meanwhile.
+     */
+    public int size() {
+        int total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.count;
+        }
+        return total;
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
     }
 }
 
 public class HashTable {
     
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         
         System.out.println("=== Hash Table Implementation and Concepts ===\n");
         
@@ -223,6 +990,16 @@ public class HashTable {
         System.out.println("\n=== Performance Comparison ===");
         compareWithJavaHashMap();
         
+        // ========== INCREMENTAL RESIZE ==========
+        
+        System.out.println("\n=== Incremental Resize ===");
+        demonstrateIncrementalResize();
+        
+        // ========== CONCURRENT HASH TABLE ==========
+        
+        System.out.println("\n=== Concurrent Hash Table ===");
+        demonstrateConcurrentHashTable();
+        
         // ========== REAL-WORLD APPLICATIONS ==========
         
         System.out.println("\n=== Real-world Applications ===");
@@ -343,6 +1120,257 @@ public class HashTable {
         System.out.println("Our implementation: " + ourTime + " nanoseconds");
         System.out.println("Java HashMap: " + javaTime + " nanoseconds");
         System.out.println("(Note: Java's HashMap is highly optimized)");
+        
+        System.out.println();
+        compareIntTables(1_000_000);
+    }
+    
+    /**
+     * Compare chaining vs open addressing on int -> int mappings.
+     * Each run is repeated a few times so the JIT has warmed up
+     * before the last (reported) measurement.
+     */
+    public static void compareIntTables(int n) {
+        System.out.println("int -> int tables with " + n + " entries (best of 5 runs):");
+        
+        int[] keys = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+        
+        long bestSimple = Long.MAX_VALUE, bestJava = Long.MAX_VALUE, bestOpen = Long.MAX_VALUE;
+        long checksum = 0;
+        
+        for (int run = 0; run < 5; run++) {
+            long startTime = System.nanoTime();
+            SimpleHashTable<Integer, Integer> simple = new SimpleHashTable<>();
+            for (int key : keys) {
+                simple.put(key, key);
+            }
+            for (int key : keys) {
+                checksum += simple.get(key);
+            }
+            bestSimple = Math.min(bestSimple, System.nanoTime() - startTime);
+            
+            startTime = System.nanoTime();
+            HashMap<Integer, Integer> javaMap = new HashMap<>();
+            for (int key : keys) {
+                javaMap.put(key, key);
+            }
+            for (int key : keys) {
+                checksum += javaMap.get(key);
+            }
+            bestJava = Math.min(bestJava, System.nanoTime() - startTime);
+            
+            startTime = System.nanoTime();
+            IntIntHashTable open = new IntIntHashTable();
+            for (int key : keys) {
+                open.put(key, key);
+            }
+            for (int key : keys) {
+                checksum += open.get(key);
+            }
+            bestOpen = Math.min(bestOpen, System.nanoTime() - startTime);
+        }
+        
+        System.out.println("SimpleHashTable (chaining): " + bestSimple / 1_000_000 + " ms");
+        System.out.println("java.util.HashMap:          " + bestJava / 1_000_000 + " ms");
+        System.out.println("IntIntHashTable (probing):  " + bestOpen / 1_000_000 + " ms");
+        System.out.println("(checksum " + checksum + " keeps the JIT from skipping the work)");
+        
+        // LongObjHashTable keeps long keys unboxed while still storing objects
+        LongObjHashTable<String> users = new LongObjHashTable<>();
+        users.put(9_000_000_001L, "John Doe");
+        users.put(9_000_000_002L, "Jane Smith");
+        users.remove(9_000_000_001L);
+        System.out.println("LongObjHashTable lookup: " + users.get(9_000_000_002L) +
+                           ", size " + users.size());
+    }
+    
+    /**
+     * Compare put latency of stop-the-world vs incremental resize.
+     * Every put is timed individually, so the rare put that triggers a
+     * full rehash shows up in the tail percentiles (p99.9 / max).
+     */
+    public static void demonstrateIncrementalResize() {
+        int n = 2_000_000;
+        System.out.println("Timing " + n + " individual puts (table starts at 16 buckets):");
+        
+        // Warm-up run so both code paths are JIT-compiled before measuring
+        measurePutLatencies(new SimpleHashTable<>(16, false), 200_000);
+        measurePutLatencies(new SimpleHashTable<>(16, true), 200_000);
+        
+        long[] stopTheWorld = measurePutLatencies(new SimpleHashTable<>(16, false), n);
+        long[] incremental = measurePutLatencies(new SimpleHashTable<>(16, true), n);
+        
+        printLatencyHistogram("Stop-the-world resize", stopTheWorld);
+        printLatencyHistogram("Incremental resize", incremental);
+        System.out.println("(the largest outliers in both runs are GC pauses, not rehashing)");
+        
+        // Correctness while both bucket arrays are live
+        SimpleHashTable<String, Integer> table = new SimpleHashTable<>(4, true);
+        for (int i = 0; i < 4; i++) {
+            table.put("key" + i, i);
+        }
+        System.out.println("Rehashing after 4 puts into 4 buckets: " + table.isRehashing());
+        System.out.println("key0 -> " + table.get("key0") + ", key3 -> " + table.get("key3"));
+    }
+    
+    private static long[] measurePutLatencies(SimpleHashTable<Integer, Integer> table, int n) {
+        long[] latencies = new long[n];
+        for (int i = 0; i < n; i++) {
+            long startTime = System.nanoTime();
+            table.put(i, i);
+            latencies[i] = System.nanoTime() - startTime;
+        }
+        return latencies;
+    }
+    
+    /**
+     * Print percentiles plus a power-of-two latency histogram
+     */
+    private static void printLatencyHistogram(String label, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        
+        System.out.println("\n" + label + ":");
+        System.out.printf("  p50: %d ns | p99: %d ns | p99.9: %d ns | p99.99: %d ns | max: %d ns\n",
+                          percentile(sorted, 50), percentile(sorted, 99),
+                          percentile(sorted, 99.9), percentile(sorted, 99.99),
+                          sorted[sorted.length - 1]);
+        
+        int[] histogram = new int[64];
+        for (long latency : latencies) {
+            histogram[63 - Long.numberOfLeadingZeros(Math.max(latency, 1))]++;
+        }
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            if (histogram[bucket] > 0) {
+                System.out.printf("  < %10d ns: %d\n", 1L << (bucket + 1), histogram[bucket]);
+            }
+        }
+    }
+    
+    private static long percentile(long[] sorted, double percent) {
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+    
+    /**
+     * Demonstrate the lock-striped table and compare throughput with
+     * a globally locked SimpleHashTable and ConcurrentHashMap
+     */
+    public static void demonstrateConcurrentHashTable() throws InterruptedException {
+        // Atomic per-key operations: many threads counting the same words
+        ConcurrentSimpleHashTable<String, Integer> wordCount = new ConcurrentSimpleHashTable<>();
+        String[] words = {"hello", "world", "java"};
+        
+        Thread[] counters = new Thread[4];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    wordCount.merge(words[j % words.length], 1, Integer::sum);
+                }
+            });
+            counters[i].start();
+        }
+        for (Thread thread : counters) {
+            thread.join();
+        }
+        System.out.println("4 threads x 10000 merges: hello=" + wordCount.get("hello") +
+                           ", world=" + wordCount.get("world") + ", java=" + wordCount.get("java"));
+        
+        AtomicInteger computations = new AtomicInteger();
+        Thread[] loaders = new Thread[4];
+        for (int i = 0; i < loaders.length; i++) {
+            loaders[i] = new Thread(() -> wordCount.computeIfAbsent("lazy", key -> {
+                computations.incrementAndGet();
+                return 42;
+            }));
+            loaders[i].start();
+        }
+        for (Thread thread : loaders) {
+            thread.join();
+        }
+        System.out.println("computeIfAbsent called from 4 threads, function ran " +
+                           computations.get() + " time(s)");
+        
+        // Throughput: 90% reads, 10% writes over a shared key range
+        System.out.println("\nThroughput (million ops/sec, 90% get / 10% put):");
+        System.out.printf("%-8s %-16s %-16s %-16s\n", "Threads", "Global lock", "Lock striping", "ConcurrentHashMap");
+        
+        System.out.println("(available processors: " + Runtime.getRuntime().availableProcessors() + ")");
+        
+        int opsPerThread = 200_000;
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            SimpleHashTable<Integer, Integer> simple = new SimpleHashTable<>();
+            Object globalLock = new Object();
+            double globalLocked = measureThroughput(threads, opsPerThread, (key, write) -> {
+                synchronized (globalLock) {
+                    if (write) {
+                        simple.put(key, key);
+                    } else {
+                        simple.get(key);
+                    }
+                }
+            });
+            
+            ConcurrentSimpleHashTable<Integer, Integer> striped = new ConcurrentSimpleHashTable<>();
+            double lockStriped = measureThroughput(threads, opsPerThread, (key, write) -> {
+                if (write) {
+                    striped.put(key, key);
+                } else {
+                    striped.get(key);
+                }
+            });
+            
+            ConcurrentHashMap<Integer, Integer> javaMap = new ConcurrentHashMap<>();
+            double concurrentHashMap = measureThroughput(threads, opsPerThread, (key, write) -> {
+                if (write) {
+                    javaMap.put(key, key);
+                } else {
+                    javaMap.get(key);
+                }
+            });
+            
+            System.out.printf("%-8d %-16.1f %-16.1f %-16.1f\n", threads, globalLocked, lockStriped, concurrentHashMap);
+        }
+    }
+    
+    private interface TableOperation {
+        void run(int key, boolean write);
+    }
+    
+    private static double measureThroughput(int threadCount, int opsPerThread, TableOperation operation)
+            throws InterruptedException {
+        Thread[] workers = new Thread[threadCount];
+        CountDownLatch startSignal = new CountDownLatch(1);
+        
+        for (int i = 0; i < threadCount; i++) {
+            final int seed = i;
+            workers[i] = new Thread(() -> {
+                Random random = new Random(seed);
+                try {
+                    startSignal.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < opsPerThread; j++) {
+                    operation.run(random.nextInt(100_000), random.nextInt(10) == 0);
+                }
+            });
+            workers[i].start();
+        }
+        
+        long startTime = System.nanoTime();
+        startSignal.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        
+        return (double) threadCount * opsPerThread * 1000.0 / elapsed;
     }
     
     /**
@@ -389,6 +1417,7 @@ public class HashTable {
  * 2. Collision Resolution Techniques:
  *    - Separate Chaining: Use linked lists in each bucket
  *    - Open Addressing: Find next available slot (linear/quadratic probing)
+ *      (see IntIntHashTable / LongObjHashTable: flat arrays, no node objects)
  * 
  * 3. Time Complexity:
  *    - Average case: O(1) for insert, search, delete
@@ -398,6 +1427,8 @@ public class HashTable {
  *    - Ratio of number of elements to bucket count
  *    - Keep below 0.75 for good performance
  *    - Resize when load factor gets too high
+ *    - Incremental resize spreads the rehash over many operations,
+ *      avoiding one slow put every time the table doubles
  * 
  * 5. Applications:
  *    - Database indexing
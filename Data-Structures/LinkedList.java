@@ -9,6 +9,8 @@
  * - Understand when to use linked lists vs arrays
  */
 
+import java.util.Random;
+
 /**
  * Node class represents individual elements in the linked list
  * Each node contains data and a reference to the next node
@@ -342,6 +344,261 @@ class SinglyLinkedList {
     }
 }
 
+/**
+ * Unrolled linked list - each node packs up to 64 ints in an array, so a
+ * scan touches one object per 64 elements instead of one per element.
+ * Tail and size are cached: append and size() are O(1), and positional
+ * operations skip whole chunks using their counts.
+ */
+class UnrolledLinkedList {
+    
+    static final int NODE_CAPACITY = 64;
+    
+    static final class Chunk {
+        final int[] values = new int[NODE_CAPACITY];
+        int count;
+        Chunk next;
+    }
+    
+    private Chunk head;
+    private Chunk tail;
+    private int size;
+    private int chunkCount;
+    
+    /**
+     * Append to the end using the cached tail
+     * Time Complexity: O(1)
+     */
+    public void insertAtEnd(int data) {
+        if (tail == null || tail.count == NODE_CAPACITY) {
+            Chunk chunk = new Chunk();
+            if (tail == null) {
+                head = chunk;
+            } else {
+                tail.next = chunk;
+            }
+            tail = chunk;
+            chunkCount++;
+        }
+        tail.values[tail.count++] = data;
+        size++;
+    }
+    
+    /**
+     * Insert element at the beginning of the list
+     * Time Complexity: O(NODE_CAPACITY)
+     */
+    public void insertAtBeginning(int data) {
+        insertAtPosition(data, 0);
+    }
+    
+    /**
+     * Insert at a position: skip whole chunks, then shift inside one chunk.
+     * A full chunk is split into two half-full chunks first.
+     * Time Complexity: O(n / NODE_CAPACITY + NODE_CAPACITY)
+     */
+    public void insertAtPosition(int data, int position) {
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException("Invalid position: " + position);
+        }
+        if (position == size) {
+            insertAtEnd(data);
+            return;
+        }
+        
+        Chunk chunk = head;
+        while (position > chunk.count) {   // position == count means "append to this chunk"
+            position -= chunk.count;
+            chunk = chunk.next;
+        }
+        if (chunk.count == NODE_CAPACITY) {
+            Chunk second = split(chunk);
+            if (position > chunk.count) {
+                position -= chunk.count;
+                chunk = second;
+            }
+        }
+        System.arraycopy(chunk.values, position, chunk.values, position + 1, chunk.count - position);
+        chunk.values[position] = data;
+        chunk.count++;
+        size++;
+    }
+    
+    private Chunk split(Chunk chunk) {
+        Chunk second = new Chunk();
+        int half = chunk.count / 2;
+        second.count = chunk.count - half;
+        System.arraycopy(chunk.values, half, second.values, 0, second.count);
+        chunk.count = half;
+        second.next = chunk.next;
+        chunk.next = second;
+        if (tail == chunk) {
+            tail = second;
+        }
+        chunkCount++;
+        return second;
+    }
+    
+    /**
+     * Get element at a position by skipping whole chunks
+     * Time Complexity: O(n / NODE_CAPACITY)
+     */
+    public int get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Invalid position: " + position);
+        }
+        if (position >= size - tail.count) {
+            return tail.values[position - (size - tail.count)];
+        }
+        Chunk chunk = head;
+        while (position >= chunk.count) {
+            position -= chunk.count;
+            chunk = chunk.next;
+        }
+        return chunk.values[position];
+    }
+    
+    /**
+     * Delete the element at a position; a chunk that falls below half full
+     * absorbs its successor when both fit in one chunk
+     * Time Complexity: O(n / NODE_CAPACITY + NODE_CAPACITY)
+     */
+    public int deleteAtPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Invalid position: " + position);
+        }
+        Chunk previous = null;
+        Chunk chunk = head;
+        while (position >= chunk.count) {
+            position -= chunk.count;
+            previous = chunk;
+            chunk = chunk.next;
+        }
+        int deleted = chunk.values[position];
+        removeAt(previous, chunk, position);
+        return deleted;
+    }
+    
+    /**
+     * Delete the first occurrence of a value
+     * Time Complexity: O(n)
+     */
+    public boolean deleteByValue(int data) {
+        Chunk previous = null;
+        for (Chunk chunk = head; chunk != null; previous = chunk, chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                if (chunk.values[i] == data) {
+                    removeAt(previous, chunk, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private void removeAt(Chunk previous, Chunk chunk, int index) {
+        System.arraycopy(chunk.values, index + 1, chunk.values, index, chunk.count - index - 1);
+        chunk.count--;
+        size--;
+        
+        if (chunk.count == 0) {
+            // Unlink the empty chunk
+            if (previous == null) {
+                head = chunk.next;
+            } else {
+                previous.next = chunk.next;
+            }
+            if (tail == chunk) {
+                tail = previous;
+            }
+            chunkCount--;
+        } else if (chunk.count < NODE_CAPACITY / 2 && chunk.next != null
+                   && chunk.count + chunk.next.count <= NODE_CAPACITY) {
+            // Merge the successor into this chunk
+            Chunk next = chunk.next;
+            System.arraycopy(next.values, 0, chunk.values, chunk.count, next.count);
+            chunk.count += next.count;
+            chunk.next = next.next;
+            if (tail == next) {
+                tail = chunk;
+            }
+            chunkCount--;
+        }
+    }
+    
+    /**
+     * Search for an element in the list
+     * Time Complexity: O(n)
+     */
+    public int indexOf(int data) {
+        int offset = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            int[] values = chunk.values;
+            for (int i = 0; i < chunk.count; i++) {
+                if (values[i] == data) {
+                    return offset + i;
+                }
+            }
+            offset += chunk.count;
+        }
+        return -1;
+    }
+    
+    /**
+     * Sequential scan: a tight loop over each chunk's array
+     * Time Complexity: O(n)
+     */
+    public long sum() {
+        long sum = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            int[] values = chunk.values;
+            for (int i = 0, count = chunk.count; i < count; i++) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+    
+    public int[] toArray() {
+        int[] result = new int[size];
+        int offset = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            System.arraycopy(chunk.values, 0, result, offset, chunk.count);
+            offset += chunk.count;
+        }
+        return result;
+    }
+    
+    /**
+     * Display all elements with chunk boundaries marked by |
+     * Time Complexity: O(n)
+     */
+    public void display() {
+        StringBuilder sb = new StringBuilder("List: [");
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                sb.append(chunk.values[i]).append(i + 1 < chunk.count ? " " : "");
+            }
+            if (chunk.next != null) {
+                sb.append(" | ");
+            }
+        }
+        System.out.println(sb.append("] (size: ").append(size).append(", chunks: ").append(chunkCount).append(")"));
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int chunkCount() {
+        return chunkCount;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
+
 public class LinkedList {
     
     public static void main(String[] args) {
@@ -421,6 +678,14 @@ public class LinkedList {
         System.out.println("\n=== Linked List vs Array Comparison ===");
         compareWithArrays();
         
+        // ========== UNROLLED LINKED LIST ==========
+        
+        System.out.println("\n=== Unrolled Linked List ===");
+        unrolledListDemo();
+        
+        System.out.println("\n=== Unrolled vs Singly Linked List vs Array ===");
+        compareUnrolledList(1_000_000);
+        
         // ========== PRACTICAL EXAMPLES ==========
         
         System.out.println("\n=== Practical Examples ===");
@@ -461,6 +726,153 @@ public class LinkedList {
         System.out.println("✅ Mathematical operations on data");
     }
     
+    /**
+     * Demonstrates chunk-level inserts and deletes in an unrolled list
+     */
+    public static void unrolledListDemo() {
+        UnrolledLinkedList list = new UnrolledLinkedList();
+        for (int i = 0; i < 2 * UnrolledLinkedList.NODE_CAPACITY; i++) {
+            list.insertAtEnd(i);
+        }
+        System.out.println("Appended 0.." + (list.size() - 1) + ": " + list.chunkCount() + " full chunks");
+        
+        list.insertAtPosition(-1, 10); // Splits the full first chunk in two
+        System.out.println("insertAtPosition(-1, 10): " + list.chunkCount() + " chunks, get(10) = " + list.get(10) +
+                           ", get(11) = " + list.get(11));
+        
+        for (int i = 0; i < 20; i++) {
+            list.deleteAtPosition(0);
+        }
+        System.out.println("Deleted 20 from the front: " + list.chunkCount() + " chunks (merged), size " +
+                           list.size() + ", first = " + list.get(0));
+        System.out.println("indexOf(100) = " + list.indexOf(100) + ", deleteByValue(100) = " +
+                           list.deleteByValue(100) + ", indexOf(100) = " + list.indexOf(100));
+        
+        UnrolledLinkedList small = new UnrolledLinkedList();
+        for (int i = 1; i <= 5; i++) {
+            small.insertAtEnd(i * 10);
+        }
+        small.insertAtBeginning(5);
+        small.display();
+    }
+    
+    /**
+     * Memory per element and sequential-scan throughput: ListNode chain
+     * (the SinglyLinkedList layout) vs UnrolledLinkedList vs int[]
+     */
+    public static void compareUnrolledList(int n) {
+        // SinglyLinkedList prints on every insert, so the chain is linked directly
+        long before = usedMemory();
+        long start = System.nanoTime();
+        ListNode head = null;
+        ListNode last = null;
+        for (int i = 0; i < n; i++) {
+            ListNode node = new ListNode(i);
+            if (head == null) {
+                head = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+        double nodeBuild = (System.nanoTime() - start) / 1e6;
+        double nodeBytes = (usedMemory() - before) / (double) n;
+        
+        before = usedMemory();
+        start = System.nanoTime();
+        UnrolledLinkedList unrolled = new UnrolledLinkedList();
+        for (int i = 0; i < n; i++) {
+            unrolled.insertAtEnd(i);
+        }
+        double unrolledBuild = (System.nanoTime() - start) / 1e6;
+        double unrolledBytes = (usedMemory() - before) / (double) n;
+        
+        before = usedMemory();
+        start = System.nanoTime();
+        int[] array = new int[n];
+        for (int i = 0; i < n; i++) {
+            array[i] = i;
+        }
+        double arrayBuild = (System.nanoTime() - start) / 1e6;
+        double arrayBytes = (usedMemory() - before) / (double) n;
+        
+        // Sequential scans, best of 10
+        long expected = (long) n * (n - 1) / 2;
+        double nodeScan = Double.MAX_VALUE;
+        double unrolledScan = Double.MAX_VALUE;
+        double arrayScan = Double.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            start = System.nanoTime();
+            long sum = 0;
+            for (ListNode node = head; node != null; node = node.next) {
+                sum += node.data;
+            }
+            nodeScan = Math.min(nodeScan, (System.nanoTime() - start) / 1e6);
+            checkSum(sum, expected);
+            
+            start = System.nanoTime();
+            checkSum(unrolled.sum(), expected);
+            unrolledScan = Math.min(unrolledScan, (System.nanoTime() - start) / 1e6);
+            
+            start = System.nanoTime();
+            sum = 0;
+            for (int value : array) {
+                sum += value;
+            }
+            arrayScan = Math.min(arrayScan, (System.nanoTime() - start) / 1e6);
+            checkSum(sum, expected);
+        }
+        
+        System.out.printf("%,d ints:%n", n);
+        System.out.printf("%-22s %12s %10s %10s %14s%n", "Structure", "Bytes/elem", "Build ms", "Scan ms",
+                          "Scan M elem/s");
+        printRow("ListNode chain", nodeBytes, nodeBuild, nodeScan, n);
+        printRow("UnrolledLinkedList", unrolledBytes, unrolledBuild, unrolledScan, n);
+        printRow("int[]", arrayBytes, arrayBuild, arrayScan, n);
+        
+        // Positional access: the unrolled list skips 64 elements per hop
+        Random random = new Random(42);
+        int lookups = 1_000;
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < lookups; i++) {
+            int position = random.nextInt(n);
+            ListNode node = head;
+            for (int j = 0; j < position; j++) {
+                node = node.next;
+            }
+            checksum += node.data;
+        }
+        double nodeGet = (System.nanoTime() - start) / 1e6;
+        random = new Random(42);
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            checksum -= unrolled.get(random.nextInt(n));
+        }
+        double unrolledGet = (System.nanoTime() - start) / 1e6;
+        checkSum(checksum, 0);
+        System.out.printf("%,d random get(position): ListNode chain %.1f ms, UnrolledLinkedList %.1f ms%n",
+                          lookups, nodeGet, unrolledGet);
+    }
+    
+    private static void printRow(String name, double bytes, double build, double scan, int n) {
+        System.out.printf("%-22s %12.1f %10.1f %10.2f %14.0f%n", name, bytes, build, scan, n / scan / 1e3);
+    }
+    
+    private static void checkSum(long actual, long expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Scan visited the wrong elements");
+        }
+    }
+    
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
     /**
      * Practical examples of linked list usage
      */
@@ -552,4 +964,6 @@ public class LinkedList {
  * - Keep track of list size for efficiency
  * - Consider using doubly linked list for bidirectional traversal
  * - Use appropriate data structure based on access patterns
+ * - Unrolled linked lists pack many elements per node: less pointer overhead
+ *   per element, array-speed scans, and positional access that skips chunks
  */
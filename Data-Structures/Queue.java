@@ -9,7 +9,14 @@
  * - Understand circular queue and priority queue concepts
  */
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Array-based Queue implementation
@@ -299,6 +306,599 @@ class PriorityQueue<T extends Comparable<T>> {
     }
 }
 
+/**
+ * Indexed 4-ary min-heap with decrease-key and removal by handle.
+ *
+ * insert() returns an int handle that stays valid until the element leaves
+ * the heap, so a scheduler can change a task's priority in place instead of
+ * inserting a duplicate. With 4 children per node the tree is half as deep as
+ * a binary heap, and the children of a node sit next to each other in memory.
+ * The arrays grow automatically.
+ */
+class IndexedDaryHeap<T extends Comparable<T>> {
+    private static final int D = 4;
+    
+    private int[] heap;        // heap[position] = handle
+    private int[] positions;   // positions[handle] = position in heap, -1 if free
+    private Object[] items;    // items[handle] = element
+    private int[] freeHandles; // Stack of released handles for reuse
+    private int freeCount;
+    private int nextHandle;
+    private int size;
+    
+    public IndexedDaryHeap() {
+        this(16);
+    }
+    
+    public IndexedDaryHeap(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 4);
+        heap = new int[capacity];
+        positions = new int[capacity];
+        items = new Object[capacity];
+        freeHandles = new int[capacity];
+    }
+    
+    /**
+     * Add an element and return its handle
+     * Time Complexity: O(log n)
+     */
+    public int insert(T item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if (nextHandle == items.length) {
+                grow();
+            }
+            handle = nextHandle++;
+        }
+        
+        items[handle] = item;
+        heap[size] = handle;
+        positions[handle] = size;
+        siftUp(size++);
+        return handle;
+    }
+    
+    /**
+     * Look at the smallest element without removing it
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return (T) items[heap[0]];
+    }
+    
+    /**
+     * Handle of the smallest element
+     */
+    public int peekHandle() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return heap[0];
+    }
+    
+    /**
+     * Remove and return the smallest element
+     * Time Complexity: O(log n)
+     */
+    public T poll() {
+        return remove(peekHandle());
+    }
+    
+    /**
+     * Replace the element for a handle with a smaller one and restore heap order
+     * Time Complexity: O(log n)
+     */
+    @SuppressWarnings("unchecked")
+    public void decreaseKey(int handle, T smallerItem) {
+        checkHandle(handle);
+        if (smallerItem.compareTo((T) items[handle]) > 0) {
+            throw new IllegalArgumentException("New key is larger than the current key");
+        }
+        items[handle] = smallerItem;
+        siftUp(positions[handle]);
+    }
+    
+    /**
+     * Remove the element with the given handle (the handle becomes free)
+     * Time Complexity: O(log n)
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int handle) {
+        checkHandle(handle);
+        T item = (T) items[handle];
+        int position = positions[handle];
+        
+        // Move the last element into the hole, then fix order in whichever direction
+        int last = heap[--size];
+        if (position < size) {
+            heap[position] = last;
+            positions[last] = position;
+            siftDown(position);
+            siftUp(positions[last]);
+        }
+        
+        items[handle] = null; // Help GC
+        positions[handle] = -1;
+        freeHandles[freeCount++] = handle;
+        return item;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        checkHandle(handle);
+        return (T) items[handle];
+    }
+    
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < nextHandle && positions[handle] >= 0;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Invalid handle: " + handle);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private boolean less(int handleA, int handleB) {
+        return ((T) items[handleA]).compareTo((T) items[handleB]) < 0;
+    }
+    
+    private void siftUp(int position) {
+        int handle = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / D;
+            if (!less(handle, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = handle;
+        positions[handle] = position;
+    }
+    
+    private void siftDown(int position) {
+        int handle = heap[position];
+        while (true) {
+            int firstChild = position * D + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            // Pick the smallest of up to D children
+            int smallest = firstChild;
+            int lastChild = Math.min(firstChild + D, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (less(heap[child], heap[smallest])) {
+                    smallest = child;
+                }
+            }
+            if (!less(heap[smallest], handle)) {
+                break;
+            }
+            heap[position] = heap[smallest];
+            positions[heap[position]] = position;
+            position = smallest;
+        }
+        heap[position] = handle;
+        positions[handle] = position;
+    }
+    
+    private void grow() {
+        int capacity = items.length * 2;
+        heap = Arrays.copyOf(heap, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        items = Arrays.copyOf(items, capacity);
+        freeHandles = Arrays.copyOf(freeHandles, capacity);
+    }
+}
+
+/**
+ * Same indexed 4-ary heap, specialized for primitive long priorities.
+ * No Comparable objects and no boxing: priorities live in a long[] indexed by
+ * handle, so a scheduler can key tasks by deadline (nanos/millis) directly.
+ */
+class LongPriorityHeap {
+    private static final int D = 4;
+    
+    private int[] heap;
+    private int[] positions;
+    private long[] priorities;
+    private int[] freeHandles;
+    private int freeCount;
+    private int nextHandle;
+    private int size;
+    
+    public LongPriorityHeap() {
+        this(16);
+    }
+    
+    public LongPriorityHeap(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 4);
+        heap = new int[capacity];
+        positions = new int[capacity];
+        priorities = new long[capacity];
+        freeHandles = new int[capacity];
+    }
+    
+    /**
+     * Add an entry with the given priority and return its handle
+     * Time Complexity: O(log n)
+     */
+    public int insert(long priority) {
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if (nextHandle == priorities.length) {
+                grow();
+            }
+            handle = nextHandle++;
+        }
+        
+        priorities[handle] = priority;
+        heap[size] = handle;
+        positions[handle] = size;
+        siftUp(size++);
+        return handle;
+    }
+    
+    /**
+     * Handle of the entry with the smallest priority
+     */
+    public int peekHandle() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return heap[0];
+    }
+    
+    public long peekPriority() {
+        return priorities[peekHandle()];
+    }
+    
+    /**
+     * Remove the smallest entry and return its handle.
+     * The handle may be reused by a later insert().
+     */
+    public int poll() {
+        int handle = peekHandle();
+        remove(handle);
+        return handle;
+    }
+    
+    /**
+     * Lower the priority of an entry
+     * Time Complexity: O(log n)
+     */
+    public void decreaseKey(int handle, long smallerPriority) {
+        checkHandle(handle);
+        if (smallerPriority > priorities[handle]) {
+            throw new IllegalArgumentException("New priority is larger than the current priority");
+        }
+        priorities[handle] = smallerPriority;
+        siftUp(positions[handle]);
+    }
+    
+    /**
+     * Remove an entry by handle, returning its priority
+     * Time Complexity: O(log n)
+     */
+    public long remove(int handle) {
+        checkHandle(handle);
+        long priority = priorities[handle];
+        int position = positions[handle];
+        
+        int last = heap[--size];
+        if (position < size) {
+            heap[position] = last;
+            positions[last] = position;
+            siftDown(position);
+            siftUp(positions[last]);
+        }
+        
+        positions[handle] = -1;
+        freeHandles[freeCount++] = handle;
+        return priority;
+    }
+    
+    public long priority(int handle) {
+        checkHandle(handle);
+        return priorities[handle];
+    }
+    
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < nextHandle && positions[handle] >= 0;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Invalid handle: " + handle);
+        }
+    }
+    
+    private void siftUp(int position) {
+        int handle = heap[position];
+        long priority = priorities[handle];
+        while (position > 0) {
+            int parent = (position - 1) / D;
+            if (priority >= priorities[heap[parent]]) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = handle;
+        positions[handle] = position;
+    }
+    
+    private void siftDown(int position) {
+        int handle = heap[position];
+        long priority = priorities[handle];
+        while (true) {
+            int firstChild = position * D + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int smallest = firstChild;
+            long smallestPriority = priorities[heap[firstChild]];
+            int lastChild = Math.min(firstChild + D, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                long childPriority = priorities[heap[child]];
+                if (childPriority < smallestPriority) {
+                    smallest = child;
+                    smallestPriority = childPriority;
+                }
+            }
+            if (smallestPriority >= priority) {
+                break;
+            }
+            heap[position] = heap[smallest];
+            positions[heap[position]] = position;
+            position = smallest;
+        }
+        heap[position] = handle;
+        positions[handle] = position;
+    }
+    
+    private void grow() {
+        int capacity = priorities.length * 2;
+        heap = Arrays.copyOf(heap, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        freeHandles = Arrays.copyOf(freeHandles, capacity);
+    }
+}
+
+/**
+ * Hierarchical timing wheel (as used by Kafka, Netty and the Linux kernel).
+ *
+ * Level 0 is a circular array of wheelSize slots, one per tick. Each higher
+ * level is an "overflow wheel" whose slots cover wheelSize times more time.
+ * A timer is dropped into the slot of the lowest level that can hold its
+ * deadline, so scheduling is O(1). Each slot is a doubly linked list, so
+ * cancelling is an O(1) unlink. When the lower wheel completes a rotation,
+ * the next slot of the level above is "cascaded" down into finer slots.
+ *
+ * The wheel does not own a thread: the caller drives it with advanceClock(now),
+ * and every timer that expired during that call is handed to the expiry
+ * callback as one batch. advanceClock costs O(elapsed ticks + expired timers),
+ * since it visits every tick between the old and new time, so drive it often
+ * rather than after long gaps.
+ *
+ * The list passed to the callback is reused by the next advanceClock() call:
+ * copy it if the payloads are needed later, never keep a reference to it.
+ */
+class HierarchicalTimingWheel<T> {
+    
+    /**
+     * Receives all payloads that expired during one advanceClock() call.
+     * The list is only valid until the callback returns.
+     */
+    interface ExpiryCallback<T> {
+        void expired(List<T> payloads);
+    }
+    
+    /**
+     * Handle for a scheduled timer; also the linked-list node stored in a slot
+     */
+    static final class Timeout<T> {
+        final T payload;
+        final long deadlineTick;
+        Timeout<T> prev;
+        Timeout<T> next;
+        
+        Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+        
+        boolean isLinked() {
+            return prev != null;
+        }
+    }
+    
+    private final long tickMillis;
+    private final int wheelBits;   // wheelSize = 2^wheelBits
+    private final int mask;
+    private final List<Timeout<T>[]> levels = new ArrayList<>(); // Slot sentinels per level
+    private final ExpiryCallback<T> callback;
+    private final List<T> expiredBatch = new ArrayList<>();
+    private long currentTick;
+    private int size;
+    
+    /**
+     * @param tickMillis resolution of the wheel (deadlines are rounded up to a tick)
+     * @param wheelSize  slots per level, must be a power of two
+     * @param startMillis current time in milliseconds
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis,
+                                   ExpiryCallback<T> callback) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tickMillis must be > 0 and wheelSize a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.callback = callback;
+        this.currentTick = startMillis / tickMillis;
+        addLevel();
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Timeout<T>[] newSlotArray(int length) {
+        return (Timeout<T>[]) new Timeout[length];
+    }
+    
+    private void addLevel() {
+        Timeout<T>[] slots = newSlotArray(mask + 1);
+        for (int i = 0; i < slots.length; i++) {
+            Timeout<T> sentinel = new Timeout<>(null, 0);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            slots[i] = sentinel;
+        }
+        levels.add(slots);
+    }
+    
+    /**
+     * Schedule a payload to expire after delayMillis
+     * Time Complexity: O(1)
+     */
+    public Timeout<T> schedule(T payload, long delayMillis) {
+        long nowMillis = currentTick * tickMillis;
+        long deadlineTick = (nowMillis + Math.max(delayMillis, 0) + tickMillis - 1) / tickMillis;
+        Timeout<T> timeout = new Timeout<>(payload, Math.max(deadlineTick, currentTick + 1));
+        link(timeout);
+        size++;
+        return timeout;
+    }
+    
+    /**
+     * Cancel a timer; returns false if it already expired or was cancelled
+     * Time Complexity: O(1)
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isLinked()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+    
+    /**
+     * Move the clock forward, cascading overflow wheels and expiring timers.
+     * Returns the number of timers that expired.
+     * Time Complexity: O(elapsed ticks + expired timers)
+     */
+    public int advanceClock(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        expiredBatch.clear();
+        
+        while (currentTick < targetTick) {
+            currentTick++;
+            
+            // Highest level first so cascaded timers can fall all the way down
+            for (int level = levels.size() - 1; level > 0; level--) {
+                int shift = wheelBits * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(levels.get(level)[(int) (currentTick >>> shift) & mask]);
+                }
+            }
+            
+            Timeout<T> sentinel = levels.get(0)[(int) currentTick & mask];
+            while (sentinel.next != sentinel) {
+                Timeout<T> timeout = sentinel.next;
+                unlink(timeout);
+                size--;
+                expiredBatch.add(timeout.payload);
+            }
+        }
+        
+        int expired = expiredBatch.size();
+        if (expired > 0) {
+            callback.expired(expiredBatch);
+        }
+        return expired;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int levelCount() {
+        return levels.size();
+    }
+    
+    private void cascade(Timeout<T> sentinel) {
+        while (sentinel.next != sentinel) {
+            Timeout<T> timeout = sentinel.next;
+            unlink(timeout);
+            link(timeout);
+        }
+    }
+    
+    /**
+     * Put a timer into the lowest level whose range covers its deadline,
+     * adding overflow wheels on demand
+     */
+    private void link(Timeout<T> timeout) {
+        long delta = Math.max(timeout.deadlineTick - currentTick, 0);
+        int level = 0;
+        while (level < 63 / wheelBits && delta >= (1L << (wheelBits * (level + 1)))) {
+            level++;
+        }
+        while (levels.size() <= level) {
+            addLevel();
+        }
+        
+        long slotTick = Math.max(timeout.deadlineTick, currentTick);
+        Timeout<T> sentinel = levels.get(level)[(int) (slotTick >>> (wheelBits * level)) & mask];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+    
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
+
 public class Queue {
     
     public static void main(String[] args) {
@@ -320,6 +920,12 @@ public class Queue {
         System.out.println("\n=== Priority Queue ===");
         priorityQueueDemo();
         
+        // ========== INDEXED D-ARY HEAP ==========
+        
+        System.out.println("\n=== Indexed 4-ary Heap (decrease-key) ===");
+        indexedHeapDemo();
+        dijkstraBenchmark();
+        
         // ========== QUEUE APPLICATIONS ==========
         
         System.out.println("\n=== Queue Applications ===");
@@ -461,6 +1067,224 @@ public class Queue {
         }
     }
     
+    /**
+     * Demonstrates updating priorities in place instead of re-inserting tasks
+     */
+    public static void indexedHeapDemo() {
+        IndexedDaryHeap<Integer> heap = new IndexedDaryHeap<>(2); // Grows as needed
+        
+        int[] priorities = {30, 10, 50, 20, 40};
+        int[] handles = new int[priorities.length];
+        for (int i = 0; i < priorities.length; i++) {
+            handles[i] = heap.insert(priorities[i]);
+        }
+        System.out.println("Inserted " + heap.size() + " elements, minimum: " + heap.peek());
+        
+        heap.decreaseKey(handles[2], 5); // 50 -> 5
+        System.out.println("After decreaseKey(50 -> 5), minimum: " + heap.peek());
+        
+        heap.remove(handles[1]); // Remove 10 wherever it is
+        System.out.print("After remove(10), polling: ");
+        while (!heap.isEmpty()) {
+            System.out.print(heap.poll() + " ");
+        }
+        System.out.println();
+        
+        // Scheduler keyed by deadline: no boxing, no stale duplicate entries
+        System.out.println("\nDeadline scheduler with LongPriorityHeap:");
+        String[] tasks = {"Email Processing", "Data Backup", "Report Generation"};
+        long[] deadlines = {300, 100, 200};
+        LongPriorityHeap scheduler = new LongPriorityHeap();
+        String[] taskByHandle = new String[8];
+        int[] handleOfTask = new int[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            handleOfTask[i] = scheduler.insert(deadlines[i]);
+            taskByHandle[handleOfTask[i]] = tasks[i];
+        }
+        scheduler.remove(handleOfTask[1]);          // Data Backup cancelled
+        scheduler.decreaseKey(handleOfTask[0], 50); // Email Processing became urgent
+        while (!scheduler.isEmpty()) {
+            long deadline = scheduler.peekPriority();
+            System.out.println("Processing: " + taskByHandle[scheduler.poll()] + " (deadline " + deadline + ")");
+        }
+    }
+    
+    /**
+     * Dijkstra shortest paths on a random graph, comparing:
+     * - java.util.PriorityQueue with re-insertion (stale entries skipped on poll)
+     * - IndexedDaryHeap with decreaseKey (boxed Comparable entries)
+     * - LongPriorityHeap with decreaseKey (primitive distances)
+     */
+    public static void dijkstraBenchmark() {
+        int vertices = 200_000;
+        int edgesPerVertex = 8;
+        
+        // Random graph in compressed adjacency form
+        Random random = new Random(42);
+        int[] edgeStart = new int[vertices + 1];
+        int[] edgeTarget = new int[vertices * edgesPerVertex];
+        int[] edgeWeight = new int[vertices * edgesPerVertex];
+        for (int v = 0; v < vertices; v++) {
+            edgeStart[v] = v * edgesPerVertex;
+            for (int e = 0; e < edgesPerVertex; e++) {
+                edgeTarget[v * edgesPerVertex + e] = random.nextInt(vertices);
+                edgeWeight[v * edgesPerVertex + e] = 1 + random.nextInt(1000);
+            }
+        }
+        edgeStart[vertices] = vertices * edgesPerVertex;
+        
+        System.out.println("\nDijkstra on " + vertices + " vertices, " + edgeTarget.length +
+                           " edges (best of 3 runs):");
+        
+        long bestLazy = Long.MAX_VALUE, bestIndexed = Long.MAX_VALUE, bestPrimitive = Long.MAX_VALUE;
+        long checkLazy = 0, checkIndexed = 0, checkPrimitive = 0;
+        int stalePeak = 0;
+        for (int run = 0; run < 3; run++) {
+            long startTime = System.nanoTime();
+            long[] dist = dijkstraLazy(edgeStart, edgeTarget, edgeWeight);
+            bestLazy = Math.min(bestLazy, System.nanoTime() - startTime);
+            checkLazy = sum(dist);
+            stalePeak = lastLazyQueuePeak;
+            
+            startTime = System.nanoTime();
+            dist = dijkstraIndexed(edgeStart, edgeTarget, edgeWeight);
+            bestIndexed = Math.min(bestIndexed, System.nanoTime() - startTime);
+            checkIndexed = sum(dist);
+            
+            startTime = System.nanoTime();
+            dist = dijkstraPrimitive(edgeStart, edgeTarget, edgeWeight);
+            bestPrimitive = Math.min(bestPrimitive, System.nanoTime() - startTime);
+            checkPrimitive = sum(dist);
+        }
+        
+        System.out.println("java.util.PriorityQueue (re-insert): " + bestLazy / 1_000_000 +
+                           " ms, peak queue size " + stalePeak);
+        System.out.println("IndexedDaryHeap (decreaseKey):       " + bestIndexed / 1_000_000 +
+                           " ms, queue never exceeds " + vertices);
+        System.out.println("LongPriorityHeap (decreaseKey):      " + bestPrimitive / 1_000_000 + " ms");
+        System.out.println("Same distances: " + (checkLazy == checkIndexed && checkIndexed == checkPrimitive));
+    }
+    
+    private static int lastLazyQueuePeak;
+    
+    private static long[] dijkstraLazy(int[] edgeStart, int[] edgeTarget, int[] edgeWeight) {
+        int vertices = edgeStart.length - 1;
+        long[] dist = new long[vertices];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        dist[0] = 0;
+        
+        java.util.PriorityQueue<long[]> queue =
+            new java.util.PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        queue.add(new long[] {0, 0});
+        int peak = 1;
+        while (!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            int u = (int) entry[1];
+            if (entry[0] > dist[u]) {
+                continue; // Stale entry left over from an earlier, longer path
+            }
+            for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++) {
+                int v = edgeTarget[e];
+                long candidate = dist[u] + edgeWeight[e];
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    queue.add(new long[] {candidate, v});
+                }
+            }
+            peak = Math.max(peak, queue.size());
+        }
+        lastLazyQueuePeak = peak;
+        return dist;
+    }
+    
+    /**
+     * Comparable (distance, vertex) pair for the generic heap
+     */
+    private static final class VertexDistance implements Comparable<VertexDistance> {
+        final long distance;
+        final int vertex;
+        
+        VertexDistance(long distance, int vertex) {
+            this.distance = distance;
+            this.vertex = vertex;
+        }
+        
+        public int compareTo(VertexDistance other) {
+            return Long.compare(distance, other.distance);
+        }
+    }
+    
+    private static long[] dijkstraIndexed(int[] edgeStart, int[] edgeTarget, int[] edgeWeight) {
+        int vertices = edgeStart.length - 1;
+        long[] dist = new long[vertices];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        int[] handleOf = new int[vertices];
+        Arrays.fill(handleOf, -1);
+        
+        IndexedDaryHeap<VertexDistance> heap = new IndexedDaryHeap<>();
+        dist[0] = 0;
+        handleOf[0] = heap.insert(new VertexDistance(0, 0));
+        while (!heap.isEmpty()) {
+            int u = heap.poll().vertex;
+            handleOf[u] = -1;
+            for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++) {
+                int v = edgeTarget[e];
+                long candidate = dist[u] + edgeWeight[e];
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    if (handleOf[v] >= 0) {
+                        heap.decreaseKey(handleOf[v], new VertexDistance(candidate, v));
+                    } else {
+                        handleOf[v] = heap.insert(new VertexDistance(candidate, v));
+                    }
+                }
+            }
+        }
+        return dist;
+    }
+    
+    private static long[] dijkstraPrimitive(int[] edgeStart, int[] edgeTarget, int[] edgeWeight) {
+        int vertices = edgeStart.length - 1;
+        long[] dist = new long[vertices];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        int[] handleOf = new int[vertices];
+        Arrays.fill(handleOf, -1);
+        int[] vertexOf = new int[vertices]; // Handles never exceed the vertex count
+        
+        LongPriorityHeap heap = new LongPriorityHeap();
+        dist[0] = 0;
+        handleOf[0] = heap.insert(0);
+        vertexOf[handleOf[0]] = 0;
+        while (!heap.isEmpty()) {
+            int u = vertexOf[heap.poll()];
+            handleOf[u] = -1;
+            for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++) {
+                int v = edgeTarget[e];
+                long candidate = dist[u] + edgeWeight[e];
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    if (handleOf[v] >= 0) {
+                        heap.decreaseKey(handleOf[v], candidate);
+                    } else {
+                        handleOf[v] = heap.insert(candidate);
+                        vertexOf[handleOf[v]] = v;
+                    }
+                }
+            }
+        }
+        return dist;
+    }
+    
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            if (value != Long.MAX_VALUE) {
+                total += value;
+            }
+        }
+        return total;
+    }
+    
     /**
      * Demonstrates practical queue applications
      */
@@ -481,6 +1305,11 @@ public class Queue {
         // Application 4: Print queue simulation
         System.out.println("\n=== Application 4: Print Queue ===");
         printQueueSimulation();
+        
+        // Application 5: Timeouts with a timing wheel
+        System.out.println("\n=== Application 5: Timing Wheel Scheduler ===");
+        timingWheelScheduling();
+        timingWheelBenchmark(10_000_000);
     }
     
     /**
@@ -545,6 +1374,85 @@ public class Queue {
         System.out.println("All tasks completed!");
     }
     
+    /**
+     * Schedules task timeouts on a timing wheel driven by a simulated clock
+     */
+    public static void timingWheelScheduling() {
+        // 10 ms ticks, 8 slots per level: level 0 covers 80 ms, level 1 covers 640 ms, ...
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0,
+            expired -> System.out.println("Expired together: " + expired));
+        
+        String[] tasks = {"Email Processing", "Data Backup", "Report Generation",
+                          "System Update", "Log Cleanup"};
+        long[] delays = {30, 500, 35, 5_000, 120};
+        List<HierarchicalTimingWheel.Timeout<String>> timeouts = new ArrayList<>();
+        for (int i = 0; i < tasks.length; i++) {
+            timeouts.add(wheel.schedule(tasks[i], delays[i]));
+            System.out.println("Scheduled " + tasks[i] + " in " + delays[i] + " ms");
+        }
+        System.out.println("Wheel levels in use: " + wheel.levelCount());
+        
+        System.out.println("Cancelling System Update: " + wheel.cancel(timeouts.get(3)));
+        
+        for (long now = 100; now <= 600; now += 100) {
+            System.out.print("t=" + now + " ms: ");
+            if (wheel.advanceClock(now) == 0) {
+                System.out.println("nothing expired");
+            }
+        }
+        System.out.println("Timers left: " + wheel.size());
+    }
+    
+    /**
+     * Schedule and cancel timers in rounds (most timeouts never fire),
+     * comparing the timing wheel with ScheduledThreadPoolExecutor
+     */
+    public static void timingWheelBenchmark(int totalTimers) {
+        int batch = 100_000;
+        Random random = new Random(42);
+        long[] delays = new long[batch];
+        for (int i = 0; i < batch; i++) {
+            delays[i] = 1 + random.nextInt(60_000); // Up to one minute
+        }
+        
+        System.out.println("\nSchedule + cancel " + totalTimers + " timers (rounds of " + batch + "):");
+        
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 256, 0, expired -> { });
+        List<HierarchicalTimingWheel.Timeout<Integer>> timeouts = new ArrayList<>(batch);
+        Integer payload = 1;
+        long startTime = System.nanoTime();
+        for (int done = 0; done < totalTimers; done += batch) {
+            for (int i = 0; i < batch; i++) {
+                timeouts.add(wheel.schedule(payload, delays[i]));
+            }
+            for (HierarchicalTimingWheel.Timeout<Integer> timeout : timeouts) {
+                wheel.cancel(timeout);
+            }
+            timeouts.clear();
+        }
+        long wheelTime = System.nanoTime() - startTime;
+        
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true); // Otherwise cancelled tasks stay queued
+        List<ScheduledFuture<?>> futures = new ArrayList<>(batch);
+        Runnable noop = () -> { };
+        startTime = System.nanoTime();
+        for (int done = 0; done < totalTimers; done += batch) {
+            for (int i = 0; i < batch; i++) {
+                futures.add(executor.schedule(noop, delays[i], TimeUnit.MILLISECONDS));
+            }
+            for (ScheduledFuture<?> future : futures) {
+                future.cancel(false);
+            }
+            futures.clear();
+        }
+        long executorTime = System.nanoTime() - startTime;
+        executor.shutdownNow();
+        
+        System.out.println("HierarchicalTimingWheel:     " + wheelTime / 1_000_000 + " ms");
+        System.out.println("ScheduledThreadPoolExecutor: " + executorTime / 1_000_000 + " ms");
+    }
+    
     /**
      * Simulates data buffer
      */
@@ -9,8 +9,12 @@
  * - Understand stack overflow and underflow conditions
  */
 
-import java.util.EmptyStackException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Array-based Stack implementation
@@ -19,29 +23,43 @@ class ArrayStack<T> {
     private Object[] stack;
     private int top;
     private int capacity;
+    private final boolean growable; // Double the array instead of overflowing
+    private final boolean verbose;  // Print every push/pop
     
-    // Constructor with default capacity
+    // Constructor with default capacity - grows as needed
     public ArrayStack() {
-        this(10);
+        this(10, true, true);
     }
     
-    // Constructor with specified capacity
+    // Constructor with specified (fixed) capacity
     public ArrayStack(int capacity) {
+        this(capacity, false, true);
+    }
+    
+    public ArrayStack(int capacity, boolean growable, boolean verbose) {
         this.capacity = capacity;
         this.stack = new Object[capacity];
         this.top = -1;
+        this.growable = growable;
+        this.verbose = verbose;
     }
     
     /**
      * Push element onto stack
-     * Time Complexity: O(1)
+     * Time Complexity: O(1), amortized O(1) for a growable stack
      */
     public void push(T item) {
-        if (isFull()) {
-            throw new RuntimeException("Stack Overflow: Cannot push to full stack");
+        if (top == capacity - 1) {
+            if (!growable) {
+                throw new RuntimeException("Stack Overflow: Cannot push to full stack");
+            }
+            capacity = Math.max(capacity * 2, 1);
+            stack = Arrays.copyOf(stack, capacity);
         }
         stack[++top] = item;
-        System.out.println("Pushed: " + item);
+        if (verbose) {
+            System.out.println("Pushed: " + item);
+        }
     }
     
     /**
@@ -55,7 +73,9 @@ class ArrayStack<T> {
         }
         T item = (T) stack[top];
         stack[top--] = null; // Help GC
-        System.out.println("Popped: " + item);
+        if (verbose) {
+            System.out.println("Popped: " + item);
+        }
         return item;
     }
     
@@ -82,7 +102,7 @@ class ArrayStack<T> {
      * Check if stack is full
      */
     public boolean isFull() {
-        return top == capacity - 1;
+        return !growable && top == capacity - 1;
     }
     
     /**
@@ -205,6 +225,403 @@ class LinkedStack<T> {
     }
 }
 
+/**
+ * Growable stack of primitive ints.
+ * Values live directly in an int[] - no Integer boxing and no printing,
+ * so pushing and popping never allocates (except when the array grows).
+ */
+class IntArrayStack {
+    private int[] stack;
+    private int size;
+    
+    public IntArrayStack() {
+        this(16);
+    }
+    
+    public IntArrayStack(int initialCapacity) {
+        this.stack = new int[Math.max(initialCapacity, 1)];
+    }
+    
+    /**
+     * Push value, doubling the array when full
+     * Time Complexity: O(1) amortized
+     */
+    public void push(int value) {
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[size++] = value;
+    }
+    
+    public int pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return stack[--size];
+    }
+    
+    public int peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return stack[size - 1];
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Empty the stack but keep the array, so the stack can be reused
+     */
+    public void clear() {
+        size = 0;
+    }
+}
+
+/**
+ * Growable stack of primitive chars (no Character boxing)
+ */
+class CharArrayStack {
+    private char[] stack;
+    private int size;
+    
+    public CharArrayStack() {
+        this(16);
+    }
+    
+    public CharArrayStack(int initialCapacity) {
+        this.stack = new char[Math.max(initialCapacity, 1)];
+    }
+    
+    /**
+     * Push value, doubling the array when full
+     * Time Complexity: O(1) amortized
+     */
+    public void push(char value) {
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[size++] = value;
+    }
+    
+    public char pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return stack[--size];
+    }
+    
+    public char peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return stack[size - 1];
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+}
+
+/**
+ * Infix expression compiled once into a compact stack bytecode.
+ *
+ * compile() runs the same shunting-yard algorithm as Stack.infixToPostfix
+ * (using Stack.precedence), but instead of a postfix String it emits int
+ * opcodes into an array. Numbers go into constant pools and variable names
+ * become slots in the caller's bindings array. A compiled expression is
+ * immutable, so it can be cached and shared between threads; evaluation
+ * runs the bytecode on a per-thread scratch stack and allocates nothing.
+ *
+ * Supported: + - * / with precedence, parentheses, unary minus,
+ * integer and decimal literals, variables ([A-Za-z_][A-Za-z0-9_]*).
+ */
+final class CompiledExpression {
+    
+    // Opcodes; PUSH_CONST and LOAD_VAR are followed by an operand index
+    private static final int PUSH_CONST = 0;
+    private static final int LOAD_VAR = 1;
+    private static final int ADD = 2;
+    private static final int SUB = 3;
+    private static final int MUL = 4;
+    private static final int DIV = 5;
+    private static final int NEG = 6;
+    
+    private static final char UNARY_MINUS = '~'; // Operator-stack marker for unary minus
+    
+    private static final ConcurrentHashMap<String, CompiledExpression> CACHE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<long[]> LONG_SCRATCH = ThreadLocal.withInitial(() -> new long[16]);
+    private static final ThreadLocal<double[]> DOUBLE_SCRATCH = ThreadLocal.withInitial(() -> new double[16]);
+    
+    private final String source;
+    private final int[] code;
+    private final long[] longConstants;
+    private final double[] doubleConstants;
+    private final boolean hasDecimalConstants;
+    private final String[] variables;
+    private final int maxStackDepth;
+    
+    private CompiledExpression(String source, int[] code, long[] longConstants, double[] doubleConstants,
+                               boolean hasDecimalConstants, String[] variables, int maxStackDepth) {
+        this.source = source;
+        this.code = code;
+        this.longConstants = longConstants;
+        this.doubleConstants = doubleConstants;
+        this.hasDecimalConstants = hasDecimalConstants;
+        this.variables = variables;
+        this.maxStackDepth = maxStackDepth;
+    }
+    
+    /**
+     * Compile through a shared cache: each distinct formula is parsed only once
+     */
+    public static CompiledExpression cached(String expression) {
+        return CACHE.computeIfAbsent(expression, CompiledExpression::compile);
+    }
+    
+    /**
+     * Parse an infix expression into bytecode
+     */
+    public static CompiledExpression compile(String expression) {
+        IntArrayStack code = new IntArrayStack();
+        CharArrayStack operators = new CharArrayStack();
+        List<String> variableNames = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        int[] depth = new int[2]; // {current, max} operand stack depth
+        boolean expectOperand = true;
+        int length = expression.length();
+        
+        for (int i = 0; i < length; i++) {
+            char ch = expression.charAt(i);
+            if (ch == ' ') continue;
+            
+            if (Character.isDigit(ch) || ch == '.') {
+                int end = i;
+                while (end < length && (Character.isDigit(expression.charAt(end)) || expression.charAt(end) == '.')) {
+                    end++;
+                }
+                code.push(PUSH_CONST);
+                code.push(literals.size());
+                literals.add(expression.substring(i, end));
+                push(depth);
+                i = end - 1;
+                expectOperand = false;
+            } else if (Character.isLetter(ch) || ch == '_') {
+                int end = i;
+                while (end < length && (Character.isLetterOrDigit(expression.charAt(end)) || expression.charAt(end) == '_')) {
+                    end++;
+                }
+                String name = expression.substring(i, end);
+                int slot = variableNames.indexOf(name);
+                if (slot < 0) {
+                    slot = variableNames.size();
+                    variableNames.add(name);
+                }
+                code.push(LOAD_VAR);
+                code.push(slot);
+                push(depth);
+                i = end - 1;
+                expectOperand = false;
+            } else if (ch == '(') {
+                operators.push(ch);
+                expectOperand = true;
+            } else if (ch == ')') {
+                while (!operators.isEmpty() && operators.peek() != '(') {
+                    emitOperator(operators.pop(), code, depth);
+                }
+                if (operators.isEmpty()) {
+                    throw new IllegalArgumentException("Unbalanced ')' at position " + i + ": " + expression);
+                }
+                operators.pop(); // Remove '('
+                expectOperand = false;
+            } else if (ch == '-' && expectOperand) {
+                operators.push(UNARY_MINUS); // Binds tighter than any binary operator
+            } else if (Stack.isOperator(ch)) {
+                if (expectOperand) {
+                    throw new IllegalArgumentException("Missing operand before '" + ch + "' in: " + expression);
+                }
+                while (!operators.isEmpty() && operators.peek() != '('
+                        && (operators.peek() == UNARY_MINUS || Stack.precedence(ch) <= Stack.precedence(operators.peek()))) {
+                    emitOperator(operators.pop(), code, depth);
+                }
+                operators.push(ch);
+                expectOperand = true;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '" + ch + "' in: " + expression);
+            }
+        }
+        
+        while (!operators.isEmpty()) {
+            char operator = operators.pop();
+            if (operator == '(') {
+                throw new IllegalArgumentException("Unbalanced '(' in: " + expression);
+            }
+            emitOperator(operator, code, depth);
+        }
+        if (depth[0] != 1) {
+            throw new IllegalArgumentException("Malformed expression: " + expression);
+        }
+        
+        // Constant pools: every literal as long and as double
+        long[] longConstants = new long[literals.size()];
+        double[] doubleConstants = new double[literals.size()];
+        boolean hasDecimals = false;
+        for (int i = 0; i < literals.size(); i++) {
+            String literal = literals.get(i);
+            doubleConstants[i] = Double.parseDouble(literal);
+            if (literal.indexOf('.') >= 0) {
+                hasDecimals = true;
+                longConstants[i] = (long) doubleConstants[i];
+            } else {
+                longConstants[i] = Long.parseLong(literal);
+            }
+        }
+        
+        int[] bytecode = new int[code.size()];
+        for (int i = bytecode.length - 1; i >= 0; i--) {
+            bytecode[i] = code.pop();
+        }
+        return new CompiledExpression(expression, bytecode, longConstants, doubleConstants, hasDecimals,
+                                      variableNames.toArray(new String[0]), depth[1]);
+    }
+    
+    private static void push(int[] depth) {
+        depth[0]++;
+        depth[1] = Math.max(depth[1], depth[0]);
+    }
+    
+    private static void emitOperator(char operator, IntArrayStack code, int[] depth) {
+        int needed = operator == UNARY_MINUS ? 1 : 2;
+        if (depth[0] < needed) {
+            throw new IllegalArgumentException("Missing operand for '" + (operator == UNARY_MINUS ? '-' : operator) + "'");
+        }
+        switch (operator) {
+            case '+': code.push(ADD); break;
+            case '-': code.push(SUB); break;
+            case '*': code.push(MUL); break;
+            case '/': code.push(DIV); break;
+            case UNARY_MINUS: code.push(NEG); break;
+            default: throw new IllegalArgumentException("Invalid operator: " + operator);
+        }
+        depth[0] -= needed - 1;
+    }
+    
+    /**
+     * Slot of a variable in the bindings array, or -1 if the expression doesn't use it
+     */
+    public int variableIndex(String name) {
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    public int variableCount() {
+        return variables.length;
+    }
+    
+    /**
+     * Evaluate with long arithmetic; bindings[i] is the value of variable i
+     */
+    public long evaluateLong(long[] bindings) {
+        if (hasDecimalConstants) {
+            throw new IllegalStateException("Expression has decimal constants, use evaluateDouble: " + source);
+        }
+        long[] stack = LONG_SCRATCH.get();
+        if (stack.length < maxStackDepth) {
+            stack = new long[maxStackDepth];
+            LONG_SCRATCH.set(stack);
+        }
+        
+        int top = -1;
+        int pc = 0;
+        while (pc < code.length) {
+            switch (code[pc++]) {
+                case PUSH_CONST: stack[++top] = longConstants[code[pc++]]; break;
+                case LOAD_VAR:   stack[++top] = bindings[code[pc++]]; break;
+                case ADD: top--; stack[top] = stack[top] + stack[top + 1]; break;
+                case SUB: top--; stack[top] = stack[top] - stack[top + 1]; break;
+                case MUL: top--; stack[top] = stack[top] * stack[top + 1]; break;
+                case DIV: top--; stack[top] = stack[top] / stack[top + 1]; break;
+                case NEG: stack[top] = -stack[top]; break;
+                default: throw new IllegalStateException("Bad opcode at " + (pc - 1));
+            }
+        }
+        return stack[0];
+    }
+    
+    /**
+     * Evaluate with double arithmetic; bindings[i] is the value of variable i
+     */
+    public double evaluateDouble(double[] bindings) {
+        double[] stack = DOUBLE_SCRATCH.get();
+        if (stack.length < maxStackDepth) {
+            stack = new double[maxStackDepth];
+            DOUBLE_SCRATCH.set(stack);
+        }
+        
+        int top = -1;
+        int pc = 0;
+        while (pc < code.length) {
+            switch (code[pc++]) {
+                case PUSH_CONST: stack[++top] = doubleConstants[code[pc++]]; break;
+                case LOAD_VAR:   stack[++top] = bindings[code[pc++]]; break;
+                case ADD: top--; stack[top] = stack[top] + stack[top + 1]; break;
+                case SUB: top--; stack[top] = stack[top] - stack[top + 1]; break;
+                case MUL: top--; stack[top] = stack[top] * stack[top + 1]; break;
+                case DIV: top--; stack[top] = stack[top] / stack[top + 1]; break;
+                case NEG: stack[top] = -stack[top]; break;
+                default: throw new IllegalStateException("Bad opcode at " + (pc - 1));
+            }
+        }
+        return stack[0];
+    }
+    
+    /**
+     * Human-readable bytecode listing
+     */
+    public String disassemble() {
+        StringBuilder listing = new StringBuilder();
+        for (int pc = 0; pc < code.length; pc++) {
+            switch (code[pc]) {
+                case PUSH_CONST:
+                    int constant = code[++pc];
+                    listing.append("PUSH ");
+                    if (hasDecimalConstants) {
+                        listing.append(doubleConstants[constant]);
+                    } else {
+                        listing.append(longConstants[constant]);
+                    }
+                    break;
+                case LOAD_VAR: listing.append("LOAD ").append(variables[code[++pc]]); break;
+                case ADD: listing.append("ADD"); break;
+                case SUB: listing.append("SUB"); break;
+                case MUL: listing.append("MUL"); break;
+                case DIV: listing.append("DIV"); break;
+                case NEG: listing.append("NEG"); break;
+                default: listing.append("?");
+            }
+            listing.append(pc < code.length - 1 ? "; " : "");
+        }
+        return listing.toString();
+    }
+}
+
 public class Stack {
     
     public static void main(String[] args) {
@@ -231,6 +648,11 @@ public class Stack {
         System.out.println("\n=== Expression Evaluation ===");
         expressionEvaluation();
         
+        // ========== COMPILED EXPRESSIONS ==========
+        
+        System.out.println("\n=== Compiled Expressions ===");
+        compiledExpressionDemo();
+        
         System.out.println("\n=== Stack lesson completed! ===");
     }
     
@@ -511,13 +933,127 @@ public class Stack {
             String postfix = infixToPostfix(expr);
             System.out.println("Infix: \"" + expr + "\" -> Postfix: \"" + postfix + "\"");
         }
+        
+        expressionBenchmark(10_000_000);
     }
     
     /**
      * Evaluates postfix expression
+     * Scans the characters directly and keeps operands in an IntArrayStack,
+     * so no token Strings and no Integer objects are created.
+     */
+    public static int evaluatePostfix(CharSequence expression) {
+        IntArrayStack stack = new IntArrayStack();
+        int length = expression.length();
+        int i = 0;
+        
+        while (i < length) {
+            char ch = expression.charAt(i);
+            if (ch == ' ') {
+                i++;
+                continue;
+            }
+            
+            int end = i;
+            while (end < length && expression.charAt(end) != ' ') {
+                end++;
+            }
+            
+            if (end - i == 1 && isOperator(ch)) {
+                int operand2 = stack.pop();
+                int operand1 = stack.pop();
+                stack.push(performOperation(operand1, operand2, ch));
+            } else {
+                stack.push(parseInt(expression, i, end));
+            }
+            i = end;
+        }
+        
+        return stack.pop();
+    }
+    
+    /**
+     * Integer.parseInt for a slice of the input, without creating a substring
+     */
+    private static int parseInt(CharSequence text, int start, int end) {
+        boolean negative = false;
+        int i = start;
+        char first = text.charAt(i);
+        if ((first == '-' || first == '+') && end - start > 1) {
+            negative = first == '-';
+            i++;
+        }
+        
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid number: " + text.subSequence(start, end));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+    
+    /**
+     * Converts infix expression to postfix
+     */
+    public static String infixToPostfix(String expression) {
+        StringBuilder postfix = new StringBuilder(expression.length() * 2);
+        infixToPostfix(expression, postfix, new CharArrayStack());
+        return postfix.toString();
+    }
+    
+    /**
+     * Converts infix to postfix, appending to a caller-provided builder and
+     * using a caller-provided operator stack, so repeated conversions can
+     * reuse both buffers. Consecutive letters/digits form one operand.
      */
-    public static int evaluatePostfix(String expression) {
-        ArrayStack<Integer> stack = new ArrayStack<>();
+    public static void infixToPostfix(CharSequence expression, StringBuilder postfix, CharArrayStack stack) {
+        stack.clear();
+        int start = postfix.length();
+        int length = expression.length();
+        
+        for (int i = 0; i < length; i++) {
+            char ch = expression.charAt(i);
+            if (ch == ' ') continue;
+            
+            if (Character.isLetterOrDigit(ch)) {
+                while (i < length && Character.isLetterOrDigit(expression.charAt(i))) {
+                    postfix.append(expression.charAt(i++));
+                }
+                i--;
+                postfix.append(' ');
+            } else if (ch == '(') {
+                stack.push(ch);
+            } else if (ch == ')') {
+                while (!stack.isEmpty() && stack.peek() != '(') {
+                    postfix.append(stack.pop()).append(' ');
+                }
+                stack.pop(); // Remove '('
+            } else if (isOperator(ch)) {
+                while (!stack.isEmpty() && precedence(ch) <= precedence(stack.peek())) {
+                    postfix.append(stack.pop()).append(' ');
+                }
+                stack.push(ch);
+            }
+        }
+        
+        while (!stack.isEmpty()) {
+            postfix.append(stack.pop()).append(' ');
+        }
+        
+        // Drop the trailing space (what trim() did before)
+        if (postfix.length() > start) {
+            postfix.setLength(postfix.length() - 1);
+        }
+    }
+    
+    /**
+     * Original boxed implementation, kept as the reference for the benchmark
+     */
+    public static int evaluatePostfixBoxed(String expression) {
+        ArrayStack<Integer> stack = new ArrayStack<>(10, true, false);
         String[] tokens = expression.split(" ");
         
         for (String token : tokens) {
@@ -535,10 +1071,10 @@ public class Stack {
     }
     
     /**
-     * Converts infix expression to postfix
+     * Original boxed infix to postfix conversion (reference for the benchmark)
      */
-    public static String infixToPostfix(String expression) {
-        ArrayStack<Character> stack = new ArrayStack<>();
+    public static String infixToPostfixBoxed(String expression) {
+        ArrayStack<Character> stack = new ArrayStack<>(10, true, false);
         StringBuilder postfix = new StringBuilder();
         
         for (char ch : expression.toCharArray()) {
@@ -568,6 +1104,176 @@ public class Stack {
         return postfix.toString().trim();
     }
     
+    /**
+     * Compare the boxed and primitive expression paths on a large expression:
+     * time and bytes allocated by the current thread
+     */
+    public static void expressionBenchmark(int expressionChars) {
+        // Random infix expression like "3 + 7 * 2 - 5 ..." (no division, so no divide-by-zero)
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(expressionChars + 8);
+        builder.append(1 + random.nextInt(9));
+        char[] operators = {'+', '-', '*'};
+        while (builder.length() < expressionChars) {
+            builder.append(' ').append(operators[random.nextInt(3)]).append(' ').append(1 + random.nextInt(9));
+        }
+        String infix = builder.toString();
+        
+        System.out.println("\nExpression of " + infix.length() / 1_000_000 + " MB (best of 3 runs):");
+        
+        // Buffers reused across runs, as a long-running evaluator would
+        StringBuilder postfix = new StringBuilder(infix.length() * 2);
+        CharArrayStack operatorStack = new CharArrayStack();
+        
+        long bestBoxed = Long.MAX_VALUE, bestPrimitive = Long.MAX_VALUE;
+        long boxedBytes = 0, primitiveBytes = 0;
+        int boxedResult = 0, primitiveResult = 0;
+        for (int run = 0; run < 3; run++) {
+            long allocatedBefore = allocatedBytes();
+            long startTime = System.nanoTime();
+            boxedResult = evaluatePostfixBoxed(infixToPostfixBoxed(infix));
+            bestBoxed = Math.min(bestBoxed, System.nanoTime() - startTime);
+            boxedBytes = allocatedBytes() - allocatedBefore;
+            
+            allocatedBefore = allocatedBytes();
+            startTime = System.nanoTime();
+            postfix.setLength(0);
+            infixToPostfix(infix, postfix, operatorStack);
+            primitiveResult = evaluatePostfix(postfix);
+            bestPrimitive = Math.min(bestPrimitive, System.nanoTime() - startTime);
+            primitiveBytes = allocatedBytes() - allocatedBefore;
+        }
+        
+        System.out.println("ArrayStack<Integer>/<Character> + split: " + bestBoxed / 1_000_000 + " ms, " +
+                           (boxedBytes < 0 ? "n/a" : boxedBytes / 1024 + " KB allocated"));
+        System.out.println("IntArrayStack/CharArrayStack + scanning: " + bestPrimitive / 1_000_000 + " ms, " +
+                           (primitiveBytes < 0 ? "n/a" : primitiveBytes / 1024 + " KB allocated"));
+        System.out.println("Same result: " + (boxedResult == primitiveResult));
+    }
+    
+    /**
+     * Compile a formula once, then evaluate it with many variable bindings
+     */
+    public static void compiledExpressionDemo() {
+        String formula = "(price + tax) * quantity - discount / 2";
+        CompiledExpression expression = CompiledExpression.cached(formula);
+        
+        System.out.println("Formula: " + formula);
+        System.out.println("Bytecode: " + expression.disassemble());
+        
+        int price = expression.variableIndex("price");
+        int tax = expression.variableIndex("tax");
+        int quantity = expression.variableIndex("quantity");
+        int discount = expression.variableIndex("discount");
+        
+        long[] bindings = new long[expression.variableCount()];
+        bindings[price] = 100;
+        bindings[tax] = 18;
+        bindings[quantity] = 3;
+        bindings[discount] = 50;
+        System.out.println("long:   price=100, tax=18, quantity=3, discount=50 -> " + expression.evaluateLong(bindings));
+        
+        double[] decimalBindings = {19.99, 1.5, 2, 5};
+        System.out.println("double: price=19.99, tax=1.5, quantity=2, discount=5 -> " +
+                           expression.evaluateDouble(decimalBindings));
+        System.out.println("Cached instance reused: " + (CompiledExpression.cached(formula) == expression));
+        System.out.println("Unary minus: -(2 + 3) * -4 = " +
+                           CompiledExpression.compile("-(2 + 3) * -4").evaluateLong(new long[0]));
+        
+        compiledExpressionBenchmark(formula);
+    }
+    
+    /**
+     * Throughput of evaluating one formula with changing bindings:
+     * substituting values into the text and re-parsing it every time
+     * (boxed and primitive stacks) vs running the compiled bytecode
+     */
+    public static void compiledExpressionBenchmark(String formula) {
+        int evaluations = 1_000_000;
+        String[] names = {"price", "tax", "quantity", "discount"};
+        CompiledExpression expression = CompiledExpression.cached(formula);
+        long[] bindings = new long[expression.variableCount()];
+        int[] slots = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            slots[i] = expression.variableIndex(names[i]);
+        }
+        
+        System.out.println("\n" + evaluations + " evaluations with different bindings (best of 3 runs):");
+        
+        long bestBoxed = Long.MAX_VALUE, bestScanning = Long.MAX_VALUE, bestCompiled = Long.MAX_VALUE;
+        long compiledBytes = 0;
+        long checkBoxed = 0, checkScanning = 0, checkCompiled = 0;
+        StringBuilder infix = new StringBuilder();
+        StringBuilder postfix = new StringBuilder();
+        CharArrayStack operatorStack = new CharArrayStack();
+        
+        for (int run = 0; run < 3; run++) {
+            checkBoxed = checkScanning = checkCompiled = 0;
+            
+            long startTime = System.nanoTime();
+            for (int i = 0; i < evaluations; i++) {
+                // infixToPostfixBoxed splits multi-digit numbers, so only evaluation is boxed here
+                String text = substitute(formula, names, i, infix);
+                checkBoxed += evaluatePostfixBoxed(infixToPostfix(text));
+            }
+            bestBoxed = Math.min(bestBoxed, System.nanoTime() - startTime);
+            
+            startTime = System.nanoTime();
+            for (int i = 0; i < evaluations; i++) {
+                substitute(formula, names, i, infix);
+                postfix.setLength(0);
+                infixToPostfix(infix, postfix, operatorStack);
+                checkScanning += evaluatePostfix(postfix);
+            }
+            bestScanning = Math.min(bestScanning, System.nanoTime() - startTime);
+            
+            long allocatedBefore = allocatedBytes();
+            startTime = System.nanoTime();
+            for (int i = 0; i < evaluations; i++) {
+                for (int v = 0; v < slots.length; v++) {
+                    bindings[slots[v]] = bindingValue(i, v);
+                }
+                checkCompiled += expression.evaluateLong(bindings);
+            }
+            bestCompiled = Math.min(bestCompiled, System.nanoTime() - startTime);
+            compiledBytes = allocatedBytes() - allocatedBefore;
+        }
+        
+        System.out.printf("Re-parse, boxed stack + split:  %6.1f ns/eval%n", (double) bestBoxed / evaluations);
+        System.out.printf("Re-parse, primitive stacks:     %6.1f ns/eval%n", (double) bestScanning / evaluations);
+        System.out.printf("Compiled bytecode:              %6.1f ns/eval (%s)%n", (double) bestCompiled / evaluations,
+                          compiledBytes < 0 ? "allocation n/a" : compiledBytes + " bytes allocated");
+        System.out.println("Same results: " + (checkBoxed == checkCompiled && checkScanning == checkCompiled));
+    }
+    
+    private static long bindingValue(int evaluation, int variable) {
+        return 1 + (evaluation * 31 + variable * 7) % 97;
+    }
+    
+    /**
+     * Replace each variable name with its value for this evaluation
+     */
+    private static String substitute(String formula, String[] names, int evaluation, StringBuilder out) {
+        out.setLength(0);
+        out.append(formula);
+        for (int v = 0; v < names.length; v++) {
+            int at = out.indexOf(names[v]);
+            out.replace(at, at + names[v].length(), Long.toString(bindingValue(evaluation, v)));
+        }
+        return out.toString();
+    }
+    
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the JVM can't tell
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+    
     /**
      * Helper methods for expression evaluation
      */
@@ -575,6 +1281,10 @@ public class Stack {
         return token.equals("+") || token.equals("-") || token.equals("*") || token.equals("/");
     }
     
+    public static boolean isOperator(char ch) {
+        return ch == '+' || ch == '-' || ch == '*' || ch == '/';
+    }
+    
     public static int performOperation(int a, int b, char operator) {
         switch (operator) {
             case '+': return a + b;
@@ -602,7 +1312,7 @@ public class Stack {
  * 1. Stack follows LIFO (Last In, First Out) principle
  * 2. Main operations: push, pop, peek, isEmpty
  * 3. Can be implemented using arrays or linked lists
- * 4. Array implementation has fixed size, linked list is dynamic
+ * 4. Array implementation has fixed size (unless it grows by doubling), linked list is dynamic
  * 5. All basic operations have O(1) time complexity
  * 
  * Stack Applications:
@@ -617,8 +1327,9 @@ public class Stack {
  * Array-based:
  * + Fixed memory usage
  * + Better cache locality
- * - Fixed size limitation
+ * - Fixed size limitation (growable version: amortized O(1) doubling)
  * - Memory waste if not full
+ * - Primitive versions (IntArrayStack, CharArrayStack) avoid boxing entirely
  * 
  * Linked List-based:
  * + Dynamic size
@@ -626,6 +1337,10 @@ public class Stack {
  * - Extra memory for pointers
  * - Poor cache locality
  * 
+ * Compiling Expressions:
+ * - Parse once (shunting-yard) into bytecode, evaluate many times
+ * - Evaluation is a tight loop over an int[] with a reusable operand stack
+ * 
  * Common Stack Problems:
  * - Stack Overflow: Pushing to full stack
  * - Stack Underflow: Popping from empty stack
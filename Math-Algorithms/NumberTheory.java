@@ -10,6 +10,298 @@
  */
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Segmented Sieve of Eratosthenes over a compact bitset.
+ * - Odd numbers only: bit g of the global bitset stands for 2g + 1
+ * - Segments of 32 KB (262,144 bits) so the marking loop stays in L1
+ * - Wheel: each segment starts as a copy of a precomputed pattern with
+ *   the multiples of 3, 5, 7, 11 and 13 already cleared, so only primes
+ *   from 17 up are sieved
+ * - Segments are independent, so batches of them are sieved in parallel
+ * Only one batch of segments is in memory at a time, so limits far beyond
+ * the 2^31 of a boolean[] sieve are possible (up to MAX_LIMIT).
+ */
+class SegmentedSieve {
+    
+    static final int SEGMENT_BYTES = 32 * 1024;
+    static final int SEGMENT_BITS = SEGMENT_BYTES * 8;
+    static final long MAX_LIMIT = 1L << 50;             // Base primes up to 2^25 fit in a boolean[] sieve
+    private static final int[] WHEEL_PRIMES = {3, 5, 7, 11, 13};
+    private static final int WHEEL_PERIOD = 3 * 5 * 7 * 11 * 13; // In bits; 64 periods = WHEEL_PERIOD words
+    private static final long[] WHEEL_PATTERN = buildWheelPattern();
+    
+    private final long limit;
+    private final int[] basePrimes;   // Odd primes from 17 up to √limit
+    
+    SegmentedSieve(long limit) {
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be in [0, 2^50]: " + limit);
+        }
+        this.limit = limit;
+        int root = (int) Math.sqrt((double) limit);
+        while ((long) (root + 1) * (root + 1) <= limit) {
+            root++;
+        }
+        boolean[] small = NumberTheory.sieveOfEratosthenes(Math.max(root, 1));
+        int count = 0;
+        for (int p = 17; p <= root; p += 2) {
+            count += small[p] ? 1 : 0;
+        }
+        basePrimes = new int[count];
+        for (int p = 17, k = 0; p <= root; p += 2) {
+            if (small[p]) {
+                basePrimes[k++] = p;
+            }
+        }
+    }
+    
+    private static long[] buildWheelPattern() {
+        long[] pattern = new long[WHEEL_PERIOD];
+        Arrays.fill(pattern, -1L);
+        for (int p : WHEEL_PRIMES) {
+            // 2g + 1 ≡ 0 (mod p) first at g = (p - 1) / 2, then every p bits
+            for (long g = (p - 1) / 2; g < 64L * WHEEL_PERIOD; g += p) {
+                pattern[(int) (g >>> 6)] &= ~(1L << g);
+            }
+        }
+        return pattern;
+    }
+    
+    /**
+     * Number of segments needed to cover the odd numbers up to limit
+     */
+    long segmentCount() {
+        if (limit < 3) {
+            return 0;
+        }
+        long oddBits = (limit - 1) / 2 + 1;   // Bits for 1, 3, 5, ..., largest odd <= limit
+        return (oddBits + SEGMENT_BITS - 1) / SEGMENT_BITS;
+    }
+    
+    /**
+     * Sieve one segment into bits (length SEGMENT_BITS / 64); a set bit is a prime
+     * Time Complexity: O(S log log n + π(√n)) for segment size S
+     */
+    void sieveSegment(long segment, long[] bits) {
+        long firstBit = segment * SEGMENT_BITS;
+        long low = 2 * firstBit + 1;                     // Number at bit 0
+        long high = low + 2L * SEGMENT_BITS;             // Exclusive
+        
+        // Wheel pre-sieve: copy the pattern (segments start on word boundaries)
+        int offset = (int) ((firstBit >>> 6) % WHEEL_PERIOD);
+        for (int w = 0; w < bits.length; ) {
+            int run = Math.min(bits.length - w, WHEEL_PERIOD - offset);
+            System.arraycopy(WHEEL_PATTERN, offset, bits, w, run);
+            w += run;
+            offset = 0;
+        }
+        if (segment == 0) {
+            bits[0] &= ~1L;                              // 1 is not prime
+            for (int p : WHEEL_PRIMES) {
+                bits[0] |= 1L << ((p - 1) / 2);          // The wheel primes themselves
+            }
+        }
+        
+        for (int p : basePrimes) {
+            long square = (long) p * p;
+            if (square >= high) {
+                break;
+            }
+            long start = square >= low ? square : (low + p - 1) / p * p;
+            if ((start & 1) == 0) {
+                start += p;                              // Odd multiples only
+            }
+            for (long i = (start - low) >>> 1; i < SEGMENT_BITS; i += p) {
+                bits[(int) (i >>> 6)] &= ~(1L << i);
+            }
+        }
+        
+        // Clear bits past the limit in the last segment
+        if (high > limit + 1) {
+            long lastBit = limit >= low ? (limit - low) / 2 : -1;
+            for (long i = lastBit + 1; i < SEGMENT_BITS; i++) {
+                if ((i & 63) == 0) {
+                    Arrays.fill(bits, (int) (i >>> 6), bits.length, 0L);
+                    break;
+                }
+                bits[(int) (i >>> 6)] &= ~(1L << i);
+            }
+        }
+    }
+    
+    /**
+     * Count primes <= limit without materializing them
+     * Time Complexity: O(n log log n / p)
+     */
+    long count(boolean parallel) {
+        ThreadLocal<long[]> buffers = ThreadLocal.withInitial(() -> new long[SEGMENT_BITS / 64]);
+        LongStream segments = LongStream.range(0, segmentCount());
+        long odd = (parallel ? segments.parallel() : segments).map(segment -> {
+            long[] bits = buffers.get();
+            sieveSegment(segment, bits);
+            long primes = 0;
+            for (long word : bits) {
+                primes += Long.bitCount(word);
+            }
+            return primes;
+        }).sum();
+        return odd + (limit >= 2 ? 1 : 0);
+    }
+    
+    /**
+     * Streams the primes <= limit in increasing order; segments are sieved
+     * ahead in batches (in parallel when requested)
+     */
+    PrimitiveIterator.OfLong iterator(boolean parallel) {
+        return new PrimeIterator(parallel);
+    }
+    
+    private final class PrimeIterator implements PrimitiveIterator.OfLong {
+        private final long[][] batch;
+        private final boolean parallel;
+        private long nextSegment;          // First segment not yet sieved
+        private int batchSize;             // Segments sieved in the current batch
+        private int current;               // Segment being scanned within the batch
+        private int wordIndex;
+        private long word;
+        private long next;                 // Next prime, or -1 when exhausted
+        
+        PrimeIterator(boolean parallel) {
+            this.parallel = parallel;
+            int slots = parallel ? 4 * ForkJoinPool.commonPool().getParallelism() : 1;
+            batch = new long[(int) Math.min(slots, Math.max(1, segmentCount()))][SEGMENT_BITS / 64];
+            current = 0;
+            wordIndex = -1;
+            next = limit >= 2 ? 2 : -1;    // 2 is the only even prime
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+        
+        @Override
+        public long nextLong() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            long prime = next;
+            next = advance();
+            return prime;
+        }
+        
+        private long advance() {
+            while (word == 0) {
+                if (++wordIndex == SEGMENT_BITS / 64) {
+                    wordIndex = 0;
+                    current++;
+                }
+                if (current >= batchSize) {
+                    if (!sieveNextBatch()) {
+                        return -1;
+                    }
+                }
+                word = batch[current][wordIndex];
+            }
+            int bit = Long.numberOfTrailingZeros(word);
+            word &= word - 1;
+            long segment = nextSegment - batchSize + current;
+            return 2 * (segment * SEGMENT_BITS + 64L * wordIndex + bit) + 1;
+        }
+        
+        private boolean sieveNextBatch() {
+            long remaining = segmentCount() - nextSegment;
+            if (remaining <= 0) {
+                return false;
+            }
+            batchSize = (int) Math.min(batch.length, remaining);
+            long first = nextSegment;
+            IntStream slots = IntStream.range(0, batchSize);
+            (parallel ? slots.parallel() : slots).forEach(k -> sieveSegment(first + k, batch[k]));
+            nextSegment += batchSize;
+            current = 0;
+            wordIndex = 0;
+            return true;
+        }
+    }
+}
+
+/**
+ * Montgomery arithmetic modulo an odd n < 2^63: residues are kept as
+ * x·2^64 mod n, so a modular multiply is two 64x64-bit products
+ * (Math.multiplyHigh for the upper halves) and no division
+ */
+final class Montgomery {
+    
+    final long n;
+    final long one;           // 2^64 mod n, i.e. 1 in Montgomery form
+    private final long nPrime;     // -n^-1 mod 2^64
+    private final long r2;         // 2^128 mod n, converts into Montgomery form
+    
+    Montgomery(long n) {
+        if (n <= 1 || (n & 1) == 0) {
+            throw new IllegalArgumentException("Modulus must be odd and > 1: " + n);
+        }
+        this.n = n;
+        long inverse = n;                 // Newton: each step doubles the correct low bits (3 -> 96)
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - n * inverse;
+        }
+        nPrime = -inverse;
+        one = Long.remainderUnsigned(-n, n);   // (2^64 - n) mod n == 2^64 mod n
+        long r = one;
+        for (int i = 0; i < 64; i++) {          // 2^64 · 2^64 mod n by doubling
+            r = add(r, r);
+        }
+        r2 = r;
+    }
+    
+    static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+    
+    /**
+     * (hi·2^64 + lo) · 2^-64 mod n, for hi < n
+     */
+    private long reduce(long hi, long lo) {
+        long m = lo * nPrime;
+        long t = hi + unsignedMultiplyHigh(m, n) + (lo != 0 ? 1 : 0); // lo + m·n carries unless lo == 0
+        return Long.compareUnsigned(t, n) >= 0 ? t - n : t;
+    }
+    
+    long multiply(long a, long b) {
+        return reduce(unsignedMultiplyHigh(a, b), a * b);
+    }
+    
+    long add(long a, long b) {
+        long sum = a + b;                       // < 2n < 2^64, compared unsigned
+        return Long.compareUnsigned(sum, n) >= 0 ? sum - n : sum;
+    }
+    
+    long toMontgomery(long x) {
+        return multiply(Long.remainderUnsigned(x, n), r2);
+    }
+    
+    long fromMontgomery(long x) {
+        return reduce(0, x);
+    }
+    
+    long pow(long base, long exp) {
+        long result = one;
+        while (exp > 0) {
+            if ((exp & 1) == 1) {
+                result = multiply(result, base);
+            }
+            base = multiply(base, base);
+            exp >>>= 1;
+        }
+        return result;
+    }
+}
 
 public class NumberTheory {
     
@@ -37,10 +329,21 @@ public class NumberTheory {
         System.out.println("\n=== Sieve of Eratosthenes ===");
         demonstrateSieve();
         
+        System.out.println("\n=== Segmented Sieve Benchmark ===");
+        segmentedSieveBenchmark();
+        
         // ========== FACTORIZATION ==========
         
         System.out.println("\n=== Prime Factorization ===");
         demonstrateFactorization();
+        
+        // ========== 64-BIT PRIMALITY AND FACTORIZATION ==========
+        
+        System.out.println("\n=== 64-bit Miller-Rabin and Pollard-rho ===");
+        demonstrateLongPrimality();
+        
+        System.out.println("\n=== Miller-Rabin / Pollard-rho Benchmark ===");
+        longPrimalityBenchmark();
     }
     
     /**
@@ -98,19 +401,20 @@ public class NumberTheory {
     }
     
     /**
-     * Generate first n prime numbers
+     * Generate first n prime numbers by streaming a segmented sieve up to
+     * an upper bound on the n-th prime: p_n < n(ln n + ln ln n) for n >= 6
+     * Time Complexity: O(n log n log log n)
      */
     public static List<Integer> generatePrimes(int count) {
-        List<Integer> primes = new ArrayList<>();
-        int num = 2;
-        
+        List<Integer> primes = new ArrayList<>(Math.max(count, 0));
+        if (count <= 0) {
+            return primes;
+        }
+        long bound = count < 6 ? 13 : (long) Math.ceil(count * (Math.log(count) + Math.log(Math.log(count))));
+        PrimitiveIterator.OfLong iterator = new SegmentedSieve(bound).iterator(count > 100_000);
         while (primes.size() < count) {
-            if (isPrimeOptimized(num)) {
-                primes.add(num);
-            }
-            num++;
+            primes.add(Math.toIntExact(iterator.nextLong()));
         }
-        
         return primes;
     }
     
@@ -288,6 +592,66 @@ public class NumberTheory {
         return isPrime;
     }
     
+    /**
+     * Compare the boolean[] sieve with the segmented bitset sieve
+     */
+    public static void segmentedSieveBenchmark() {
+        SegmentedSieve small = new SegmentedSieve(100);
+        StringBuilder sb = new StringBuilder();
+        for (PrimitiveIterator.OfLong it = small.iterator(false); it.hasNext(); ) {
+            sb.append(it.nextLong()).append(' ');
+        }
+        System.out.println("Segmented sieve, primes up to 100: " + sb.toString().trim());
+        System.out.println("Parallelism: " + ForkJoinPool.commonPool().getParallelism());
+        
+        System.out.printf("%14s %12s %12s %12s %12s%n", "Limit", "pi(n)", "boolean[] ms", "Segmented ms",
+                          "Parallel ms");
+        for (long limit : new long[] {10_000_000L, 100_000_000L, 1_000_000_000L}) {
+            String plain = "n/a";
+            long expected = -1;
+            if (limit <= 100_000_000L) {
+                long start = System.nanoTime();
+                boolean[] isPrime = sieveOfEratosthenes((int) limit);
+                expected = 0;
+                for (boolean prime : isPrime) {
+                    expected += prime ? 1 : 0;
+                }
+                plain = String.format("%.1f", (System.nanoTime() - start) / 1e6);
+            }
+            SegmentedSieve sieve = new SegmentedSieve(limit);
+            long start = System.nanoTime();
+            long sequential = sieve.count(false);
+            double sequentialMs = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            long parallel = sieve.count(true);
+            double parallelMs = (System.nanoTime() - start) / 1e6;
+            if (sequential != parallel || (expected >= 0 && expected != sequential)) {
+                throw new IllegalStateException("Sieves disagree at " + limit);
+            }
+            System.out.printf("%,14d %,12d %12s %12.1f %12.1f%n", limit, sequential, plain, sequentialMs,
+                              parallelMs);
+        }
+        System.out.println("Memory: boolean[] needs 1 byte per number (1 GB at 10^9); the odd-only bitset");
+        System.out.println("needs 1 bit per 2 numbers, and only one batch of 32 KB segments is live at a time");
+        
+        long start = System.nanoTime();
+        List<Integer> trialDivision = new ArrayList<>();
+        for (int n = 2; trialDivision.size() < 200_000; n++) {
+            if (isPrimeOptimized(n)) {
+                trialDivision.add(n);
+            }
+        }
+        double trialMs = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        List<Integer> sieved = generatePrimes(200_000);
+        double sievedMs = (System.nanoTime() - start) / 1e6;
+        if (!sieved.equals(trialDivision)) {
+            throw new IllegalStateException("generatePrimes disagrees with trial division");
+        }
+        System.out.printf("First 200,000 primes: trial division %.1f ms, generatePrimes (sieve) %.1f ms%n",
+                          trialMs, sievedMs);
+    }
+    
     /**
      * Demonstrate prime factorization
      */
@@ -330,20 +694,296 @@ public class NumberTheory {
         return factors;
     }
     
+    // Bases that make Miller-Rabin deterministic for every n < 2^64
+    private static final long[] MILLER_RABIN_BASES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+    private static final int TRIAL_DIVISION_LIMIT = 1000;
+    private static final int[] SMALL_PRIMES = smallPrimes(TRIAL_DIVISION_LIMIT);
+    private static final int BATCH_PARALLEL_THRESHOLD = 1024;
+    
+    private static int[] smallPrimes(int limit) {
+        boolean[] isPrime = sieveOfEratosthenes(limit);
+        return IntStream.rangeClosed(2, limit).filter(i -> isPrime[i]).toArray();
+    }
+    
+    /**
+     * Deterministic Miller-Rabin for 64-bit inputs, with Montgomery multiplication
+     * Time Complexity: O(k log n) modular multiplications, k = 12 bases
+     */
+    public static boolean isPrime(long n) {
+        if (n < 2) return false;
+        for (int p : SMALL_PRIMES) {
+            if (n % p == 0) return n == p;
+            if ((long) p * p > n) return true;
+            if (p > 37) break;               // Cheap filter only; Miller-Rabin does the rest
+        }
+        Montgomery mont = new Montgomery(n);
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>>= s;
+        long minusOne = n - mont.one;        // -1 in Montgomery form
+        
+        for (long base : MILLER_RABIN_BASES) {
+            long x = mont.pow(mont.toMontgomery(base), d);
+            if (x == mont.one || x == minusOne) {
+                continue;
+            }
+            boolean witness = true;
+            for (int r = 1; r < s && witness; r++) {
+                x = mont.multiply(x, x);
+                witness = x != minusOne;
+            }
+            if (witness) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Prime factorization of a long: trial division by primes below 1000,
+     * then Miller-Rabin and Pollard-rho (Brent) on what is left. Factors
+     * are returned in increasing order.
+     * Time Complexity: O(n^(1/4)) expected per split
+     */
+    public static List<Long> primeFactorization(long n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Cannot factor " + n);
+        }
+        List<Long> factors = new ArrayList<>();
+        for (int p : SMALL_PRIMES) {
+            if ((long) p * p > n) {
+                break;
+            }
+            while (n % p == 0) {
+                factors.add((long) p);
+                n /= p;
+            }
+        }
+        if (n > 1) {
+            splitLargeFactor(n, factors);
+        }
+        Collections.sort(factors);
+        return factors;
+    }
+    
+    // n has no prime factor below TRIAL_DIVISION_LIMIT
+    private static void splitLargeFactor(long n, List<Long> factors) {
+        if (n < (long) TRIAL_DIVISION_LIMIT * TRIAL_DIVISION_LIMIT || isPrime(n)) {
+            factors.add(n);
+            return;
+        }
+        long divisor = pollardBrent(n);
+        splitLargeFactor(divisor, factors);
+        splitLargeFactor(n / divisor, factors);
+    }
+    
+    /**
+     * Pollard's rho with Brent's cycle detection: iterates x -> x² + c in
+     * Montgomery form and batches 128 differences into one gcd
+     * Returns a nontrivial divisor of the odd composite n
+     */
+    private static long pollardBrent(long n) {
+        Montgomery mont = new Montgomery(n);
+        for (long c = 1; ; c++) {
+            long increment = mont.toMontgomery(c);
+            long y = mont.toMontgomery(2);
+            long x = y;
+            long saved = y;
+            long q = mont.one;
+            long g = 1;
+            for (long r = 1; g == 1; r <<= 1) {
+                x = y;
+                for (long i = 0; i < r; i++) {
+                    y = mont.add(mont.multiply(y, y), increment);
+                }
+                for (long k = 0; k < r && g == 1; k += 128) {
+                    saved = y;
+                    for (long i = 0; i < Math.min(128, r - k); i++) {
+                        y = mont.add(mont.multiply(y, y), increment);
+                        q = mont.multiply(q, Math.abs(x - y));   // Residues < 2^63, so the difference fits
+                    }
+                    g = binaryGcd(q, n);
+                }
+            }
+            if (g == n) {
+                // The batch overshot: redo it one step at a time
+                do {
+                    saved = mont.add(mont.multiply(saved, saved), increment);
+                    g = binaryGcd(Math.abs(x - saved), n);
+                } while (g == 1);
+            }
+            if (g != n) {
+                return g;
+            }
+            // Cycle closed without a split: try another polynomial
+        }
+    }
+    
+    private static long binaryGcd(long a, long b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>>= Long.numberOfTrailingZeros(a);
+        while (b != 0) {
+            b >>>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        }
+        return a << shift;
+    }
+    
+    /**
+     * Batch primality test; large batches run in parallel
+     */
+    public static boolean[] isPrime(long[] values) {
+        boolean[] result = new boolean[values.length];
+        IntStream indexes = IntStream.range(0, values.length);
+        (values.length >= BATCH_PARALLEL_THRESHOLD ? indexes.parallel() : indexes)
+            .forEach(i -> result[i] = isPrime(values[i]));
+        return result;
+    }
+    
+    /**
+     * Batch factorization; result[i] holds the prime factors of values[i] in increasing order
+     */
+    public static long[][] primeFactorization(long[] values) {
+        long[][] result = new long[values.length][];
+        IntStream indexes = IntStream.range(0, values.length);
+        (values.length >= BATCH_PARALLEL_THRESHOLD ? indexes.parallel() : indexes)
+            .forEach(i -> result[i] = primeFactorization(values[i]).stream().mapToLong(Long::longValue).toArray());
+        return result;
+    }
+    
+    /**
+     * Demonstrate 64-bit primality testing and factorization
+     */
+    public static void demonstrateLongPrimality() {
+        long[] numbers = {
+            1_000_000_007L,                       // Prime
+            3_215_031_751L,                       // Strong pseudoprime to bases 2, 3, 5, 7
+            9_223_372_036_854_775_783L,           // Largest prime below 2^63
+            4_611_686_014_132_420_609L,           // (2^31 - 1)²
+            999_999_000_001L * 1_000_003L,        // Two large primes
+            600_851_475_143L
+        };
+        for (long n : numbers) {
+            System.out.printf("%,26d: isPrime=%-5s = %s%n", n, isPrime(n), formatFactors(primeFactorization(n)));
+        }
+        boolean[] batch = isPrime(new long[] {97, 98, 99, 101});
+        System.out.println("Batch isPrime(97, 98, 99, 101) = " + Arrays.toString(batch));
+    }
+    
+    /**
+     * Miller-Rabin and Pollard-rho vs the trial-division methods
+     */
+    public static void longPrimalityBenchmark() {
+        Random random = new Random(42);
+        int count = 200_000;
+        int[] ints = new int[count];
+        long[] intsAsLongs = new long[count];
+        for (int i = 0; i < count; i++) {
+            ints[i] = random.nextInt(Integer.MAX_VALUE - 1) + 2;
+            intsAsLongs[i] = ints[i];
+        }
+        
+        long start = System.nanoTime();
+        int trialPrimes = 0;
+        for (int n : ints) {
+            trialPrimes += isPrimeOptimized(n) ? 1 : 0;
+        }
+        double trialMs = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        int millerRabinPrimes = 0;
+        for (long n : intsAsLongs) {
+            millerRabinPrimes += isPrime(n) ? 1 : 0;
+        }
+        double millerRabinMs = (System.nanoTime() - start) / 1e6;
+        if (trialPrimes != millerRabinPrimes) {
+            throw new IllegalStateException("Primality tests disagree");
+        }
+        System.out.printf("%,d random ints, isPrimeOptimized: %.1f ms, isPrime(long): %.1f ms%n",
+                          count, trialMs, millerRabinMs);
+        
+        int factorCount = 20_000;
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < factorCount; i++) {
+            checksum += primeFactorization(ints[i]).size();
+        }
+        trialMs = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        for (int i = 0; i < factorCount; i++) {
+            checksum -= primeFactorization(intsAsLongs[i]).size();
+        }
+        double rhoMs = (System.nanoTime() - start) / 1e6;
+        if (checksum != 0) {
+            throw new IllegalStateException("Factorizations disagree");
+        }
+        System.out.printf("%,d random ints, primeFactorization(int): %.1f ms, primeFactorization(long): %.1f ms%n",
+                          factorCount, trialMs, rhoMs);
+        
+        // 64-bit inputs, where trial division up to √n (~3·10^9 steps) is out of reach
+        long[] longs = new long[count];
+        for (int i = 0; i < count; i++) {
+            longs[i] = random.nextLong() >>> 1 | 1;
+        }
+        start = System.nanoTime();
+        boolean[] sequential = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            sequential[i] = isPrime(longs[i]);
+        }
+        double sequentialMs = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        boolean[] batch = isPrime(longs);
+        double batchMs = (System.nanoTime() - start) / 1e6;
+        if (!Arrays.equals(sequential, batch)) {
+            throw new IllegalStateException("Batch primality disagrees");
+        }
+        System.out.printf("%,d random 63-bit odd longs, isPrime: %.1f ms (%.0f ns each), batch: %.1f ms%n",
+                          count, sequentialMs, sequentialMs * 1e6 / count, batchMs);
+        
+        long[] semiprimes = new long[1000];
+        for (int i = 0; i < semiprimes.length; i++) {
+            semiprimes[i] = randomPrime(random, 1L << 30) * randomPrime(random, 1L << 31);
+        }
+        start = System.nanoTime();
+        long[][] factors = primeFactorization(semiprimes);
+        double semiprimeMs = (System.nanoTime() - start) / 1e6;
+        for (int i = 0; i < semiprimes.length; i++) {
+            if (factors[i].length != 2 || factors[i][0] * factors[i][1] != semiprimes[i]) {
+                throw new IllegalStateException("Bad factorization of " + semiprimes[i]);
+            }
+        }
+        System.out.printf("%,d semiprimes of two ~31-bit primes, batch primeFactorization: %.1f ms (%.1f us each)%n",
+                          semiprimes.length, semiprimeMs, semiprimeMs * 1e3 / semiprimes.length);
+    }
+    
+    private static long randomPrime(Random random, long bound) {
+        long candidate;
+        do {
+            candidate = bound + (random.nextLong() >>> 1) % bound;
+        } while (!isPrime(candidate));
+        return candidate;
+    }
+    
     /**
      * Format factors for display
      */
-    public static String formatFactors(List<Integer> factors) {
+    public static String formatFactors(List<? extends Number> factors) {
         if (factors.isEmpty()) return "1";
         
-        Map<Integer, Integer> factorCount = new HashMap<>();
-        for (int factor : factors) {
-            factorCount.put(factor, factorCount.getOrDefault(factor, 0) + 1);
+        Map<Long, Integer> factorCount = new TreeMap<>();
+        for (Number factor : factors) {
+            factorCount.merge(factor.longValue(), 1, Integer::sum);
         }
         
         StringBuilder sb = new StringBuilder();
         boolean first = true;
-        for (Map.Entry<Integer, Integer> entry : factorCount.entrySet()) {
+        for (Map.Entry<Long, Integer> entry : factorCount.entrySet()) {
             if (!first) sb.append(" × ");
             sb.append(entry.getKey());
             if (entry.getValue() > 1) {
@@ -378,8 +1018,15 @@ public class NumberTheory {
  *    - Skip even numbers (except 2) for prime checking
  *    - Use bit operations for fast division/multiplication by 2
  *    - Precompute results using sieve for multiple queries
+ *    - Segmented sieve: cache-sized segments, 1 bit per odd number,
+ *      a wheel pattern for small primes, independent segments in parallel
+ * 
+ * 5. 64-bit Inputs:
+ *    - Miller-Rabin with 12 fixed bases is deterministic below 2^64
+ *    - Montgomery form replaces the % in every modular multiply
+ *    - Pollard-rho (Brent) splits composites in about n^(1/4) steps
  * 
- * 5. Applications:
+ * 6. Applications:
  *    - Cryptography (RSA, Diffie-Hellman)
  *    - Hash functions
  *    - Random number generation
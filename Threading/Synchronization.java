@@ -7,8 +7,20 @@
  * - Master wait(), notify(), and notifyAll() methods
  * - Practice producer-consumer pattern
  * - Understand deadlock and how to prevent it
+ * - Compare lock-based hand-off with a lock-free ring buffer
  */
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
 /**
  * Counter class demonstrating race condition and synchronization
  */
@@ -93,16 +105,24 @@ class SharedBuffer {
     private int count = 0;
     private int in = 0;
     private int out = 0;
+    private final boolean verbose; // Print every operation (off for benchmarks)
     
     public SharedBuffer(int size) {
+        this(size, true);
+    }
+    
+    public SharedBuffer(int size, boolean verbose) {
         buffer = new int[size];
+        this.verbose = verbose;
     }
     
     // Producer method
     public synchronized void produce(int item) throws InterruptedException {
         // Wait if buffer is full
         while (count == buffer.length) {
-            System.out.println("Buffer full. Producer waiting...");
+            if (verbose) {
+                System.out.println("Buffer full. Producer waiting...");
+            }
             wait();
         }
         
@@ -110,7 +130,9 @@ class SharedBuffer {
         in = (in + 1) % buffer.length;
         count++;
         
-        System.out.println("Produced: " + item + " (Buffer count: " + count + ")");
+        if (verbose) {
+            System.out.println("Produced: " + item + " (Buffer count: " + count + ")");
+        }
         
         // Notify waiting consumers
         notifyAll();
@@ -120,7 +142,9 @@ class SharedBuffer {
     public synchronized int consume() throws InterruptedException {
         // Wait if buffer is empty
         while (count == 0) {
-            System.out.println("Buffer empty. Consumer waiting...");
+            if (verbose) {
+                System.out.println("Buffer empty. Consumer waiting...");
+            }
             wait();
         }
         
@@ -128,7 +152,9 @@ class SharedBuffer {
         out = (out + 1) % buffer.length;
         count--;
         
-        System.out.println("Consumed: " + item + " (Buffer count: " + count + ")");
+        if (verbose) {
+            System.out.println("Consumed: " + item + " (Buffer count: " + count + ")");
+        }
         
         // Notify waiting producers
         notifyAll();
@@ -141,6 +167,294 @@ class SharedBuffer {
     }
 }
 
+/**
+ * Strategy used by MpmcRingBuffer while a producer waits for space or a
+ * consumer waits for data. Trades CPU usage against hand-off latency.
+ */
+interface WaitStrategy {
+    
+    /**
+     * Wait until condition.getAsBoolean() might be true (spurious returns are fine)
+     */
+    void await(BooleanSupplier condition) throws InterruptedException;
+    
+    /**
+     * Called after every successful offer/poll to wake blocked threads
+     */
+    void signalAll();
+}
+
+/**
+ * Busy-spin: lowest latency, burns a full core per waiting thread
+ */
+class SpinningWaitStrategy implements WaitStrategy {
+    public void await(BooleanSupplier condition) {
+        while (!condition.getAsBoolean()) {
+            Thread.onSpinWait();
+        }
+    }
+    
+    public void signalAll() {
+        // Nothing to do: spinning threads notice the change by themselves
+    }
+}
+
+/**
+ * Spin for a while, then give the CPU to other threads between checks
+ */
+class YieldingWaitStrategy implements WaitStrategy {
+    private static final int SPIN_TRIES = 100;
+    
+    public void await(BooleanSupplier condition) {
+        int counter = SPIN_TRIES;
+        while (!condition.getAsBoolean()) {
+            if (counter > 0) {
+                counter--;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+    
+    public void signalAll() {
+        // Nothing to do: yielding threads poll the condition
+    }
+}
+
+/**
+ * Park on a Condition like SharedBuffer's wait()/notifyAll(),
+ * but only take the lock to signal when someone is actually waiting
+ */
+class BlockingWaitStrategy implements WaitStrategy {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private volatile int waiters = 0;
+    
+    public void await(BooleanSupplier condition) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return;
+        }
+        lock.lock();
+        try {
+            waiters++;
+            // Re-check under the lock: a signal can't slip in between check and await
+            while (!condition.getAsBoolean()) {
+                changed.await();
+            }
+        } finally {
+            waiters--;
+            lock.unlock();
+        }
+    }
+    
+    public void signalAll() {
+        if (waiters > 0) {
+            lock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
+
+/**
+ * Cursor padded on both sides so the producer and consumer cursors never
+ * share a cache line (avoids false sharing between producer and consumer cores)
+ */
+class PaddedCursor {
+    private static final VarHandle VALUE;
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedCursor.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    long p01, p02, p03, p04, p05, p06, p07;         // Padding before
+    private volatile long value;
+    long p11, p12, p13, p14, p15, p16, p17;         // Padding after
+    
+    long get() {
+        return value;
+    }
+    
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
+
+/**
+ * Bounded multi-producer / multi-consumer ring buffer (Disruptor / Vyukov style).
+ *
+ * Every slot carries a sequence number telling whose turn it is:
+ * - sequence == position      -> slot is free for the producer claiming 'position'
+ * - sequence == position + 1  -> slot holds data for the consumer claiming 'position'
+ * Producers and consumers claim positions with a CAS on their own cursor,
+ * so there is no lock and producers never touch the consumer cursor.
+ */
+class MpmcRingBuffer<T> {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final PaddedCursor tail = new PaddedCursor(); // Next position to produce
+    private final PaddedCursor head = new PaddedCursor(); // Next position to consume
+    private final WaitStrategy waitStrategy;
+    
+    // Created once so waiting never allocates
+    private final BooleanSupplier notFull = () -> !isFull();
+    private final BooleanSupplier notEmpty = () -> !isEmpty();
+    
+    public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    /**
+     * Try to add an element, returning false when the buffer is full
+     * Time Complexity: O(1), lock-free
+     */
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = item;
+                    sequences.set(index, position + 1); // Publish to consumers
+                    waitStrategy.signalAll();
+                    return true;
+                }
+                position = tail.get(); // Lost the race, retry with the new tail
+            } else if (difference < 0) {
+                return false; // Slot still holds data from one lap ago: full
+            } else {
+                position = tail.get(); // Another producer moved on
+            }
+        }
+    }
+    
+    /**
+     * Try to remove an element, returning null when the buffer is empty
+     * Time Complexity: O(1), lock-free
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = (T) buffer[index];
+                    buffer[index] = null; // Help GC
+                    sequences.set(index, position + mask + 1); // Free for the next lap
+                    waitStrategy.signalAll();
+                    return item;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null; // Nothing published here yet: empty
+            } else {
+                position = head.get();
+            }
+        }
+    }
+    
+    /**
+     * Add an element, waiting (per the wait strategy) while the buffer is full
+     */
+    public void put(T item) throws InterruptedException {
+        while (!offer(item)) {
+            waitStrategy.await(notFull);
+        }
+    }
+    
+    /**
+     * Remove an element, waiting (per the wait strategy) while the buffer is empty
+     */
+    public T take() throws InterruptedException {
+        T item;
+        while ((item = poll()) == null) {
+            waitStrategy.await(notEmpty);
+        }
+        return item;
+    }
+    
+    /**
+     * Move up to maxElements ready elements into the collection.
+     * The whole batch is claimed with a single CAS on the consumer cursor.
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        while (true) {
+            long position = head.get();
+            
+            // Count how many consecutive slots are already published
+            int available = 0;
+            while (available < maxElements && available <= mask
+                    && sequences.get((int) (position + available) & mask) == position + available + 1) {
+                available++;
+            }
+            if (available == 0) {
+                return 0;
+            }
+            
+            if (head.compareAndSet(position, position + available)) {
+                for (int i = 0; i < available; i++) {
+                    int index = (int) (position + i) & mask;
+                    target.add((T) buffer[index]);
+                    buffer[index] = null;
+                    sequences.set(index, position + i + mask + 1);
+                }
+                waitStrategy.signalAll();
+                return available;
+            }
+        }
+    }
+    
+    public int drainTo(Collection<? super T> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Approximate size: exact only when no other thread is active
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+    
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+    
+    public boolean isFull() {
+        return tail.get() - head.get() >= capacity();
+    }
+    
+    public int capacity() {
+        return mask + 1;
+    }
+}
+
 /**
  * Deadlock demonstration classes
  */
@@ -285,6 +599,12 @@ public class Synchronization {
         System.out.println("\n=== Producer-Consumer Pattern ===");
         producerConsumerDemo();
         
+        // ========== LOCK-FREE RING BUFFER ==========
+        
+        System.out.println("\n=== Lock-Free Ring Buffer ===");
+        ringBufferDemo();
+        ringBufferBenchmark();
+        
         // ========== DEADLOCK DEMONSTRATION ==========
         
         System.out.println("\n=== Deadlock Demonstration ===");
@@ -466,6 +786,139 @@ public class Synchronization {
         System.out.println("Final buffer count: " + buffer.getCount());
     }
     
+    /**
+     * Demonstrates the MPMC ring buffer API
+     */
+    public static void ringBufferDemo() {
+        MpmcRingBuffer<String> ring = new MpmcRingBuffer<>(4, new BlockingWaitStrategy());
+        
+        System.out.println("Ring buffer with capacity " + ring.capacity());
+        for (String item : new String[] {"A", "B", "C", "D", "E"}) {
+            System.out.println("offer(" + item + "): " + ring.offer(item));
+        }
+        System.out.println("Is full: " + ring.isFull());
+        System.out.println("poll(): " + ring.poll());
+        
+        List<String> batch = new ArrayList<>();
+        int drained = ring.drainTo(batch);
+        System.out.println("drainTo moved " + drained + " elements in one batch: " + batch);
+        System.out.println("poll() on empty buffer: " + ring.poll());
+    }
+    
+    /**
+     * Simple abstraction so the same producer/consumer harness can drive
+     * SharedBuffer, ArrayBlockingQueue and MpmcRingBuffer
+     */
+    private interface HandOff {
+        void put(Integer item) throws InterruptedException;
+        Integer take() throws InterruptedException;
+    }
+    
+    /**
+     * Compare hand-off throughput: 2 producers, 2 consumers, 1M items
+     */
+    public static void ringBufferBenchmark() {
+        int items = 1_000_000;
+        int producers = 2;
+        int consumers = 2;
+        int capacity = 1024;
+        
+        System.out.println("\nProducer/consumer throughput (" + producers + "P/" + consumers + "C, " +
+                           items + " items, capacity " + capacity + "):");
+        
+        SharedBuffer shared = new SharedBuffer(capacity, false);
+        runHandOff("SharedBuffer (wait/notify)", items, producers, consumers, new HandOff() {
+            public void put(Integer item) throws InterruptedException { shared.produce(item); }
+            public Integer take() throws InterruptedException { return shared.consume(); }
+        });
+        
+        ArrayBlockingQueue<Integer> queue = new ArrayBlockingQueue<>(capacity);
+        runHandOff("ArrayBlockingQueue", items, producers, consumers, new HandOff() {
+            public void put(Integer item) throws InterruptedException { queue.put(item); }
+            public Integer take() throws InterruptedException { return queue.take(); }
+        });
+        
+        MpmcRingBuffer<Integer> blocking = new MpmcRingBuffer<>(capacity, new BlockingWaitStrategy());
+        runHandOff("MpmcRingBuffer (blocking)", items, producers, consumers, new HandOff() {
+            public void put(Integer item) throws InterruptedException { blocking.put(item); }
+            public Integer take() throws InterruptedException { return blocking.take(); }
+        });
+        
+        MpmcRingBuffer<Integer> yielding = new MpmcRingBuffer<>(capacity, new YieldingWaitStrategy());
+        runHandOff("MpmcRingBuffer (yielding)", items, producers, consumers, new HandOff() {
+            public void put(Integer item) throws InterruptedException { yielding.put(item); }
+            public Integer take() throws InterruptedException { return yielding.take(); }
+        });
+        
+        // Busy spinning only makes sense with a free core for every thread
+        if (Runtime.getRuntime().availableProcessors() >= producers + consumers) {
+            MpmcRingBuffer<Integer> spinning = new MpmcRingBuffer<>(capacity, new SpinningWaitStrategy());
+            runHandOff("MpmcRingBuffer (spinning)", items, producers, consumers, new HandOff() {
+                public void put(Integer item) throws InterruptedException { spinning.put(item); }
+                public Integer take() throws InterruptedException { return spinning.take(); }
+            });
+        } else {
+            System.out.println("MpmcRingBuffer (spinning): skipped, needs one core per thread");
+        }
+    }
+    
+    private static void runHandOff(String label, int items, int producers, int consumers, HandOff handOff) {
+        Integer[] values = new Integer[1024]; // Pre-boxed so we measure the hand-off, not allocation
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        
+        Thread[] threads = new Thread[producers + consumers];
+        long[] checksums = new long[consumers];
+        for (int p = 0; p < producers; p++) {
+            final int count = items / producers;
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        handOff.put(values[i & 1023]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            final int id = c;
+            final int count = items / consumers;
+            threads[producers + c] = new Thread(() -> {
+                try {
+                    long sum = 0;
+                    for (int i = 0; i < count; i++) {
+                        sum += handOff.take();
+                    }
+                    checksums[id] = sum;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        
+        long startTime = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        
+        long checksum = 0;
+        for (long sum : checksums) {
+            checksum += sum;
+        }
+        System.out.printf("%-28s %8.2f million items/sec (checksum %d)\n",
+                          label + ":", items * 1000.0 / elapsed, checksum);
+    }
+    
     /**
      * Demonstrates deadlock and its prevention
      */
@@ -528,4 +981,10 @@ public class Synchronization {
  * - Can reduce parallelism
  * - May cause thread contention
  * - Consider lock-free alternatives for high-performance scenarios
+ * 
+ * Lock-Free Ring Buffer (MpmcRingBuffer):
+ * - Per-slot sequence numbers replace the lock and the count field
+ * - Producers and consumers claim slots with CAS on separate cursors
+ * - Cursors are padded so they don't share a cache line (false sharing)
+ * - Wait strategy picks the trade-off: spin (latency) vs block (CPU)
  */
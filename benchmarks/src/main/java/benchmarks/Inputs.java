@@ -0,0 +1,109 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Inputs.java - Test data shared by all benchmarks
+ *
+ * Distributions (the "distribution" parameter):
+ *   random      uniform values in [0, 4 * size)
+ *   sorted      already ascending
+ *   reversed    descending
+ *   duplicates  only 16 distinct values
+ *   zipf        a few values are very common, most are rare (exponent 1)
+ */
+final class Inputs {
+
+    static final int SEED = 42;
+
+    private Inputs() {
+    }
+
+    static int[] generate(String distribution, int size) {
+        Random random = new Random(SEED);
+        int[] data = new int[size];
+        switch (distribution) {
+            case "random":
+                for (int i = 0; i < size; i++) {
+                    data[i] = random.nextInt(size * 4);
+                }
+                break;
+            case "sorted":
+                for (int i = 0; i < size; i++) {
+                    data[i] = i * 4;
+                }
+                break;
+            case "reversed":
+                for (int i = 0; i < size; i++) {
+                    data[i] = (size - i) * 4;
+                }
+                break;
+            case "duplicates":
+                for (int i = 0; i < size; i++) {
+                    data[i] = random.nextInt(16);
+                }
+                break;
+            case "zipf":
+                double[] cumulative = zipfCumulative(Math.min(size, 100_000), 1.0);
+                for (int i = 0; i < size; i++) {
+                    int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+                    data[i] = (rank >= 0 ? rank : -rank - 1) + 1;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        return data;
+    }
+
+    /**
+     * Search targets: half taken from the array, half random (mostly absent)
+     */
+    static int[] searchTargets(int[] array, int count) {
+        Random random = new Random(SEED + 1);
+        int[] targets = new int[count];
+        for (int i = 0; i < count; i++) {
+            targets[i] = (i % 2 == 0) ? array[random.nextInt(array.length)] : random.nextInt(array.length * 4 + 1);
+        }
+        return targets;
+    }
+
+    /**
+     * Distinct values of a sorted array rotated left by a third,
+     * the input searchInRotatedArray expects
+     */
+    static int[] rotatedDistinct(int[] sorted) {
+        int[] distinct = Arrays.stream(sorted).distinct().toArray();
+        int by = distinct.length / 3;
+        int[] rotated = new int[distinct.length];
+        for (int i = 0; i < distinct.length; i++) {
+            rotated[i] = distinct[(i + by) % distinct.length];
+        }
+        return rotated;
+    }
+
+    /**
+     * Fail fast when a sort under test is broken, instead of timing wrong output
+     */
+    static void checkSorted(int[] array, String name) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i - 1] > array[i]) {
+                throw new IllegalStateException(name + " output is not sorted");
+            }
+        }
+    }
+
+    private static double[] zipfCumulative(int ranks, double exponent) {
+        double[] cumulative = new double[ranks];
+        double total = 0;
+        for (int k = 1; k <= ranks; k++) {
+            total += 1.0 / Math.pow(k, exponent);
+            cumulative[k - 1] = total;
+        }
+        for (int k = 0; k < ranks; k++) {
+            cumulative[k] /= total;
+        }
+        return cumulative;
+    }
+}
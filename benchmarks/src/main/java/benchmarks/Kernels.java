@@ -0,0 +1,97 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Kernels.java - Handles to the lesson methods under test
+ *
+ * The lessons live in the default package, which a class in a package cannot
+ * import, and JMH refuses benchmarks in the default package. So every method
+ * is looked up once as a MethodHandle. A static final handle is a constant to
+ * the JIT: invokeExact on it compiles to a direct, inlinable call.
+ */
+final class Kernels {
+
+    private static final MethodType SORT = MethodType.methodType(void.class, int[].class);
+    private static final MethodType RANGE_SORT = MethodType.methodType(void.class, int[].class, int.class, int.class);
+    private static final MethodType SEARCH = MethodType.methodType(int.class, int[].class, int.class);
+    private static final MethodType RANGE_SEARCH =
+        MethodType.methodType(int.class, int[].class, int.class, int.class, int.class);
+
+    // ========== Algorithms/SortingAlgorithms.java ==========
+
+    static final MethodHandle BUBBLE_SORT = find("SortingAlgorithms", "bubbleSort", SORT);
+    static final MethodHandle SELECTION_SORT = find("SortingAlgorithms", "selectionSort", SORT);
+    static final MethodHandle INSERTION_SORT = find("SortingAlgorithms", "insertionSort", SORT);
+    static final MethodHandle MERGE_SORT = find("SortingAlgorithms", "mergeSort", RANGE_SORT);
+    static final MethodHandle QUICK_SORT = find("SortingAlgorithms", "quickSort", RANGE_SORT);
+    static final MethodHandle HEAP_SORT = find("SortingAlgorithms", "heapSort", SORT);
+    static final MethodHandle PARALLEL_MERGE_SORT = find("SortingAlgorithms", "parallelMergeSort", SORT);
+    static final MethodHandle PARALLEL_QUICK_SORT = find("SortingAlgorithms", "parallelQuickSort", SORT);
+    static final MethodHandle RADIX_SORT = find("SortingAlgorithms", "radixSort", SORT);
+    static final MethodHandle RADIX_SORT_LONG =
+        find("SortingAlgorithms", "radixSort", MethodType.methodType(void.class, long[].class));
+    static final MethodHandle PARALLEL_RADIX_SORT = find("SortingAlgorithms", "parallelRadixSort", SORT);
+    static final MethodHandle COUNTING_SORT = find("SortingAlgorithms", "countingSort", SORT);
+    static final MethodHandle MSD_RADIX_SORT =
+        find("SortingAlgorithms", "msdRadixSort", MethodType.methodType(void.class, String[].class));
+
+    // ========== Arrays/ArraySorting.java ==========
+    // bubbleSort, selectionSort and insertionSort print every pass, so only these two are measured
+
+    static final MethodHandle ARRAYS_MERGE_SORT = find("ArraySorting", "mergeSort", RANGE_SORT);
+    static final MethodHandle ARRAYS_QUICK_SORT = find("ArraySorting", "quickSort", RANGE_SORT);
+
+    // ========== Algorithms/SearchingAlgorithms.java ==========
+
+    static final MethodHandle LINEAR_SEARCH = find("SearchingAlgorithms", "linearSearch", SEARCH);
+    static final MethodHandle BINARY_SEARCH_ITERATIVE = find("SearchingAlgorithms", "binarySearchIterative", SEARCH);
+    static final MethodHandle BINARY_SEARCH_RECURSIVE =
+        find("SearchingAlgorithms", "binarySearchRecursive", RANGE_SEARCH);
+    static final MethodHandle INTERPOLATION_SEARCH = find("SearchingAlgorithms", "interpolationSearch", SEARCH);
+    static final MethodHandle EXPONENTIAL_SEARCH = find("SearchingAlgorithms", "exponentialSearch", SEARCH);
+    static final MethodHandle ROTATED_SEARCH = find("SearchingAlgorithms", "searchInRotatedArray", SEARCH);
+    static final MethodHandle BRANCHLESS_BINARY_SEARCH =
+        find("SearchingAlgorithms", "branchlessBinarySearch", SEARCH);
+    static final MethodHandle LOWER_BOUND = find("SearchingAlgorithms", "lowerBound", SEARCH);
+    static final MethodHandle HYBRID_SEARCH = find("SearchingAlgorithms", "hybridSearch", SEARCH);
+    static final MethodHandle BATCH_SEARCH = find("SearchingAlgorithms", "batchSearch",
+        MethodType.methodType(void.class, int[].class, int[].class, int[].class));
+
+    // EytzingerIndex is a package-private nested class: (int[]) -> Object and (Object, int) -> int
+    static final MethodHandle EYTZINGER_NEW;
+    static final MethodHandle EYTZINGER_SEARCH;
+
+    static {
+        try {
+            Class<?> index = Class.forName("SearchingAlgorithms$EytzingerIndex");
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(index, MethodHandles.lookup());
+            EYTZINGER_NEW = lookup.findConstructor(index, MethodType.methodType(void.class, int[].class))
+                .asType(MethodType.methodType(Object.class, int[].class));
+            EYTZINGER_SEARCH = lookup.findVirtual(index, "search", MethodType.methodType(int.class, int.class))
+                .asType(MethodType.methodType(int.class, Object.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // ========== Arrays/ArraySearching.java ==========
+
+    static final MethodHandle ARRAYS_LINEAR_SEARCH = find("ArraySearching", "linearSearch", SEARCH);
+    static final MethodHandle ARRAYS_BINARY_SEARCH = find("ArraySearching", "binarySearch", SEARCH);
+    static final MethodHandle ARRAYS_BINARY_SEARCH_RECURSIVE =
+        find("ArraySearching", "binarySearchRecursive", RANGE_SEARCH);
+
+    private Kernels() {
+    }
+
+    private static MethodHandle find(String className, String method, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().findStatic(Class.forName(className), method, type);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
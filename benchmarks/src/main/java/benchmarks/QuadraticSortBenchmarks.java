@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * QuadraticSortBenchmarks.java - The O(n^2) sorts, at sizes they can finish
+ *
+ * Same setup as SortBenchmarks (fresh copy per invocation, copyOnly baseline),
+ * smaller sizes. ArraySorting's bubble/selection/insertion sorts print every
+ * pass, so they would only measure System.out and are not included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadraticSortBenchmarks {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "duplicates", "zipf"})
+    public String distribution;
+
+    private int[] data;
+    private int[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = Inputs.generate(distribution, size);
+        work = new int[size];
+    }
+
+    @TearDown(Level.Trial)
+    public void verify(BenchmarkParams params) {
+        if (!params.getBenchmark().endsWith("copyOnly")) {
+            Inputs.checkSorted(work, params.getBenchmark());
+        }
+    }
+
+    private int[] fresh() {
+        System.arraycopy(data, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    public int[] copyOnly() {
+        return fresh();
+    }
+
+    @Benchmark
+    public int[] bubbleSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.BUBBLE_SORT.invokeExact(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] selectionSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.SELECTION_SORT.invokeExact(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] insertionSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.INSERTION_SORT.invokeExact(array);
+        return array;
+    }
+}
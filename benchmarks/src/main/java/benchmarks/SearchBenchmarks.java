@@ -0,0 +1,197 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * SearchBenchmarks.java - Every search in SearchingAlgorithms and ArraySearching
+ *
+ * Each invocation looks up the same TARGETS keys (half present, half mostly
+ * absent) and the score is the time per lookup. Cycling through many keys
+ * keeps the branch predictor from learning one search path. linearSearch
+ * runs on the unsorted input, searchInRotatedArray on the distinct values
+ * rotated by a third, everything else on the sorted input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmarks {
+
+    static final int TARGETS = 1024;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "duplicates", "zipf"})
+    public String distribution;
+
+    private int[] unsorted;
+    private int[] sorted;
+    private int[] rotated;
+    private int[] targets;
+    private int[] rotatedTargets;
+    private int[] sortedTargets;
+    private int[] batchResults;
+    private Object eytzinger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        unsorted = Inputs.generate(distribution, size);
+        sorted = unsorted.clone();
+        Arrays.sort(sorted);
+        rotated = Inputs.rotatedDistinct(sorted);
+        targets = Inputs.searchTargets(sorted, TARGETS);
+        rotatedTargets = Inputs.searchTargets(rotated, TARGETS);
+        sortedTargets = targets.clone();
+        Arrays.sort(sortedTargets);
+        batchResults = new int[TARGETS];
+        eytzinger = (Object) Kernels.EYTZINGER_NEW.invokeExact(sorted);
+    }
+
+    // ========== SearchingAlgorithms ==========
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void linearSearch(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.LINEAR_SEARCH.invokeExact(unsorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void binarySearchIterative(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.BINARY_SEARCH_ITERATIVE.invokeExact(sorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void binarySearchRecursive(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.BINARY_SEARCH_RECURSIVE.invokeExact(sorted, target, 0, sorted.length - 1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void interpolationSearch(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.INTERPOLATION_SEARCH.invokeExact(sorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void exponentialSearch(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.EXPONENTIAL_SEARCH.invokeExact(sorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void searchInRotatedArray(Blackhole blackhole) throws Throwable {
+        for (int target : rotatedTargets) {
+            blackhole.consume((int) Kernels.ROTATED_SEARCH.invokeExact(rotated, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void branchlessBinarySearch(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.BRANCHLESS_BINARY_SEARCH.invokeExact(sorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void lowerBound(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.LOWER_BOUND.invokeExact(sorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void hybridSearch(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.HYBRID_SEARCH.invokeExact(sorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void eytzingerSearch(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.EYTZINGER_SEARCH.invokeExact(eytzinger, target));
+        }
+    }
+
+    /**
+     * All TARGETS lookups in one call, queries pre-sorted as batchSearch requires
+     */
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public int[] batchSearch() throws Throwable {
+        Kernels.BATCH_SEARCH.invokeExact(sorted, sortedTargets, batchResults);
+        return batchResults;
+    }
+
+    // ========== ArraySearching (Arrays/ duplicates, as in its performanceComparison) ==========
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void arraySearchingLinearSearch(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.ARRAYS_LINEAR_SEARCH.invokeExact(unsorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void arraySearchingBinarySearch(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume((int) Kernels.ARRAYS_BINARY_SEARCH.invokeExact(sorted, target));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void arraySearchingBinarySearchRecursive(Blackhole blackhole) throws Throwable {
+        for (int target : targets) {
+            blackhole.consume(
+                (int) Kernels.ARRAYS_BINARY_SEARCH_RECURSIVE.invokeExact(sorted, target, 0, sorted.length - 1));
+        }
+    }
+
+    // ========== JDK REFERENCE ==========
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void jdkBinarySearch(Blackhole blackhole) {
+        for (int target : targets) {
+            blackhole.consume(Arrays.binarySearch(sorted, target));
+        }
+    }
+}
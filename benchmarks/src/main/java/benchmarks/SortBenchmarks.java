@@ -0,0 +1,215 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * SortBenchmarks.java - O(n log n) and linear-time sorts
+ *
+ * Every invocation sorts a fresh copy of the input, so the copy is part of
+ * the score; copyOnly measures it on its own, subtract it when comparing
+ * small sizes. The O(n^2) sorts are in QuadraticSortBenchmarks.
+ *
+ * Expected failure: SortingAlgorithms.quickSort (Lomuto, last element as
+ * pivot) recurses n deep on sorted and reversed input and overflows the
+ * stack at large sizes. JMH reports that combination as failed and moves on.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmarks {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "duplicates", "zipf"})
+    public String distribution;
+
+    private int[] data;
+    private int[] work;
+    private long[] longData;
+    private long[] longWork;
+    private String[] stringData;
+    private String[] stringWork;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = Inputs.generate(distribution, size);
+        work = new int[size];
+        longData = Arrays.stream(data).asLongStream().map(v -> v * 1_000_003L).toArray();
+        longWork = new long[size];
+        stringData = Arrays.stream(data).mapToObj(Integer::toString).toArray(String[]::new);
+        stringWork = new String[size];
+    }
+
+    /**
+     * The last sorted copy must be in order, or the scores are meaningless
+     */
+    @TearDown(Level.Trial)
+    public void verify(BenchmarkParams params) {
+        String name = params.getBenchmark();
+        if (name.endsWith("Long")) {
+            for (int i = 1; i < size; i++) {
+                if (longWork[i - 1] > longWork[i]) {
+                    throw new IllegalStateException(name + " output is not sorted");
+                }
+            }
+        } else if (name.endsWith("String")) {
+            for (int i = 1; i < size; i++) {
+                if (stringWork[i - 1].compareTo(stringWork[i]) > 0) {
+                    throw new IllegalStateException(name + " output is not sorted");
+                }
+            }
+        } else if (!name.endsWith("copyOnly")) {
+            Inputs.checkSorted(work, name);
+        }
+    }
+
+    private int[] fresh() {
+        System.arraycopy(data, 0, work, 0, size);
+        return work;
+    }
+
+    // ========== BASELINE ==========
+
+    @Benchmark
+    public int[] copyOnly() {
+        return fresh();
+    }
+
+    // ========== SortingAlgorithms ==========
+
+    @Benchmark
+    public int[] mergeSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.MERGE_SORT.invokeExact(array, 0, array.length - 1);
+        return array;
+    }
+
+    @Benchmark
+    public int[] quickSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.QUICK_SORT.invokeExact(array, 0, array.length - 1);
+        return array;
+    }
+
+    @Benchmark
+    public int[] heapSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.HEAP_SORT.invokeExact(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] parallelMergeSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.PARALLEL_MERGE_SORT.invokeExact(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] parallelQuickSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.PARALLEL_QUICK_SORT.invokeExact(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] radixSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.RADIX_SORT.invokeExact(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] parallelRadixSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.PARALLEL_RADIX_SORT.invokeExact(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] countingSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.COUNTING_SORT.invokeExact(array);
+        return array;
+    }
+
+    @Benchmark
+    public long[] radixSortLong() throws Throwable {
+        System.arraycopy(longData, 0, longWork, 0, size);
+        Kernels.RADIX_SORT_LONG.invokeExact(longWork);
+        return longWork;
+    }
+
+    @Benchmark
+    public String[] msdRadixSortString() throws Throwable {
+        System.arraycopy(stringData, 0, stringWork, 0, size);
+        Kernels.MSD_RADIX_SORT.invokeExact(stringWork);
+        return stringWork;
+    }
+
+    // ========== ArraySorting (Arrays/ duplicates) ==========
+
+    @Benchmark
+    public int[] arraySortingMergeSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.ARRAYS_MERGE_SORT.invokeExact(array, 0, array.length - 1);
+        return array;
+    }
+
+    @Benchmark
+    public int[] arraySortingQuickSort() throws Throwable {
+        int[] array = fresh();
+        Kernels.ARRAYS_QUICK_SORT.invokeExact(array, 0, array.length - 1);
+        return array;
+    }
+
+    // ========== JDK REFERENCE ==========
+
+    @Benchmark
+    public int[] jdkSort() {
+        int[] array = fresh();
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] jdkParallelSort() {
+        int[] array = fresh();
+        Arrays.parallelSort(array);
+        return array;
+    }
+
+    @Benchmark
+    public long[] jdkSortLong() {
+        System.arraycopy(longData, 0, longWork, 0, size);
+        Arrays.sort(longWork);
+        return longWork;
+    }
+
+    @Benchmark
+    public String[] jdkSortString() {
+        System.arraycopy(stringData, 0, stringWork, 0, size);
+        Arrays.sort(stringWork);
+        return stringWork;
+    }
+}